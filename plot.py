@@ -1,4 +1,5 @@
 import os
+import re
 import pandas as pd
 import matplotlib.pyplot as plt
 
@@ -8,39 +9,101 @@ os.makedirs(OUT_DIR, exist_ok=True)
 
 df = pd.read_csv(CSV_PATH)
 
+# Structures présentes dans le CSV (abr, arn, ..., treeset, skiplist, hashset) : une colonne
+# build_<structure>_ns par structure, dans l'ordre des colonnes
+STRUCTURES = [m.group(1) for m in (re.fullmatch(r"build_(\w+)_ns", c) for c in df.columns) if m]
+# Au-delà de 10 courbes, le cycle de couleurs de matplotlib recommence : on change de trait
+STYLES = ["-", "--", "-.", ":"]
+
 def plot_mode(mode):
-    d = df[df["mode"] == mode].sort_values("n").copy()
+    d = df[df["mode"] == mode].sort_values("n")
+    x = d["n"]
 
-    # ns -> ms
-    d["build_abr_ms"] = d["build_abr_ns"] / 1e6
-    d["build_arn_ms"] = d["build_arn_ns"] / 1e6
-    d["search_abr_ms"] = d["search_abr_ns"] / 1e6
-    d["search_arn_ms"] = d["search_arn_ns"] / 1e6
+    for mesure, titre, fichier in [("build", "Construction", "construction"),
+                                   ("search", "Recherche 0..2n-1", "recherche")]:
+        plt.figure()
+        for i, structure in enumerate(STRUCTURES):
+            colonne = f"{mesure}_{structure}_ns"
+            if colonne in d:
+                # ns -> ms
+                plt.plot(x, d[colonne] / 1e6, STYLES[i // 10 % len(STYLES)], label=structure)
+        plt.xlabel("n")
+        plt.ylabel("Temps (ms)")
+        plt.yscale("log")
+        plt.title(f"{titre} ({mode})")
+        plt.grid(True, which="both")
+        plt.legend(fontsize="small", ncol=2)
+        plt.savefig(os.path.join(OUT_DIR, f"{fichier}_{mode}.png"), dpi=200)
+        plt.close()
 
+def plot_latences(mode):
+    d = df[df["mode"] == mode].sort_values("n")
     x = d["n"]
 
-    plt.figure()
-    plt.plot(x, d["build_abr_ms"], label="ABR")
-    plt.plot(x, d["build_arn_ms"], label="ARN")
-    plt.xlabel("n")
-    plt.ylabel("Temps (ms)")
-    plt.title(f"Construction ({mode})")
-    plt.grid(True)
-    plt.legend()
-    plt.savefig(os.path.join(OUT_DIR, f"construction_{mode}.png"), dpi=200)
-
-    plt.figure()
-    plt.plot(x, d["search_abr_ms"], label="ABR")
-    plt.plot(x, d["search_arn_ms"], label="ARN")
-    plt.xlabel("n")
-    plt.ylabel("Temps (ms)")
-    plt.title(f"Recherche 0..2n-1 ({mode})")
-    plt.grid(True)
-    plt.legend()
-    plt.savefig(os.path.join(OUT_DIR, f"recherche_{mode}.png"), dpi=200)
-
-plot_mode("random")
-plot_mode("sorted")
+    # Une figure par opération et par centile, une courbe par structure, en µs
+    for op in ["add", "search", "remove"]:
+        for c in ["p50", "p99", "p999", "max"]:
+            plt.figure()
+            for i, structure in enumerate(STRUCTURES):
+                colonne = f"lat_{op}_{structure}_{c}_ns"
+                if colonne in d:
+                    plt.plot(x, d[colonne] / 1e3, STYLES[i // 10 % len(STYLES)], label=structure)
+            plt.xlabel("n")
+            plt.ylabel("Latence (µs)")
+            plt.yscale("log")
+            plt.title(f"Latence {c}, {op} ({mode})")
+            plt.grid(True, which="both")
+            plt.legend(fontsize="small", ncol=2)
+            plt.savefig(os.path.join(OUT_DIR, f"latences_{op}_{c}_{mode}.png"), dpi=200)
+            plt.close()
+
+for mode in df["mode"].unique():
+    plot_mode(mode)
+    plot_latences(mode)
+
+# Mode grande échelle (GenerateurCSVGrandeEchelle) : une ligne par cellule, seules les
+# cellules terminées (etat = ok) sont tracées, en ns par opération
+GRANDE_ECHELLE = os.path.join("target", "bench", "results_grande_echelle.csv")
+if os.path.exists(GRANDE_ECHELLE):
+    g = pd.read_csv(GRANDE_ECHELLE)
+    g = g[g["etat"] == "ok"]
+    for mode in g["mode"].unique():
+        for mesure, operations, titre in [("build", 1, "Construction"), ("search", 2, "Recherche 0..2n-1"),
+                                          ("remove", 1, "Suppression")]:
+            plt.figure()
+            for i, structure in enumerate(g["structure"].unique()):
+                d = g[(g["mode"] == mode) & (g["structure"] == structure)].sort_values("n")
+                plt.plot(d["n"], d[f"{mesure}_ns"] / (operations * d["n"]), STYLES[i // 10 % len(STYLES)],
+                         marker="o", label=structure)
+            plt.xlabel("n")
+            plt.ylabel("Temps par opération (ns)")
+            plt.xscale("log")
+            plt.yscale("log")
+            plt.title(f"{titre}, grande échelle ({mode})")
+            plt.grid(True, which="both")
+            plt.legend(fontsize="small", ncol=2)
+            plt.savefig(os.path.join(OUT_DIR, f"grande_echelle_{mesure}_{mode}.png"), dpi=200)
+            plt.close()
+
+# Débit multi-thread (GenerateurCSVConcurrence) : une figure par proportion de lectures,
+# une courbe par structure et par sorte de threads
+DEBIT = os.path.join("target", "bench", "debit.csv")
+if os.path.exists(DEBIT):
+    g = pd.read_csv(DEBIT)
+    for lectures in g["lectures"].unique():
+        plt.figure()
+        for i, ((structure, fils), d) in enumerate(g[g["lectures"] == lectures].groupby(["structure", "fils"], sort=False)):
+            d = d.sort_values("threads")
+            plt.plot(d["threads"], d["ops_s"] / 1e6, STYLES[i // 10 % len(STYLES)], marker="o",
+                     label=f"{structure} ({fils})")
+        plt.xlabel("Threads")
+        plt.ylabel("Débit (millions d'opérations/s)")
+        plt.xscale("log", base=2)
+        plt.title(f"Débit, {lectures:g} de lectures")
+        plt.grid(True, which="both")
+        plt.legend(fontsize="small")
+        plt.savefig(os.path.join(OUT_DIR, f"debit_lectures_{lectures:g}.png"), dpi=200)
+        plt.close()
 
 print("Graphes générés dans :", OUT_DIR)
 
@@ -0,0 +1,98 @@
+package ProjetAlgo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+ARNFichier (nœuds dans un fichier projeté en mémoire) contre l'ARN du tas, à clés long :
+recherche d'une clé présente, insertion suivie de la suppression d'une clé absente (la
+taille reste n) et parcours complet. Les n clés paires sont insérées dans un ordre
+aléatoire. Le fichier est créé dans le répertoire temporaire et supprimé après la mesure ;
+il reste dans le cache du système, la mesure ne comprend donc pas de lecture disque.
+  java -jar target/benchmarks.jar BenchmarkARNFichier -p n=10000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BenchmarkARNFichier {
+
+    @Param({"arn", "arn_fichier"})
+    public String structure;
+
+    @Param({"100000", "1000000"})
+    public int n;
+
+    // Nombre de clés tirées à l'avance, parcourues circulairement
+    private static final int REQUETES = 1 << 16;
+
+    private Collection<Long> arbre;
+    private Path fichier;
+    private long[] presentes;
+    private long[] absentes;
+    private int i;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        if ("arn".equals(structure)) {
+            arbre = new ARN<Long>();
+        } else {
+            fichier = Files.createTempFile("arn", ".arnf");
+            Files.delete(fichier); // ARNFichier crée un arbre vide sur un fichier absent ou vide
+            arbre = new ARNFichier(fichier);
+        }
+        int[] ordre = ChargeDeTravail.clesTableau(n, ChargeDeTravail.Ordre.ALEATOIRE, new Random(BenchmarkArbres.SEED));
+        for (int k : ordre) arbre.add(2L * k);
+
+        Random rnd = new Random(BenchmarkArbres.SEED + 1);
+        presentes = new long[REQUETES];
+        absentes = new long[REQUETES];
+        for (int j = 0; j < REQUETES; j++) {
+            presentes[j] = 2L * rnd.nextInt(n);
+            absentes[j] = 2L * rnd.nextInt(n) + 1;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void fermer() throws IOException {
+        if (arbre instanceof ARNFichier) {
+            ((ARNFichier) arbre).close();
+            Files.deleteIfExists(fichier);
+        }
+    }
+
+    @Benchmark
+    public boolean rechercher() {
+        return arbre.contains(presentes[i++ & (REQUETES - 1)]);
+    }
+
+    @Benchmark
+    public boolean insererSupprimer() {
+        Long k = absentes[i++ & (REQUETES - 1)];
+        arbre.add(k);
+        return arbre.remove(k);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void parcourir(Blackhole bh) {
+        for (Long k : arbre) bh.consume(k);
+    }
+}
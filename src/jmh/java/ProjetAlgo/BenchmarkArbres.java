@@ -0,0 +1,103 @@
+package ProjetAlgo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Benchmarks JMH des opérations de lecture et de construction des ABR et ARN.
+Chaque mesure porte sur un lot complet (n insertions, 2n recherches, un parcours),
+comme dans GenerateurCSV, afin que les colonnes de results.csv gardent le même sens.
+Le nom de chaque méthode correspond à la colonne "<nom>_ns" du CSV.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BenchmarkArbres {
+
+    // Mêmes tailles, modes et graine que GenerateurCSV
+    @Param({"100", "1000", "2500", "5000", "7500", "10000", "30000", "50000", "75000", "100000"})
+    public int n;
+
+    @Param({"random", "sorted"})
+    public String mode;
+
+    static final long SEED = 123456789L;
+
+    private ArrayList<Integer> keys;
+    private ABR<Integer> abr;
+    private ARN<Integer> arn;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        keys = cles(n, mode);
+        abr = new ABR<>();
+        arn = new ARN<>();
+        for (Integer k : keys) {
+            abr.add(k);
+            arn.add(k);
+        }
+    }
+
+    // Génère 0..n-1, mélangé avec la graine SEED en mode "random"
+    static ArrayList<Integer> cles(int n, String mode) {
+        ArrayList<Integer> keys = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) keys.add(i);
+        if ("random".equals(mode)) Collections.shuffle(keys, new Random(SEED));
+        return keys;
+    }
+
+    @Benchmark
+    public ABR<Integer> build_abr() {
+        ABR<Integer> tree = new ABR<>();
+        for (Integer k : keys) tree.add(k);
+        return tree; // renvoyé pour empêcher l'élimination du code mort
+    }
+
+    @Benchmark
+    public ARN<Integer> build_arn() {
+        ARN<Integer> tree = new ARN<>();
+        for (Integer k : keys) tree.add(k);
+        return tree;
+    }
+
+    // Construction en bloc ARN(Collection), tri préalable compris en mode random
+    @Benchmark
+    public ARN<Integer> build_arn_bloc() {
+        return new ARN<>(keys);
+    }
+
+    @Benchmark
+    public void search_abr(Blackhole bh) {
+        for (int x = 0; x < 2 * n; x++) bh.consume(abr.contains(x));
+    }
+
+    @Benchmark
+    public void search_arn(Blackhole bh) {
+        for (int x = 0; x < 2 * n; x++) bh.consume(arn.contains(x));
+    }
+
+    @Benchmark
+    public void iter_abr(Blackhole bh) {
+        for (Integer k : abr) bh.consume(k);
+    }
+
+    @Benchmark
+    public void iter_arn(Blackhole bh) {
+        for (Integer k : arn) bh.consume(k);
+    }
+}
@@ -0,0 +1,137 @@
+package ProjetAlgo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Débit de lecture d'un ARN partagé : plusieurs threads lecteurs (contains) et un
+écrivain qui ajoute puis retire une clé absente à intervalles réguliers.
+Compare Collections.synchronizedCollection(ARN) à ARNConcurrent (StampedLock).
+Le main fait varier le nombre de lecteurs de 1 au nombre de cœurs et écrit
+target/bench/concurrence.csv :
+  java -cp target/benchmarks.jar ProjetAlgo.BenchmarkConcurrence
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkConcurrence {
+
+    @Param({"synchronise", "stampedlock"})
+    public String structure;
+
+    @Param({"100000"})
+    public int n;
+
+    // Travail (en jetons Blackhole) entre deux écritures, pour que les écritures restent rares
+    private static final long PAUSE_ECRITURE = 10_000;
+
+    private Collection<Integer> arbre;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        // Clés paires présentes ; l'écrivain n'ajoute et ne retire que des clés impaires
+        ArrayList<Integer> cles = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) cles.add(2 * i);
+        if ("synchronise".equals(structure)) {
+            arbre = Collections.synchronizedCollection(new ARN<>(cles));
+        } else {
+            arbre = new ARNConcurrent<>(cles);
+        }
+    }
+
+    // Générateur pseudo-aléatoire propre à chaque thread (xorshift)
+    @State(Scope.Thread)
+    public static class Graine {
+        private int x = (int) System.nanoTime() | 1;
+
+        int suivant(int borne) {
+            x ^= x << 13;
+            x ^= x >>> 17;
+            x ^= x << 5;
+            return (x & Integer.MAX_VALUE) % borne;
+        }
+    }
+
+    @Benchmark
+    @Group("mixte")
+    @GroupThreads(1)
+    public boolean lire(Graine g) {
+        return arbre.contains(g.suivant(2 * n));
+    }
+
+    @Benchmark
+    @Group("mixte")
+    @GroupThreads(1)
+    public void ecrire(Graine g) {
+        int k = 2 * g.suivant(n) + 1;
+        arbre.add(k);
+        arbre.remove(k);
+        Blackhole.consumeCPU(PAUSE_ECRITURE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        int coeurs = Runtime.getRuntime().availableProcessors();
+
+        File outDir = new File("target/bench");
+        if (!outDir.exists() && !outDir.mkdirs()) {
+            throw new IllegalStateException("Impossible de créer : " + outDir.getPath());
+        }
+        File csv = new File(outDir, "concurrence.csv");
+
+        try (PrintWriter out = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(csv), StandardCharsets.UTF_8))) {
+            out.println("lecteurs,structure,lectures_ops_us,ecritures_ops_us");
+
+            for (int lecteurs = 1; lecteurs <= coeurs; lecteurs++) {
+                OptionsBuilder opts = new OptionsBuilder();
+                opts.parent(cli);
+                opts.include(BenchmarkConcurrence.class.getSimpleName());
+                // JMH répartit les threads d'un groupe dans l'ordre alphabétique des méthodes :
+                // ecrire puis lire, soit un écrivain et `lecteurs` lecteurs
+                opts.threadGroups(1, lecteurs);
+                if (!cli.getWarmupIterations().hasValue()) opts.warmupIterations(2);
+                if (!cli.getMeasurementIterations().hasValue()) opts.measurementIterations(5);
+                if (!cli.getForkCount().hasValue()) opts.forks(1);
+
+                for (RunResult r : new Runner(opts.build()).run()) {
+                    Result<?> lectures = r.getSecondaryResults().get("lire");
+                    Result<?> ecritures = r.getSecondaryResults().get("ecrire");
+                    out.printf(Locale.US, "%d,%s,%.3f,%.3f%n", lecteurs, r.getParams().getParam("structure"),
+                            lectures.getScore(), ecritures.getScore());
+                }
+                out.flush();
+            }
+        }
+
+        System.out.println("CSV généré : " + csv.getPath());
+    }
+}
@@ -0,0 +1,84 @@
+package ProjetAlgo;
+
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Réduction d'un flux sur tout l'arbre, séquentielle puis parallèle (pool commun).
+"arn_iterateur" est un ARN parcouru par le spliterator construit sur l'itérateur
+(Spliterators.spliterator), c'est-à-dire l'ancien comportement : il sert de référence
+pour mesurer l'apport du découpage par rang de ARN.spliterator().
+Le nombre de threads suit -Djava.util.concurrent.ForkJoinPool.common.parallelism=... :
+  java -jar target/benchmarks.jar BenchmarkFlux -jvmArgs -Djava.util.concurrent.ForkJoinPool.common.parallelism=8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BenchmarkFlux {
+
+    @Param({"100000", "1000000"})
+    public int n;
+
+    @Param({"abr", "arn", "arn_iterateur", "treeset"})
+    public String structure;
+
+    private Collection<Integer> arbre;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        switch (structure) {
+            case "abr":
+                arbre = new ABR<>(BenchmarkArbres.cles(n, "random"));
+                break;
+            case "treeset":
+                arbre = new TreeSet<>(BenchmarkArbres.cles(n, "random"));
+                break;
+            default:
+                arbre = new ARN<>(BenchmarkArbres.cles(n, "random"));
+        }
+    }
+
+    private Stream<Integer> flux(boolean parallele) {
+        if ("arn_iterateur".equals(structure)) {
+            Spliterator<Integer> sp = Spliterators.spliterator(arbre, Spliterator.ORDERED | Spliterator.NONNULL);
+            return StreamSupport.stream(sp, parallele);
+        }
+        return parallele ? arbre.parallelStream() : arbre.stream();
+    }
+
+    // Un peu de calcul par élément (mélange de bits), pour que la réduction ne soit pas
+    // seulement limitée par la lecture des nœuds
+    private static long melanger(Integer x) {
+        long h = x * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 32);
+    }
+
+    @Benchmark
+    public long somme_sequentielle() {
+        return flux(false).mapToLong(BenchmarkFlux::melanger).sum();
+    }
+
+    @Benchmark
+    public long somme_parallele() {
+        return flux(true).mapToLong(BenchmarkFlux::melanger).sum();
+    }
+}
@@ -0,0 +1,77 @@
+package ProjetAlgo;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Accès par position dans un ARN : ARN.get(k) (descente guidée par les tailles de
+sous-arbres, O(log n)) contre l'avancée d'un itérateur jusqu'à la position k (O(k)).
+Lancement : java -jar target/benchmarks.jar BenchmarkRang
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BenchmarkRang {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int n;
+
+    private static final int NB_POSITIONS = 1024; // puissance de 2
+
+    private ARN<Integer> arn;
+    private int[] positions;
+    private int i;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        arn = new ARN<>(BenchmarkArbres.cles(n, "random"));
+        Random rnd = new Random(BenchmarkArbres.SEED);
+        positions = new int[NB_POSITIONS];
+        for (int j = 0; j < NB_POSITIONS; j++) positions[j] = rnd.nextInt(n);
+    }
+
+    private int positionSuivante() {
+        i = (i + 1) & (NB_POSITIONS - 1);
+        return positions[i];
+    }
+
+    @Benchmark
+    public Integer get_rang() {
+        return arn.get(positionSuivante());
+    }
+
+    @Benchmark
+    public Integer get_iterateur() {
+        Iterator<Integer> it = arn.iterator();
+        for (int k = positionSuivante(); k > 0; k--) it.next();
+        return it.next();
+    }
+
+    // Comptage des clés d'un intervalle de largeur n/10 : rangs des bornes contre parcours de la vue
+    @Benchmark
+    public int compter_rang() {
+        int bas = positionSuivante();
+        return arn.compterEntre(bas, true, bas + n / 10, false);
+    }
+
+    @Benchmark
+    public int compter_iterateur() {
+        int bas = positionSuivante();
+        int c = 0;
+        for (Iterator<Integer> it = arn.subSet(bas, bas + n / 10).iterator(); it.hasNext(); it.next()) c++;
+        return c;
+    }
+}
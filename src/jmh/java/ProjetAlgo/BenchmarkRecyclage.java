@@ -0,0 +1,115 @@
+package ProjetAlgo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Fenêtre glissante sur un ARN : chaque opération insère une nouvelle clé et retire la
+plus ancienne, la taille restant égale à fenetre. Compare l'ARN sans recyclage (un nœud
+alloué par add, un nœud abandonné au GC par remove) à l'ARN avec activerRecyclage.
+Les clés sont des Integer créés à l'avance : seules les allocations de nœuds comptent.
+Le main lance JMH avec le profileur GC et écrit target/bench/recyclage.csv
+(débit d'allocation, octets alloués par opération, nombre et durée cumulée des GC) :
+  java -cp target/benchmarks.jar ProjetAlgo.BenchmarkRecyclage
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BenchmarkRecyclage {
+
+    @Param({"100000", "1000000"})
+    public int fenetre;
+
+    @Param({"false", "true"})
+    public boolean recyclage;
+
+    // Capacité de la réserve : quelques nœuds suffisent puisque add et remove alternent
+    private static final int CAPACITE = 1024;
+
+    private ARN<Integer> arn;
+    private Integer[] cles; // suite des clés insérées, parcourue circulairement
+    private int i; // position de la prochaine clé insérée ; la plus ancienne est en i - fenetre
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        // 2 x fenetre clés distinctes mélangées : la fenêtre ne contient jamais de doublon
+        ArrayList<Integer> suite = BenchmarkArbres.cles(2 * fenetre, "random");
+        Collections.shuffle(suite, new Random(BenchmarkArbres.SEED));
+        cles = suite.toArray(new Integer[0]);
+        arn = new ARN<>();
+        if (recyclage) arn.activerRecyclage(CAPACITE);
+        for (i = 0; i < fenetre; i++) arn.add(cles[i]);
+    }
+
+    @Benchmark
+    public boolean glisser() {
+        arn.add(cles[i % cles.length]);
+        boolean retire = arn.remove(cles[(i - fenetre) % cles.length]);
+        i++;
+        return retire;
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        OptionsBuilder opts = new OptionsBuilder();
+        opts.parent(cli);
+        opts.include(BenchmarkRecyclage.class.getSimpleName());
+        opts.addProfiler(GCProfiler.class);
+        if (!cli.getWarmupIterations().hasValue()) opts.warmupIterations(3);
+        if (!cli.getMeasurementIterations().hasValue()) opts.measurementIterations(5);
+        if (!cli.getForkCount().hasValue()) opts.forks(1);
+
+        File outDir = new File("target/bench");
+        if (!outDir.exists() && !outDir.mkdirs()) {
+            throw new IllegalStateException("Impossible de créer : " + outDir.getPath());
+        }
+        File csv = new File(outDir, "recyclage.csv");
+
+        try (PrintWriter out = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(csv), StandardCharsets.UTF_8))) {
+            out.println("fenetre,recyclage,glisser_ns,alloc_mo_s,alloc_octets_op,gc_nombre,gc_ms");
+            for (RunResult r : new Runner(opts.build()).run()) {
+                Map<String, ?> sec = r.getSecondaryResults(); // Result brut dans l'API de JMH
+                out.printf(Locale.US, "%s,%s,%.1f,%.1f,%.1f,%.0f,%.0f%n",
+                        r.getParams().getParam("fenetre"), r.getParams().getParam("recyclage"),
+                        r.getPrimaryResult().getScore(), score(sec, "gc.alloc.rate"),
+                        score(sec, "gc.alloc.rate.norm"), score(sec, "gc.count"), score(sec, "gc.time"));
+            }
+        }
+
+        System.out.println("CSV généré : " + csv.getPath());
+    }
+
+    // Score d'un résultat secondaire du profileur, 0 s'il est absent (aucun GC pendant la mesure)
+    private static double score(Map<String, ?> sec, String cle) {
+        Result<?> res = (Result<?>) sec.get(cle);
+        return res == null ? 0 : res.getScore();
+    }
+}
@@ -0,0 +1,98 @@
+package ProjetAlgo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.IterationParams;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Benchmarks JMH de la suppression : chaque invocation vide un arbre complet.
+Un arbre vidé ne peut pas resservir ; plutôt que de le reconstruire avant chaque
+invocation (Level.Invocation, dont le coût d'horodatage pèse sur les petits n), chaque
+itération est un lot de LOT invocations (Mode.SingleShotTime + batchSize) et les LOT
+arbres sont construits avant l'itération, hors mesure. @OperationsPerInvocation divise
+le temps du lot par LOT : le score reste le temps moyen d'une passe de n suppressions.
+Les arbres du lot ne sont plus ceux qui viennent d'être construits : le score est un peu
+plus élevé qu'avec Level.Invocation, où l'arbre vidé était encore dans le cache.
+Un lot ne compte que quelques passes : la chauffe du JIT est faite au début de l'essai.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(batchSize = BenchmarkSuppression.LOT)
+@Measurement(batchSize = BenchmarkSuppression.LOT)
+@OperationsPerInvocation(BenchmarkSuppression.LOT)
+public class BenchmarkSuppression {
+
+    // Arbres vidés par itération
+    static final int LOT = 20;
+
+    // Suppressions faites avant la mesure pour que remove soit compilé par le JIT
+    private static final int CHAUFFE = 200_000;
+
+    @Param({"100", "1000", "2500", "5000", "7500", "10000", "30000", "50000", "75000", "100000"})
+    public int n;
+
+    @Param({"random", "sorted"})
+    public String mode;
+
+    private ArrayList<Integer> keys;
+    // Seul l'arbre mesuré est construit : le lot tient deux fois moins de place
+    private boolean mesureABR;
+    private ArrayList<Collection<Integer>> lot;
+    private int suivant;
+
+    // La chauffe passe par vider, la boucle mesurée : un lot est trop court pour la compiler
+    @Setup(Level.Trial)
+    public void preparerCles(BenchmarkParams params, Blackhole bh) {
+        keys = BenchmarkArbres.cles(n, mode);
+        mesureABR = params.getBenchmark().endsWith("remove_abr");
+        for (int fait = 0; fait < CHAUFFE; fait += n) vider(construire(), bh);
+    }
+
+    // Un arbre par invocation ; avec -bs le lot suit, mais le score reste divisé par LOT
+    @Setup(Level.Iteration)
+    public void preparerArbres(IterationParams params) {
+        lot = new ArrayList<>(params.getBatchSize());
+        for (int i = 0; i < params.getBatchSize(); i++) lot.add(construire());
+        suivant = 0;
+        System.gc(); // le lot vient d'être alloué : pas de collection pendant la mesure
+    }
+
+    private Collection<Integer> construire() {
+        Collection<Integer> arbre = mesureABR ? new ABR<>() : new ARN<>();
+        for (Integer k : keys) arbre.add(k);
+        return arbre;
+    }
+
+    private void vider(Collection<Integer> arbre, Blackhole bh) {
+        for (Integer k : keys) bh.consume(arbre.remove(k));
+    }
+
+    @Benchmark
+    public void remove_abr(Blackhole bh) {
+        vider(lot.get(suivant++), bh);
+    }
+
+    @Benchmark
+    public void remove_arn(Blackhole bh) {
+        vider(lot.get(suivant++), bh);
+    }
+}
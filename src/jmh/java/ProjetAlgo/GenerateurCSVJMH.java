@@ -0,0 +1,107 @@
+package ProjetAlgo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Lance les benchmarks JMH et écrit target/bench/results.csv dans le même format que
+GenerateurCSV (n,mode,build_abr_ns,...), de sorte que plot.py fonctionne sans changement.
+Les options JMH habituelles passées en arguments (-wi, -i, -f, -p n=..., expression
+régulière de sélection) remplacent les valeurs par défaut ci-dessous.
+ */
+public class GenerateurCSVJMH {
+
+    // Ordre des colonnes du CSV ; les six premières sont celles lues par plot.py
+    private static final String[] COLONNES = {
+            "build_abr", "build_arn", "search_abr", "search_arn",
+            "remove_abr", "remove_arn", "iter_abr", "iter_arn", "build_arn_bloc"
+    };
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        OptionsBuilder opts = new OptionsBuilder();
+        opts.parent(cli);
+        if (cli.getIncludes().isEmpty()) {
+            opts.include(BenchmarkArbres.class.getSimpleName());
+            opts.include(BenchmarkSuppression.class.getSimpleName());
+        }
+        // Mêmes volumes que l'ancien protocole (2 warmup, 7 répétitions), mais dans un JVM dédié
+        if (!cli.getWarmupIterations().hasValue()) opts.warmupIterations(2);
+        if (!cli.getMeasurementIterations().hasValue()) opts.measurementIterations(7);
+        if (!cli.getForkCount().hasValue()) opts.forks(1);
+
+        Collection<RunResult> resultats = new Runner(opts.build()).run();
+
+        // n -> mode -> colonne -> temps moyen en ns
+        Map<Integer, Map<String, Map<String, Long>>> lignes = new TreeMap<>();
+        Set<String> presentes = new LinkedHashSet<>();
+        for (RunResult r : resultats) {
+            String bench = r.getParams().getBenchmark();
+            String colonne = bench.substring(bench.lastIndexOf('.') + 1);
+            String mode = r.getParams().getParam("mode");
+            if (mode == null) continue; // benchmark hors du format (n, mode) de results.csv
+            int n = Integer.parseInt(r.getParams().getParam("n"));
+            lignes.computeIfAbsent(n, k -> new TreeMap<>())
+                    .computeIfAbsent(mode, k -> new TreeMap<>())
+                    .put(colonne, Math.round(r.getPrimaryResult().getScore()));
+            presentes.add(colonne);
+        }
+
+        if (lignes.isEmpty()) {
+            System.out.println("Aucun benchmark au format (n, mode) : results.csv n'est pas modifié");
+            return;
+        }
+
+        List<String> colonnes = new ArrayList<>();
+        for (String c : COLONNES) {
+            if (presentes.remove(c)) colonnes.add(c);
+        }
+        presentes.stream().sorted(Comparator.naturalOrder()).forEach(colonnes::add);
+
+        File outDir = new File("target/bench");
+        if (!outDir.exists() && !outDir.mkdirs()) {
+            throw new IllegalStateException("Impossible de créer : " + outDir.getPath());
+        }
+        File csv = new File(outDir, "results.csv");
+
+        try (PrintWriter out = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(csv), StandardCharsets.UTF_8))) {
+            StringBuilder entete = new StringBuilder("n,mode");
+            for (String c : colonnes) entete.append(',').append(c).append("_ns");
+            out.println(entete);
+
+            for (Map.Entry<Integer, Map<String, Map<String, Long>>> parN : lignes.entrySet()) {
+                for (Map.Entry<String, Map<String, Long>> parMode : parN.getValue().entrySet()) {
+                    StringBuilder ligne = new StringBuilder();
+                    ligne.append(parN.getKey()).append(',').append(parMode.getKey());
+                    for (String c : colonnes) {
+                        Long v = parMode.getValue().get(c);
+                        ligne.append(',');
+                        if (v != null) ligne.append(v);
+                    }
+                    out.println(ligne);
+                }
+            }
+        }
+
+        System.out.println("CSV généré : " + csv.getPath());
+    }
+}
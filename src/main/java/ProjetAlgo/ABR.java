@@ -1,9 +1,14 @@
 package ProjetAlgo;
 import java.util.AbstractCollection;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 /*auteur BENNABI ghiles Rayane
  *       BAOUCHE Mohamed Djaouad
  */
@@ -15,6 +20,8 @@ public class ABR<E> extends AbstractCollection<E> {
 	private Noeud racine;
 	private int taille;
 	private Comparator<? super E> cmp;
+	private boolean ordreNaturel; // ordre naturel sans comptage : recherche par compareTo
+	private Statistiques.Compteurs compteurs; // null : statistiques désactivées
 
 	//classe qui represente un noeu interne
 	private class Noeud {
@@ -60,11 +67,13 @@ public class ABR<E> extends AbstractCollection<E> {
 		this.taille = 0;
 		this.racine = null;
 		this.cmp = null;
+		this.ordreNaturel = true;
 	}
 
 	// Crée un arbre binaire de recherche vide avec un comparateur personnalisé
 	public ABR(Comparator<? super E> cmp) {
 		this.cmp = cmp;
+		this.ordreNaturel = ordre(cmp) == null;
 		this.racine = null;
 		this.taille = 0;
 	}
@@ -80,12 +89,85 @@ public class ABR<E> extends AbstractCollection<E> {
 		return new ABRIterator();
 	}
 
+	@Override
+	public Spliterator<E> spliterator() {
+		return new ABRSpliterator(null, null, -1, 0);
+	}
+
 	// Renvoie le nombre d'éléments dans l'arbre
 	@Override
 	public int size() {
 		return taille;
 	}
 
+	/*
+	 * Hauteur de l'arbre : nombre de nœuds du plus long chemin de la racine à une feuille.
+	 * Parcours en largeur plutôt que récursif : en insertion triée, l'arbre est une chaîne de
+	 * n nœuds qui ferait déborder la pile.
+	 */
+	public int hauteur() {
+		int hauteur = 0;
+		ArrayDeque<Noeud> niveau = new ArrayDeque<>();
+		if (racine != null)
+			niveau.add(racine);
+		while (!niveau.isEmpty()) {
+			hauteur++;
+			for (int i = niveau.size(); i > 0; i--) {
+				Noeud x = niveau.poll();
+				if (x.gauche != null)
+					niveau.add(x.gauche);
+				if (x.droit != null)
+					niveau.add(x.droit);
+			}
+		}
+		return hauteur;
+	}
+
+	/*
+	 * Active ou désactive le comptage des comparaisons (voir Statistiques). Comme pour l'ARN,
+	 * le comparateur est remplacé par une enveloppe qui compte ses appels le temps de
+	 * l'activation : désactivé, aucun chemin ne teste de compteur. L'ABR ne fait ni
+	 * rotation ni recoloration, seules les comparaisons sont comptées.
+	 */
+	public void activerStatistiques(boolean actif) {
+		Comparator<? super E> base = Statistiques.sansCompte(cmp);
+		if (actif) {
+			compteurs = new Statistiques.Compteurs();
+			cmp = new Statistiques.ComparateurCompte<E>(base, compteurs);
+			ordreNaturel = false; // la recherche passe alors par cmp
+		} else {
+			compteurs = null;
+			cmp = base;
+			ordreNaturel = ordre(base) == null;
+		}
+	}
+
+	// Relevé des compteurs (nuls si désactivés) et de la forme actuelle de l'arbre, en O(n)
+	public Statistiques statistiques() {
+		return new Statistiques(compteurs, hauteur(), -1, profondeurMoyenne());
+	}
+
+	// Profondeur moyenne des nœuds (racine à 1), par niveaux comme hauteur()
+	private double profondeurMoyenne() {
+		long somme = 0;
+		int profondeur = 0;
+		ArrayDeque<Noeud> niveau = new ArrayDeque<>();
+		if (racine != null)
+			niveau.add(racine);
+		while (!niveau.isEmpty()) {
+			profondeur++;
+			for (int i = niveau.size(); i > 0; i--) {
+				Noeud x = niveau.poll();
+				somme += profondeur;
+				if (x.gauche != null)
+					niveau.add(x.gauche);
+				if (x.droit != null)
+					niveau.add(x.droit);
+			}
+		}
+		return taille == 0 ? 0 : (double) somme / taille;
+	}
+
 	// Compare deux éléments en utilisant soit le comparateur fourni, soit l'ordre naturel
 	private int comparer(E a, E b) {
 		if (cmp != null) {
@@ -99,23 +181,38 @@ public class ABR<E> extends AbstractCollection<E> {
 		}
 	}
 
-	// Cherche un nœud contenant une clé spécifique dans l'arbre
+	/*
+	 * Cherche un nœud contenant une clé spécifique dans l'arbre.
+	 * Comme dans l'ARN, le chemin (compareTo direct ou comparateur) est fixé à la construction
+	 * dans ordreNaturel, et non testé à chaque niveau comme dans comparer() : chaque boucle ne
+	 * fait qu'une comparaison par nœud. Comparator.naturalOrder() prend aussi le chemin direct.
+	 */
 	private Noeud rechercher(Object o) {
-		if (o == null || (cmp == null && !(o instanceof Comparable))) {
+		if (o == null || (ordreNaturel && !(o instanceof Comparable))) {
 			return null;
 		}
 
 		try {
-			E element = (E) o;
 			Noeud courant = racine;
-			while (courant != null) {
-				int cmpResult = comparer(element, courant.cle);
-				if (cmpResult == 0) {
-					return courant;
-				} else if (cmpResult < 0) {
-					courant = courant.gauche;
-				} else {
-					courant = courant.droit;
+			if (ordreNaturel) {
+				@SuppressWarnings("unchecked")
+				Comparable<? super E> element = (Comparable<? super E>) o;
+				while (courant != null) {
+					int cmpResult = element.compareTo(courant.cle);
+					if (cmpResult == 0) {
+						return courant;
+					}
+					courant = cmpResult < 0 ? courant.gauche : courant.droit;
+				}
+			} else {
+				@SuppressWarnings("unchecked")
+				E element = (E) o;
+				while (courant != null) {
+					int cmpResult = cmp.compare(element, courant.cle);
+					if (cmpResult == 0) {
+						return courant;
+					}
+					courant = cmpResult < 0 ? courant.gauche : courant.droit;
 				}
 			}
 		} catch (ClassCastException e) {
@@ -197,36 +294,144 @@ public class ABR<E> extends AbstractCollection<E> {
 				throw new IllegalStateException("La méthode next() doit être appelé avant");
 			}
 
-			Noeud p = supprimer(derN);
-			if (p == courant) {
-				courant = p.suivant();
+			// Avec deux fils, supprimer() recopie la clé du successeur dans derN :
+			// le prochain élément à rendre se trouve alors dans derN lui-même
+			boolean deuxFils = derN.gauche != null && derN.droit != null;
+			supprimer(derN);
+			if (deuxFils) {
+				courant = derN;
 			}
 			derN = null;
 		}
 	}
 
+	/*
+	 * Spliterator qui découpe aux frontières de sous-arbres, comme celui de TreeMap.
+	 * Il couvre les nœuds de courant (inclus) à fin (exclu, null pour aller jusqu'au bout).
+	 * Le premier découpage coupe à la racine : [minimum, racine) part dans le préfixe,
+	 * [racine, fin) reste ici. Ensuite, une partie droite se coupe au fils droit de son
+	 * premier nœud, une partie gauche au fils gauche de sa fin. L'ABR ne connaît pas la
+	 * taille de ses sous-arbres : chaque moitié reçoit une estimation divisée par deux,
+	 * SIZED ne vaut que tant qu'aucun découpage n'a eu lieu. Un ABR dégénéré (chaîne) ne
+	 * se découpe presque pas, ce qui est inévitable sans rééquilibrage.
+	 */
+	private class ABRSpliterator implements Spliterator<E> {
+		private Noeud courant; // prochain nœud à rendre (null : épuisé)
+		private Noeud fin; // premier nœud hors du découpage, null pour la fin de l'arbre
+		private int est; // taille estimée, -1 tant que le parcours n'a pas commencé
+		private int cote; // 0 : arbre entier, 1 : partie droite, -1 : partie gauche
+
+		ABRSpliterator(Noeud courant, Noeud fin, int est, int cote) {
+			this.courant = courant;
+			this.fin = fin;
+			this.est = est;
+			this.cote = cote;
+		}
+
+		// Liaison tardive : l'arbre n'est lu qu'au premier usage
+		private int estimation() {
+			if (est < 0) {
+				courant = (racine == null) ? null : racine.minimum();
+				est = taille;
+			}
+			return est;
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			estimation();
+			Noeud e = courant;
+			Noeud s = (e == null || e == fin) ? null
+					: (cote == 0) ? racine
+					: (cote > 0) ? e.droit
+					: (fin != null) ? fin.gauche
+					: null;
+			if (s != null && s != e && s != fin && comparer(e.cle, s.cle) < 0) {
+				cote = 1;
+				courant = s;
+				est >>>= 1;
+				return new ABRSpliterator(e, s, est, -1);
+			}
+			return null;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}
+			estimation();
+			Noeud e = courant;
+			if (e == null || e == fin) {
+				return false;
+			}
+			courant = e.suivant();
+			action.accept(e.cle);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}
+			estimation();
+			Noeud e = courant;
+			courant = fin;
+			for (; e != null && e != fin; e = e.suivant()) {
+				action.accept(e.cle);
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return estimation();
+		}
+
+		@Override
+		public int characteristics() {
+			return (cote == 0 ? Spliterator.SIZED : 0) | Spliterator.ORDERED | Spliterator.SORTED
+					| Spliterator.DISTINCT | Spliterator.NONNULL;
+		}
+
+		// null désigne l'ordre naturel, comme pour SortedSet.comparator()
+		@Override
+		@SuppressWarnings("unchecked")
+		public Comparator<? super E> getComparator() {
+			return (Comparator<? super E>) ordre(cmp);
+		}
+	}
+
 	// Insère un élément dans l'arbre
 	private boolean inserer(Noeud node, E element) {
 		Noeud courant = node;
 		Noeud parent = null;
+		int cmpR = 0;
 
-		while (courant != null) {
-			parent = courant;
-			int cmpR = comparer(element, courant.cle);
-			if (cmpR == 0) {
-				return false;
-			} else if (cmpR < 0) {
-				courant = courant.gauche;
-			} else {
-				courant = courant.droit;
+		try {
+			while (courant != null) {
+				parent = courant;
+				cmpR = comparer(element, courant.cle);
+				if (cmpR == 0) {
+					return false;
+				} else if (cmpR < 0) {
+					courant = courant.gauche;
+				} else {
+					courant = courant.droit;
+				}
 			}
+		} catch (ClassCastException e) {
+			// Statistiques actives en ordre naturel : cmp est l'enveloppe de comptage, qui ne
+			// traduit pas l'exception ; on lève la même que comparer() sans statistiques
+			if (compteurs == null || Statistiques.sansCompte(cmp) != null) throw e;
+			throw new IllegalArgumentException("Éléments non comparables", e);
 		}
 
-		// Position d'insertion trouvé
+		// Position d'insertion trouvé ; cmpR est la comparaison déjà faite avec parent
 		Noeud newN = new Noeud(element);
 		if (parent == null) {
 			racine = newN;
-		} else if (comparer(element, parent.cle) < 0) {
+		} else if (cmpR < 0) {
 			parent.gauche = newN;
 		} else {
 			parent.droit = newN;
@@ -242,6 +447,102 @@ public class ABR<E> extends AbstractCollection<E> {
 		return rechercher(o) != null;
 	}
 
+	// Supprime l'élément o en O(h) : recherche directe au lieu du parcours d'AbstractCollection
+	@Override
+	public boolean remove(Object o) {
+		Noeud n = rechercher(o);
+		if (n == null) {
+			return false;
+		}
+		supprimer(n);
+		return true;
+	}
+
+	/*
+	 * Supprime les éléments contenus dans c. Si c est trié dans le même ordre que l'arbre
+	 * (ABR, SortedSet ou CollectionNavigable comme l'ARN, de même comparateur), les deux
+	 * séquences sont parcourues ensemble en O(n + m), sans aucune recherche, ce qui évite
+	 * aussi les descentes en O(n) d'un arbre dégénéré. Sinon, chaque élément de c est supprimé par remove en O(h).
+	 */
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		if (estTrieCommeMoi(c)) {
+			return filtrerTrie(c.iterator(), false);
+		}
+		boolean modifie = false;
+		for (Object o : c) {
+			modifie |= remove(o);
+		}
+		return modifie;
+	}
+
+	// Ne garde que les éléments contenus dans c ; en O(n + m) si c est trié dans le même ordre
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		if (estTrieCommeMoi(c)) {
+			return filtrerTrie(c.iterator(), true);
+		}
+		return super.retainAll(c);
+	}
+
+	// Indique si les itérateurs de c rendent leurs éléments dans l'ordre de cet arbre
+	private boolean estTrieCommeMoi(Collection<?> c) {
+		Comparator<?> autre;
+		if (c instanceof ABR) {
+			autre = ((ABR<?>) c).cmp;
+		} else if (c instanceof SortedSet) {
+			autre = ((SortedSet<?>) c).comparator();
+		} else if (c instanceof CollectionNavigable) {
+			autre = ((CollectionNavigable<?>) c).comparator();
+		} else {
+			return false;
+		}
+		return Objects.equals(ordre(cmp), ordre(autre));
+	}
+
+	// null et Comparator.naturalOrder() désignent tous deux l'ordre naturel
+	// (l'enveloppe de comptage des statistiques est retirée)
+	private static Comparator<?> ordre(Comparator<?> c) {
+		c = Statistiques.sansCompte(c);
+		return c == Comparator.naturalOrder() ? null : c;
+	}
+
+	/*
+	 * Parcourt l'arbre et la séquence triée autre en parallèle, comme une fusion, et retire
+	 * les éléments présents (garder faux) ou absents (garder vrai) de la séquence.
+	 */
+	private boolean filtrerTrie(Iterator<?> autre, boolean garder) {
+		boolean modifie = false;
+		Iterator<E> it = iterator();
+		E y = suivantNonNull(autre);
+		while (it.hasNext()) {
+			if (y == null && !garder) {
+				break; // plus rien à retirer
+			}
+			E x = it.next();
+			while (y != null && comparer(y, x) < 0) {
+				y = suivantNonNull(autre);
+			}
+			boolean present = y != null && comparer(y, x) == 0;
+			if (present != garder) {
+				it.remove();
+				modifie = true;
+			}
+		}
+		return modifie;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E suivantNonNull(Iterator<?> it) {
+		while (it.hasNext()) {
+			Object o = it.next();
+			if (o != null) {
+				return (E) o;
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public boolean add(E element) {
 		if (element == null) {
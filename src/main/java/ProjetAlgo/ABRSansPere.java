@@ -0,0 +1,249 @@
+package ProjetAlgo;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Variante économe en mémoire de l'ABR : même contrat (pas de doublons, null refusé, ordre
+naturel ou comparateur), mais les nœuds n'ont ni pointeur vers le père ni référence vers
+l'arbre englobant (classe imbriquée statique). Avec des références compressées, un nœud
+occupe 24 octets (en-tête 12, trois références 12) au lieu de 32 pour ABR.
+Sans père, la suppression retient le parent pendant la descente et l'itérateur garde la
+pile des ancêtres restant à visiter (O(h) de mémoire pendant le parcours).
+ */
+public class ABRSansPere<E> extends AbstractCollection<E> {
+	private Noeud<E> racine;
+	private int taille;
+	private Comparator<? super E> cmp;
+
+	private static final class Noeud<E> {
+		E cle;
+		Noeud<E> gauche;
+		Noeud<E> droit;
+
+		Noeud(E cle) {
+			this.cle = cle;
+		}
+	}
+
+	//Crée un arbre vide. Les éléments seront ordonnés selon leur ordre naturel.
+	public ABRSansPere() {
+		this.taille = 0;
+		this.racine = null;
+		this.cmp = null;
+	}
+
+	// Crée un arbre vide avec un comparateur personnalisé
+	public ABRSansPere(Comparator<? super E> cmp) {
+		this.cmp = cmp;
+		this.racine = null;
+		this.taille = 0;
+	}
+
+	// Crée un arbre à partir d'une collection existante
+	public ABRSansPere(Collection<? extends E> c) {
+		this();
+		addAll(c);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new ABRSansPereIterator();
+	}
+
+	@Override
+	public int size() {
+		return taille;
+	}
+
+	@Override
+	public void clear() {
+		racine = null;
+		taille = 0;
+	}
+
+	// Compare deux éléments en utilisant soit le comparateur fourni, soit l'ordre naturel
+	@SuppressWarnings("unchecked")
+	private int comparer(E a, E b) {
+		if (cmp != null) {
+			return cmp.compare(a, b);
+		} else {
+			try {
+				return ((Comparable<? super E>) a).compareTo(b);
+			} catch (ClassCastException e) {
+				throw new IllegalArgumentException("Éléments non comparables", e);
+			}
+		}
+	}
+
+	// Compare o à une clé de l'arbre ; ClassCastException si o n'est pas comparable à E
+	@SuppressWarnings("unchecked")
+	private int comparerObjet(Object o, E cle) {
+		return cmp != null ? cmp.compare((E) o, cle) : ((Comparable<? super E>) o).compareTo(cle);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o == null) {
+			return false;
+		}
+		try {
+			Noeud<E> courant = racine;
+			while (courant != null) {
+				int c = comparerObjet(o, courant.cle);
+				if (c == 0) {
+					return true;
+				}
+				courant = c < 0 ? courant.gauche : courant.droit;
+			}
+		} catch (ClassCastException e) {
+			return false;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean add(E element) {
+		if (element == null) {
+			throw new IllegalArgumentException("les Valeurs nulles ne sont pas autorisés.");
+		}
+		Noeud<E> parent = null;
+		Noeud<E> courant = racine;
+		int c = 0;
+		while (courant != null) {
+			parent = courant;
+			c = comparer(element, courant.cle);
+			if (c == 0) {
+				return false;
+			}
+			courant = c < 0 ? courant.gauche : courant.droit;
+		}
+		Noeud<E> nouveau = new Noeud<>(element);
+		if (parent == null) {
+			racine = nouveau;
+		} else if (c < 0) {
+			parent.gauche = nouveau;
+		} else {
+			parent.droit = nouveau;
+		}
+		taille++;
+		return true;
+	}
+
+	/*
+	 * Supprime o : la descente retient le parent du nœud trouvé. Avec deux fils, la clé du
+	 * minimum du sous-arbre droit est recopiée dans le nœud et c'est ce minimum qui est
+	 * détaché, son propre parent étant retenu de la même façon.
+	 */
+	@Override
+	public boolean remove(Object o) {
+		if (o == null) {
+			return false;
+		}
+		Noeud<E> parent = null;
+		Noeud<E> z = racine;
+		try {
+			while (z != null) {
+				int c = comparerObjet(o, z.cle);
+				if (c == 0) {
+					break;
+				}
+				parent = z;
+				z = c < 0 ? z.gauche : z.droit;
+			}
+		} catch (ClassCastException e) {
+			return false;
+		}
+		if (z == null) {
+			return false;
+		}
+
+		if (z.gauche != null && z.droit != null) {
+			Noeud<E> parentMin = z;
+			Noeud<E> min = z.droit;
+			while (min.gauche != null) {
+				parentMin = min;
+				min = min.gauche;
+			}
+			z.cle = min.cle;
+			if (parentMin == z) {
+				parentMin.droit = min.droit;
+			} else {
+				parentMin.gauche = min.droit;
+			}
+		} else {
+			Noeud<E> fils = z.gauche != null ? z.gauche : z.droit;
+			if (parent == null) {
+				racine = fils;
+			} else if (parent.gauche == z) {
+				parent.gauche = fils;
+			} else {
+				parent.droit = fils;
+			}
+		}
+		taille--;
+		return true;
+	}
+
+	/*
+	 * Parcours infixe avec une pile : le sommet est le prochain nœud à rendre, les autres
+	 * sont les ancêtres dont le sous-arbre gauche est en cours de parcours.
+	 * remove() supprime la dernière clé rendue puis reconstruit la pile depuis la racine
+	 * jusqu'à la première clé supérieure (O(h)), la suppression pouvant avoir déplacé une clé.
+	 */
+	private class ABRSansPereIterator implements Iterator<E> {
+		private final ArrayDeque<Noeud<E>> pile = new ArrayDeque<>();
+		private E dernier; // dernière clé rendue, null si remove() est interdit
+
+		ABRSansPereIterator() {
+			descendreAGauche(racine);
+		}
+
+		private void descendreAGauche(Noeud<E> x) {
+			for (; x != null; x = x.gauche) {
+				pile.push(x);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !pile.isEmpty();
+		}
+
+		@Override
+		public E next() {
+			if (pile.isEmpty()) {
+				throw new NoSuchElementException(" plus d'éléments à parcourir.");
+			}
+			Noeud<E> x = pile.pop();
+			descendreAGauche(x.droit);
+			dernier = x.cle;
+			return dernier;
+		}
+
+		@Override
+		public void remove() {
+			if (dernier == null) {
+				throw new IllegalStateException("La méthode next() doit être appelé avant");
+			}
+			ABRSansPere.this.remove(dernier);
+			// Repositionnement sur la première clé strictement supérieure à dernier
+			pile.clear();
+			Noeud<E> x = racine;
+			while (x != null) {
+				if (comparer(dernier, x.cle) < 0) {
+					pile.push(x);
+					x = x.gauche;
+				} else {
+					x = x.droit;
+				}
+			}
+			dernier = null;
+		}
+	}
+}
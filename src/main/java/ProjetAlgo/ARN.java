@@ -1,68 +1,151 @@
 package ProjetAlgo;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 /*auteur BENNABI ghiles Rayane
  *       BAOUCHE Mohamed Djaouad
  */
 /**
  Implémentation d'une collection basée sur un arbre rouge-noir (ARN).
  Les éléments sont ordonnés soit via leur ordre naturel (Comparable),
- soit à l’aide d’un Comparator fourni lors de la création.
+ soit à l’aide d’un Comparator fourni lors de la création ; comme pour TreeSet, seul
+ l'ordre naturel exige des éléments Comparable (ClassCastException sinon).
  L’ARN garantit des opérations logarithmiques dans le pire cas grâce
  à des contraintes structurelles (équilibrage par couleurs et rotations).
  Certaines méthodes héritées d’AbstractCollection sont redéfinies afin
  d’assurer de bonnes performances.
+ L'ARN est une collection multiple : il accepte les doublons (add renvoie toujours true)
+ et equals reste celui d'Object. Il n'implémente donc pas NavigableSet mais
+ CollectionNavigable, qui en reprend les méthodes : recherches de voisins (floor,
+ ceiling, ...) et vues par intervalle (subSet, headSet, tailSet, descendingSet) en
+ O(log n), les itérateurs des vues démarrant directement à la borne inférieure.
+ ensemble() donne une vue NavigableSet qui respecte le contrat de Set (une seule
+ occurrence par clé, equals et hashCode d'ensemble).
 
  @param <E> type des éléments stockés dans l’arbre
  */
-public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E> {
-    private Noeud racine;
-    private Noeud sentinelle; 
+public class ARN<E> extends AbstractCollection<E> implements CollectionNavigable<E> {
+    private Noeud<E> racine;
+    private Noeud<E> sentinelle; 
     private int taille;
     private Comparator<? super E> cmp; // Comparateur pour l'ordre des éléments
+    private boolean ordreNaturel; // cmp est Comparator.naturalOrder() : recherche par compareTo
+    // Réserve de nœuds détachés, chaînés par leur champ droit (voir activerRecyclage)
+    private Noeud<E> libres;
+    private int nbLibres;
+    private int capaciteRecyclage; // 0 : recyclage désactivé
+    private Statistiques.Compteurs compteurs; // null : statistiques désactivées
 
     // Couleurs possibles d’un nœud dans un arbre rouge-noir. N : noir — R : rouge
     private enum couleur {
         N, R
     }
 
-    // Classe interne représentant un nœud de l'arbre
-    private class Noeud {
+    // Bit de signe de Noeud.etat : nœud rouge
+    private static final int ROUGE = Integer.MIN_VALUE;
+
+    /*
+     * Classe interne représentant un nœud de l'arbre.
+     * La couleur n'a pas de champ propre : elle occupe le bit de signe de etat, dont les 31
+     * autres bits comptent les nœuds du sous-arbre. Avec des références compressées, le
+     * nœud passe ainsi de 40 à 32 octets (en-tête 12, quatre références 16, etat 4).
+     * etat++ et etat-- ajustent la taille sans toucher à la couleur.
+     */
+    private static final class Noeud<E> {
         E cle; 
-        Noeud gauche; 
-        Noeud droit; 
-        Noeud pere; 
-        couleur couleur; // Couleur du nœud (rouge ou noire)
-
-        // Crée un nouveau nœud avec une clé donnée
-        Noeud(E cle) {
-            this.couleur = ARN.couleur.N; // Par défaut, la couleur est noire
+        Noeud<E> gauche; 
+        Noeud<E> droit; 
+        Noeud<E> pere; 
+        int etat; // bit de signe : rouge ; sinon nombre de nœuds du sous-arbre (0 pour la sentinelle)
+
+        // Crée un nouveau nœud noir avec une clé donnée, dont les liens pointent vers la sentinelle nil
+        Noeud(E cle, Noeud<E> nil) {
+            this.etat = 1;
             this.cle = cle;
-            this.gauche = this.droit = this.pere = sentinelle; // Feuilles pointant vers le sentinelle
+            this.gauche = this.droit = this.pere = nil;
+        }
+
+        // Couleur du nœud (rouge ou noire)
+        couleur couleur() {
+            return etat < 0 ? couleur.R : couleur.N;
+        }
+
+        void colorer(couleur c) {
+            etat = c == couleur.R ? etat | ROUGE : etat & ~ROUGE;
+        }
+
+        // Nombre de nœuds du sous-arbre enraciné ici
+        int nb() {
+            return etat & ~ROUGE;
+        }
+
+        // Fixe le nombre de nœuds du sous-arbre en gardant la couleur
+        void nb(int n) {
+            etat = (etat & ROUGE) | n;
         }
 
         // Trouve le nœud contenant la clé minimale dans le sous-arbre enraciné au nœud actuel
-        Noeud minimum() {
-            Noeud courant = this;
-            while (courant.gauche != sentinelle) {
+        Noeud<E> minimum(Noeud<E> nil) {
+            Noeud<E> courant = this;
+            while (courant.gauche != nil) {
                 courant = courant.gauche;
             }
             return courant;
         }
 
+        // Trouve le nœud contenant la clé maximale dans le sous-arbre enraciné au nœud actuel
+        Noeud<E> maximum(Noeud<E> nil) {
+            Noeud<E> courant = this;
+            while (courant.droit != nil) {
+                courant = courant.droit;
+            }
+            return courant;
+        }
+
         // Trouve le successeur du nœud actuel dans l'ordre des clés
-        Noeud suivant() {
-            if (droit != sentinelle) {
-                return droit.minimum();
+        Noeud<E> suivant(Noeud<E> nil) {
+            if (droit != nil) {
+                return droit.minimum(nil);
+            }
+
+            Noeud<E> courant = this;
+            Noeud<E> parent = pere;
+            while (parent != nil && courant == parent.droit) {
+                courant = parent;
+                parent = parent.pere;
+            }
+            return parent;
+        }
+
+        // Trouve le prédécesseur du nœud actuel dans l'ordre des clés
+        Noeud<E> precedent(Noeud<E> nil) {
+            if (gauche != nil) {
+                return gauche.maximum(nil);
             }
 
-            Noeud courant = this;
-            Noeud parent = pere;
-            while (parent != sentinelle && courant == parent.droit) {
+            Noeud<E> courant = this;
+            Noeud<E> parent = pere;
+            while (parent != nil && courant == parent.gauche) {
                 courant = parent;
                 parent = parent.pere;
             }
@@ -71,30 +154,185 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
     }
 
     // Crée un ARN vide où les éléments sont ordonnés selon leur ordre naturel
+    @SuppressWarnings("unchecked")
     public ARN() {
         taille = 0;
-        sentinelle = new Noeud(null); // Initialisation du nœud sentinelle
+        sentinelle = new Noeud<>(null, null); // Initialisation du nœud sentinelle
+        sentinelle.nb(0);
         racine = sentinelle;
-        this.cmp = Comparator.naturalOrder(); // Comparateur par défaut
+        this.cmp = (Comparator<? super E>) (Comparator<?>) Comparator.naturalOrder(); // Comparateur par défaut
+        this.ordreNaturel = true;
     }
 
     // Crée un ARN vide où les éléments sont ordonnés selon un comparateur donné
     public ARN(Comparator<? super E> cmp) {
         taille = 0;
-        sentinelle = new Noeud(null); // Initialisation du nœud sentinelle
+        sentinelle = new Noeud<>(null, null); // Initialisation du nœud sentinelle
+        sentinelle.nb(0);
         racine = sentinelle;
         this.cmp = cmp; // Comparateur personnalisé
+        this.ordreNaturel = cmp == Comparator.naturalOrder();
     }
 
     // Crée un ARN contenant les mêmes éléments qu'une collection donnée. L'ordre
-    //des éléments est basé sur l'ordre naturel
+    //des éléments est basé sur l'ordre naturel. La construction se fait en bloc (voir construireEnBloc)
     public ARN(Collection<? extends E> c) {
         this();
-        if (c != sentinelle) { // Si la collection n'est pas vide
-            for (E element : c) {
-                add(element); // Ajout des éléments dans l'arbre
+        construireEnBloc(c);
+    }
+
+    // Fabrique équivalente au constructeur ARN(Collection) : ordre naturel, construction en bloc
+    public static <E extends Comparable<? super E>> ARN<E> construire(Collection<? extends E> c) {
+        return new ARN<E>(c);
+    }
+
+    // Construit en bloc un ARN ordonné selon un comparateur donné
+    public static <E> ARN<E> construire(Collection<? extends E> c, Comparator<? super E> cmp) {
+        ARN<E> arbre = new ARN<E>(cmp);
+        arbre.construireEnBloc(c);
+        return arbre;
+    }
+
+    // En-tête d'une sauvegarde binaire : "ARN" puis numéro de version du format
+    private static final int MAGIE = 0x41524E01;
+    // Taille des tampons de sauvegarde et de chargement
+    private static final int TAMPON_FICHIER = 1 << 16;
+
+    /**
+     * Écrit l'arbre dans fichier, au format binaire relu par charger : en-tête (magie, nom
+     * du codec, nombre d'éléments) puis les clés dans l'ordre, encodées par codec. L'écriture
+     * suit un parcours infixe, sans copie des clés, à travers un tampon de 64 Ko. Le fichier
+     * est d'abord écrit à côté puis renommé : une sauvegarde interrompue laisse la
+     * précédente intacte, et le fichier temporaire est effacé si l'écriture échoue.
+     * Le comparateur n'est pas enregistré.
+     *
+     * @param fichier fichier à créer ou remplacer
+     * @param codec   encodage des clés
+     */
+    public void sauvegarder(Path fichier, CodecCle<E> codec) throws IOException {
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                CodecCle.Sortie sortie = new CodecCle.Sortie(canal, TAMPON_FICHIER);
+                for (int decalage = 24; decalage >= 0; decalage -= 8) sortie.octet(MAGIE >>> decalage);
+                byte[] nom = codec.nom().getBytes(StandardCharsets.UTF_8);
+                sortie.varint(nom.length);
+                sortie.octets(nom);
+                sortie.varint(taille);
+                E precedent = null;
+                if (racine != sentinelle) {
+                    for (Noeud<E> x = racine.minimum(sentinelle); x != sentinelle; x = x.suivant(sentinelle)) {
+                        codec.ecrire(precedent, x.cle, sortie);
+                        precedent = x.cle;
+                    }
+                }
+                sortie.vider();
+                canal.force(false);
+            }
+            Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // Pas de fichier temporaire abandonné à côté de la sauvegarde précédente
+            try {
+                Files.deleteIfExists(temporaire);
+            } catch (IOException suppression) {
+                e.addSuppressed(suppression);
+            }
+            throw e;
+        }
+    }
+
+    // Relit une sauvegarde dans un ARN ordonné selon l'ordre naturel (voir charger(Path, CodecCle, Comparator))
+    public static <E extends Comparable<? super E>> ARN<E> charger(Path fichier, CodecCle<E> codec) throws IOException {
+        return charger(fichier, codec, Comparator.naturalOrder());
+    }
+
+    /**
+     * Relit une sauvegarde écrite par sauvegarder. Les clés arrivant triées, l'arbre est
+     * construit en O(n) par construireEnBloc, sans insertion ni rotation ; si elles ne le
+     * sont pas pour cmp (sauvegarde faite avec un autre ordre), elles sont d'abord triées.
+     *
+     * @throws IOException si le fichier n'est pas une sauvegarde d'ARN, a été écrit avec un
+     *                     autre codec, est tronqué ou contient des données en trop
+     */
+    public static <E> ARN<E> charger(Path fichier, CodecCle<E> codec, Comparator<? super E> cmp)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            CodecCle.Entree entree = new CodecCle.Entree(canal, TAMPON_FICHIER);
+            int magie = 0;
+            for (int i = 0; i < 4; i++) magie = magie << 8 | entree.octet();
+            if (magie != MAGIE) throw new IOException("Pas une sauvegarde d'ARN : " + fichier);
+            String nom = new String(entree.octets(entree.longueur()), StandardCharsets.UTF_8);
+            if (!nom.equals(codec.nom())) {
+                throw new IOException("Sauvegarde écrite avec le codec " + nom + ", lue avec " + codec.nom());
+            }
+            int n = entree.longueur();
+            // Chaque clé occupe au moins un octet : un nombre plus grand vient d'un fichier abîmé
+            if (n > canal.size()) throw new IOException("Nombre d'éléments invalide : " + n);
+            Object[] elements = new Object[n];
+            E precedent = null;
+            for (int i = 0; i < elements.length; i++) {
+                precedent = codec.lire(precedent, entree);
+                elements[i] = precedent;
+            }
+            if (!entree.fin()) throw new IOException("Données après la dernière clé : " + fichier);
+            ARN<E> arbre = new ARN<E>(cmp);
+            arbre.construireEnBloc(elements);
+            return arbre;
+        }
+    }
+
+    /**
+     * Remplit un arbre vide avec les éléments de c sans passer par add().
+     * Si les éléments sont déjà triés selon le comparateur (vérifié en une passe), l'arbre
+     * est construit en O(n) ; sinon une copie est d'abord triée. Le nœud médian de chaque
+     * intervalle devient la racine du sous-arbre : l'arbre obtenu est complet sauf sur son
+     * dernier niveau, dont les nœuds sont colorés en rouge, tous les autres étant noirs.
+     * Aucune rotation ni recoloration n'est donc nécessaire.
+     *
+     * @param c les éléments à insérer (null interdit)
+     */
+    private void construireEnBloc(Collection<? extends E> c) {
+        construireEnBloc(c.toArray());
+    }
+
+    // Même construction à partir d'un tableau d'éléments, qui peut être trié sur place
+    @SuppressWarnings("unchecked")
+    private void construireEnBloc(Object[] elements) {
+        int n = elements.length;
+        boolean trie = true;
+        for (int i = 0; i < n; i++) {
+            if (elements[i] == null) throw new NullPointerException();
+            if (trie && i > 0 && cmp.compare((E) elements[i - 1], (E) elements[i]) > 0) {
+                trie = false;
             }
         }
+        if (!trie) {
+            Arrays.sort(elements, (Comparator<Object>) cmp);
+        }
+        racine = construireEnBloc(elements, 0, n - 1, 0, niveauRouge(n), sentinelle);
+        taille = n;
+    }
+
+    // Construit récursivement le sous-arbre des éléments triés t[lo..hi]
+    private Noeud<E> construireEnBloc(Object[] t, int lo, int hi, int profondeur, int niveauRouge, Noeud<E> pere) {
+        if (lo > hi) return sentinelle;
+        int milieu = (lo + hi) >>> 1;
+        @SuppressWarnings("unchecked")
+        Noeud<E> x = new Noeud<>((E) t[milieu], sentinelle);
+        x.pere = pere;
+        x.gauche = construireEnBloc(t, lo, milieu - 1, profondeur + 1, niveauRouge, x);
+        x.droit = construireEnBloc(t, milieu + 1, hi, profondeur + 1, niveauRouge, x);
+        x.nb(x.gauche.nb() + x.droit.nb() + 1);
+        if (profondeur == niveauRouge) x.colorer(couleur.R);
+        return x;
+    }
+
+    // Profondeur du dernier niveau, incomplet, d'un arbre de n nœuds construit par médianes
+    private static int niveauRouge(int n) {
+        int niveau = 0;
+        for (int m = n - 1; m >= 0; m = m / 2 - 1) niveau++;
+        return niveau;
     }
 
     // Renvoie un itérateur permettant de parcourir l'arbre dans l'ordre des clés
@@ -109,23 +347,120 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
         return taille;
     }
 
+    // Hauteur de l'arbre : nombre de nœuds du plus long chemin de la racine à une feuille
+    // (récursion bornée par 2·log2(n+1))
+    public int hauteur() {
+        return hauteur(racine);
+    }
+
+    private int hauteur(Noeud<E> x) {
+        return x == sentinelle ? 0 : 1 + Math.max(hauteur(x.gauche), hauteur(x.droit));
+    }
+
     // Ajoute un élément dans l'arbre.
     @Override
     public boolean add(E e) {
         if (e == null) throw new NullPointerException();
-        Noeud z = new Noeud(e);
+        Noeud<E> z = nouveauNoeud(e);
         ajouter(z);
         taille++;
         return true;
     }
 
 
+    /**
+     * Active le recyclage des nœuds : les nœuds détachés par remove (et par l'itérateur,
+     * pollFirst, pollLast) sont gardés dans une réserve d'au plus capacite nœuds, puis
+     * réutilisés par add au lieu d'en allouer de nouveaux. Utile quand les insertions et
+     * suppressions s'équilibrent (fenêtre glissante) : le ramasse-miettes n'a plus à
+     * traiter un nœud par opération. La clé d'un nœud libéré est effacée pour ne rien
+     * retenir. capacite = 0 désactive le recyclage et vide la réserve.
+     * Un itérateur ou une vue conservés après la suppression de leur nœud courant
+     * deviennent invalides plus tôt qu'en mode normal, puisque ce nœud peut être réinséré.
+     *
+     * @param capacite nombre maximal de nœuds gardés en réserve
+     */
+    public void activerRecyclage(int capacite) {
+        if (capacite < 0) throw new IllegalArgumentException("Capacité négative : " + capacite);
+        capaciteRecyclage = capacite;
+        while (nbLibres > capacite) {
+            libres = libres.droit;
+            nbLibres--;
+        }
+    }
+
+    // Nombre de nœuds actuellement en réserve
+    public int nbNoeudsLibres() {
+        return nbLibres;
+    }
+
+    /**
+     * Active ou désactive le comptage des opérations (voir Statistiques). L'activation remet
+     * les compteurs à zéro et remplace le comparateur par une enveloppe qui compte ses appels ;
+     * la désactivation rend le comparateur d'origine. Désactivé, aucun chemin de l'arbre ne
+     * teste les compteurs à chaque comparaison : seules les boucles de correction et les
+     * rotations, propres aux modifications, vérifient qu'ils sont présents.
+     *
+     * @param actif true pour compter, false pour arrêter
+     */
+    public void activerStatistiques(boolean actif) {
+        Comparator<? super E> base = Statistiques.sansCompte(cmp);
+        if (actif) {
+            compteurs = new Statistiques.Compteurs();
+            cmp = new Statistiques.ComparateurCompte<E>(base, compteurs);
+            ordreNaturel = false; // la recherche passe alors par cmp
+        } else {
+            compteurs = null;
+            cmp = base;
+            ordreNaturel = base == Comparator.naturalOrder();
+        }
+    }
+
+    // Relevé des compteurs (nuls si désactivés) et de la forme actuelle de l'arbre, en O(n)
+    public Statistiques statistiques() {
+        double profondeurMoyenne = taille == 0 ? 0 : (double) sommeProfondeurs(racine, 1) / taille;
+        return new Statistiques(compteurs, hauteur(), hauteurNoire(racine, sentinelle), profondeurMoyenne);
+    }
+
+    // Somme des profondeurs des nœuds du sous-arbre x, situé à la profondeur p
+    private long sommeProfondeurs(Noeud<E> x, int p) {
+        return x == sentinelle ? 0 : p + sommeProfondeurs(x.gauche, p + 1) + sommeProfondeurs(x.droit, p + 1);
+    }
+
+    // Change la couleur d'un nœud dans une correction, en comptant les recolorations effectives
+    private void recolorer(Noeud<E> x, couleur c) {
+        if (compteurs != null && x.couleur() != c) compteurs.recolorations++;
+        x.colorer(c);
+    }
+
+    // Nœud de clé e, pris dans la réserve si possible ; ses liens et sa couleur sont fixés par ajouter
+    private Noeud<E> nouveauNoeud(E e) {
+        Noeud<E> z = libres;
+        if (z == null) return new Noeud<>(e, sentinelle);
+        libres = z.droit;
+        nbLibres--;
+        z.cle = e;
+        z.nb(1);
+        return z;
+    }
+
+    // Remet en réserve un nœud qui vient de quitter l'arbre, si la capacité le permet
+    private void liberer(Noeud<E> y) {
+        if (nbLibres >= capaciteRecyclage) return;
+        y.cle = null;
+        y.gauche = y.pere = sentinelle;
+        y.droit = libres;
+        libres = y;
+        nbLibres++;
+    }
+
     //  Insère un nouveau nœud dans l’arbre en respectant la structure d’un arbre binaire de recherche (ABR)
-    private void ajouter(Noeud z) {
-        Noeud y = sentinelle;
-        Noeud x = racine;
+    private void ajouter(Noeud<E> z) {
+        Noeud<E> y = sentinelle;
+        Noeud<E> x = racine;
         while (x != sentinelle) {
             y = x;
+            x.etat++; // z sera inséré dans ce sous-arbre
             x = cmp.compare(z.cle, x.cle) < 0 ? x.gauche : x.droit;
         }
         z.pere = y;
@@ -137,49 +472,50 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
             y.droit = z;
 
         z.gauche = z.droit = sentinelle;
-        z.couleur = couleur.R;
+        z.colorer(couleur.R);
         ajouterCorrection(z);
     }
 
     // Répare les éventuelles violations des propriétés rouge-noir après une insertion
-    private void ajouterCorrection(Noeud z) {
-        Noeud y;
-        while (z.pere != sentinelle && z.pere.couleur == couleur.R) {
+    private void ajouterCorrection(Noeud<E> z) {
+        Noeud<E> y;
+        while (z.pere != sentinelle && z.pere.couleur() == couleur.R) {
+            if (compteurs != null) compteurs.iterationsCorrection++;
             if (z.pere == z.pere.pere.gauche) {
                 y = z.pere.pere.droit;
-                if (y != sentinelle && y.couleur == couleur.R) { // Cas 1
-                    z.pere.couleur = couleur.N;
-                    y.couleur = couleur.N;
-                    z.pere.pere.couleur = couleur.R;
+                if (y != sentinelle && y.couleur() == couleur.R) { // Cas 1
+                    recolorer(z.pere, couleur.N);
+                    recolorer(y, couleur.N);
+                    recolorer(z.pere.pere, couleur.R);
                     z = z.pere.pere;
                 } else {
                     if (z == z.pere.droit) { // Cas 2
                         z = z.pere;
                         rotationGauche(z);
                     }
-                    z.pere.couleur = couleur.N; // Cas 3
-                    z.pere.pere.couleur = couleur.R;
+                    recolorer(z.pere, couleur.N); // Cas 3
+                    recolorer(z.pere.pere, couleur.R);
                     rotationDroite(z.pere.pere);
                 }
             } else {
                 y = z.pere.pere.gauche;
-                if (y != sentinelle && y.couleur == couleur.R) { // Cas 1
-                    z.pere.couleur = couleur.N;
-                    y.couleur = couleur.N;
-                    z.pere.pere.couleur = couleur.R;
+                if (y != sentinelle && y.couleur() == couleur.R) { // Cas 1
+                    recolorer(z.pere, couleur.N);
+                    recolorer(y, couleur.N);
+                    recolorer(z.pere.pere, couleur.R);
                     z = z.pere.pere;
                 } else {
                     if (z == z.pere.gauche) { // Cas 2
                         z = z.pere;
                         rotationDroite(z);
                     }
-                    z.pere.couleur = couleur.N; // Cas 3
-                    z.pere.pere.couleur = couleur.R;
+                    recolorer(z.pere, couleur.N); // Cas 3
+                    recolorer(z.pere.pere, couleur.R);
                     rotationGauche(z.pere.pere);
                 }
             }
         }
-        racine.couleur = couleur.N;
+        recolorer(racine, couleur.N);
     }
 
     /**
@@ -187,13 +523,13 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
      * Cette opération réorganise les liens entre les nœuds pour équilibrer l'arbre
      * lorsque le sous-arbre droit devient plus lourd. La rotation met à jour le
      * sous-arbre gauche du nœud droit, réassigne les parents des nœuds impliqués,
-     * et ajuste la racine si nécessaire. Enfin, la méthode appelle
-     * {@code rotationGauheCorrection()} pour corriger les métadonnées associées.
+     * et ajuste la racine si nécessaire. Enfin, la méthode recalcule les tailles
+     * de sous-arbres (nb) des deux nœuds dont les descendants ont changé.
      *
      * @param x le nœud autour duquel effectuer la rotation
      */
-    private void rotationGauche(Noeud x) {
-        Noeud y = x.droit;
+    private void rotationGauche(Noeud<E> x) {
+        Noeud<E> y = x.droit;
         x.droit = y.gauche;
 
         if (y.gauche != sentinelle)
@@ -210,6 +546,10 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
 
         y.gauche = x;
         x.pere = y;
+
+        y.nb(x.nb());
+        x.nb(x.gauche.nb() + x.droit.nb() + 1);
+        if (compteurs != null) compteurs.rotations++;
     }
 
 
@@ -218,12 +558,12 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
      * Effectue une rotation droite sur un nœud dans un arbre rouge-noir.
      * Rééquilibre l'arbre en ajustant les liens entre les nœuds, avec
      * mise à jour des sous-arbres et des parents.
-     * Corrige les métadonnées via {@code rotationDroiteCorrection()}.
+     * Recalcule ensuite les tailles de sous-arbres (nb) des deux nœuds concernés.
      *
      * @param y le nœud pivot de la rotation
      */
-    private void rotationDroite(Noeud y) {
-        Noeud x = y.gauche;
+    private void rotationDroite(Noeud<E> y) {
+        Noeud<E> x = y.gauche;
 
         y.gauche = x.droit;
         if (x.droit != sentinelle)
@@ -240,18 +580,32 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
 
         x.droit = y;
         y.pere = x;
+
+        x.nb(y.nb());
+        y.nb(y.gauche.nb() + y.droit.nb() + 1);
+        if (compteurs != null) compteurs.rotations++;
     }
 
 
-    // Itérateur pour parcourir les éléments de l'arbre dans l'ordre
+    // Itérateur pour parcourir les éléments de l'arbre dans l'ordre (croissant ou décroissant),
+    // éventuellement limité aux clés d'une vue
     private class ARNIterator implements Iterator<E> {
-        private Noeud noeudSuivant; // Le prochain nœud à retourner
-        private Noeud courant; // Le dernier nœud retourné
+        private Noeud<E> noeudSuivant; // Le prochain nœud à retourner
+        private Noeud<E> courant; // Le dernier nœud retourné
+        private final boolean decroissant;
+        private final Vue vue; // null : pas de borne de fin
 
         public ARNIterator() {
             // Initialise le prochain nœud avec le plus petit élément
-            noeudSuivant = racine != sentinelle ? racine.minimum() : sentinelle;
+            this(racine != sentinelle ? racine.minimum(sentinelle) : sentinelle, false, null);
+        }
+
+        // Démarre au nœud premier (déjà situé dans la vue) et s'arrête à la sortie de la vue
+        ARNIterator(Noeud<E> premier, boolean decroissant, Vue vue) {
+            noeudSuivant = premier;
             courant = sentinelle;
+            this.decroissant = decroissant;
+            this.vue = vue;
         }
 
         @Override
@@ -267,7 +621,11 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
 
             // Avance au prochain nœud et retourne la clé de l'actuel
             courant = noeudSuivant;
-            noeudSuivant = noeudSuivant.suivant();
+            noeudSuivant = decroissant ? noeudSuivant.precedent(sentinelle) : noeudSuivant.suivant(sentinelle);
+            if (vue != null && noeudSuivant != sentinelle
+                    && (decroissant ? vue.tropBas(noeudSuivant.cle) : vue.tropHaut(noeudSuivant.cle))) {
+                noeudSuivant = sentinelle;
+            }
             return courant.cle;
         }
 
@@ -277,9 +635,14 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
                 throw new IllegalStateException();
             }
 
-            // Supprime le dernier nœud retourné
+            // Avec deux fils, supprimer() recopie la clé du successeur dans courant et détache
+            // le successeur : en ordre croissant, le prochain élément (s'il est dans la vue) est alors dans courant
+            boolean deuxFils = courant.gauche != sentinelle && courant.droit != sentinelle;
             supprimer(courant);
             taille--;
+            if (deuxFils && !decroissant && noeudSuivant != sentinelle) {
+                noeudSuivant = courant;
+            }
             courant = sentinelle;
         }
     }
@@ -287,7 +650,7 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
     @Override
     public boolean remove(Object o) {
         if (o == null) return false;
-        Noeud noeud = rechercher(o);
+        Noeud<E> noeud = rechercher(o);
         if (noeud == sentinelle) {
             return false;
         }
@@ -315,52 +678,1237 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
         taille = 0;
     }
 
-    // Supprime tous les éléments de la collection donnée
+    // Ajoute tous les éléments de c ; si c est un ARN de même ordre, par union (voir combiner)
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        ARN<E> autre = memeOrdre(c);
+        if (autre == null) return super.addAll(c);
+        if (autre.isEmpty()) return false;
+        if (autre == this) autre = construire(this, Statistiques.sansCompte(cmp)); // l'union ne doit pas lire l'arbre qu'elle découpe
+        appliquer(UNION, autre);
+        return true;
+    }
+
+    // Supprime toutes les occurrences des éléments contenus dans c ; renvoie true si l'arbre a changé
     @Override
     public boolean removeAll(Collection<?> c) {
-        for (Object element : c) {
-            remove(element);
+        int avant = taille;
+        ARN<E> autre = memeOrdre(c);
+        if (autre == this) {
+            clear();
+        } else if (autre != null) {
+            appliquer(DIFFERENCE, autre);
+        } else {
+            for (Object element : c) {
+                while (remove(element)) ;
+            }
         }
-        return true;
+        return taille != avant;
+    }
+
+    // Ne garde que les éléments contenus dans c ; si c est un ARN de même ordre, par intersection
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        ARN<E> autre = memeOrdre(c);
+        if (autre == null) return super.retainAll(c);
+        if (autre == this) return false;
+        int avant = taille;
+        appliquer(INTERSECTION, autre);
+        return taille != avant;
+    }
+
+    /**
+     * Recherche un nœud dont la clé est égale à o au sens du comparateur, sentinelle si
+     * aucun. Boucle itérative avec une seule comparaison par niveau ; en ordre naturel,
+     * compareTo est appelé directement, sans passer par Comparator.naturalOrder().
+     */
+    private Noeud<E> rechercher(Object o) {
+        Noeud<E> x = racine;
+        if (ordreNaturel) {
+            @SuppressWarnings("unchecked")
+            Comparable<? super E> k = (Comparable<? super E>) o;
+            while (x != sentinelle) {
+                int c = k.compareTo(x.cle);
+                if (c == 0) return x;
+                x = c < 0 ? x.gauche : x.droit;
+            }
+        } else {
+            @SuppressWarnings("unchecked")
+            E k = (E) o;
+            while (x != sentinelle) {
+                int c = cmp.compare(k, x.cle);
+                if (c == 0) return x;
+                x = c < 0 ? x.gauche : x.droit;
+            }
+        }
+        return x;
     }
 
-    // Recherche un nœud contenant une clé donnée dans l'arbre.
-    private Noeud rechercher(Object o) {
-        return rechercher(racine, o); // Démarre la recherche depuis la racine
+    // Nœud de plus petite clé supérieure (ou égale si inclusif) à e, sentinelle si aucun
+    private Noeud<E> plafond(E e, boolean inclusif) {
+        Noeud<E> x = racine;
+        Noeud<E> res = sentinelle;
+        while (x != sentinelle) {
+            int c = cmp.compare(e, x.cle);
+            if (c < 0 || (c == 0 && inclusif)) {
+                res = x;
+                x = x.gauche;
+            } else {
+                x = x.droit;
+            }
+        }
+        return res;
+    }
+
+    // Nœud de plus grande clé inférieure (ou égale si inclusif) à e, sentinelle si aucun
+    private Noeud<E> plancher(E e, boolean inclusif) {
+        Noeud<E> x = racine;
+        Noeud<E> res = sentinelle;
+        while (x != sentinelle) {
+            int c = cmp.compare(e, x.cle);
+            if (c > 0 || (c == 0 && inclusif)) {
+                res = x;
+                x = x.droit;
+            } else {
+                x = x.gauche;
+            }
+        }
+        return res;
     }
 
-    // Recherche récursive d'un nœud contenant une clé donnée dans un sous-arbre
-    private Noeud rechercher(Noeud racine, Object o) {
-        if (racine == sentinelle)
-            return sentinelle;
+    // Clé d'un nœud, null pour la sentinelle
+    private E cleOuNull(Noeud<E> x) {
+        return x == sentinelle ? null : x.cle;
+    }
 
-        if (racine.cle.equals(o))
-            return racine;
+    // Clé d'un nœud, NoSuchElementException pour la sentinelle
+    private E cleOuException(Noeud<E> x) {
+        if (x == sentinelle) throw new NoSuchElementException();
+        return x.cle;
+    }
 
+    // Retire le nœud x de l'arbre et renvoie sa clé, null pour la sentinelle
+    private E extraire(Noeud<E> x) {
+        if (x == sentinelle) return null;
+        E cle = x.cle;
+        supprimer(x);
+        taille--;
+        return cle;
+    }
 
-        // Compare la clé pour décider du chemin (gauche ou droit)
-        if (cmp.compare((E) o, racine.cle) < 0) {
-            return rechercher(racine.gauche, o); // Recherche dans le sous-arbre gauche
-        } else {
-            return rechercher(racine.droit, o); // Recherche dans le sous-arbre droit
+    /**
+     * Renvoie l'élément de position index dans l'ordre de parcours (0 pour le minimum).
+     * La descente utilise les tailles de sous-arbres : O(log n) au lieu de O(index)
+     * avec un itérateur.
+     *
+     * @param index position de l'élément, entre 0 et size() - 1
+     */
+    public E get(int index) {
+        if (index < 0 || index >= taille) {
+            throw new IndexOutOfBoundsException("Index : " + index + ", taille : " + taille);
         }
+        return noeudDeRang(index).cle;
     }
 
-    // Supprime un nœud de l'arbre rouge-noir selon l'algorithme du prof.
-    private void supprimer(Noeud z) {
-        Noeud y, x;
+    // Nœud de position index (0 ≤ index < taille), par descente guidée par les tailles
+    private Noeud<E> noeudDeRang(int index) {
+        Noeud<E> x = racine;
+        while (true) {
+            int g = x.gauche.nb();
+            if (index < g) {
+                x = x.gauche;
+            } else if (index == g) {
+                return x;
+            } else {
+                index -= g + 1;
+                x = x.droit;
+            }
+        }
+    }
 
-        // Déterminer le nœud à détacher
-        if (z.gauche == sentinelle || z.droit == sentinelle)
-            y = z;
-        else
-            y = z.suivant(); // successeur de z
+    // Renvoie le rang de e : le nombre d'éléments strictement inférieurs à e, en O(log n)
+    public int rang(E e) {
+        if (e == null) throw new NullPointerException();
+        return nbInferieurs(e, false);
+    }
 
-        // Déterminer le fils unique de y (ou sentinelle)
-        if (y.gauche != sentinelle)
-            x = y.gauche;
-        else
-            x = y.droit;
+    // Renvoie la position de la première occurrence de o dans l'ordre de parcours, -1 si absent
+    public int indexOf(Object o) {
+        if (o == null) return -1;
+        @SuppressWarnings("unchecked")
+        E e = (E) o;
+        int r = nbInferieurs(e, false);
+        return (r < taille && cmp.compare(get(r), e) == 0) ? r : -1;
+    }
+
+    // Compte en O(log n) les éléments compris entre bas et haut (bornes incluses ou non)
+    public int compterEntre(E bas, boolean basInclus, E haut, boolean hautInclus) {
+        if (bas == null || haut == null) throw new NullPointerException();
+        return Math.max(0, nbInferieurs(haut, hautInclus) - nbInferieurs(bas, !basInclus));
+    }
+
+    // Nombre d'éléments strictement inférieurs (ou inférieurs ou égaux si inclusif) à e
+    private int nbInferieurs(E e, boolean inclusif) {
+        int n = 0;
+        Noeud<E> x = racine;
+        while (x != sentinelle) {
+            int c = cmp.compare(e, x.cle);
+            if (c > 0 || (c == 0 && inclusif)) {
+                n += x.gauche.nb() + 1;
+                x = x.droit;
+            } else {
+                x = x.gauche;
+            }
+        }
+        return n;
+    }
+
+    // Renvoie null pour l'ordre naturel, comme TreeSet (jamais l'enveloppe de comptage)
+    @Override
+    public Comparator<? super E> comparator() {
+        Comparator<? super E> c = Statistiques.sansCompte(cmp);
+        return c == Comparator.naturalOrder() ? null : c;
+    }
+
+    @Override
+    public E first() {
+        return cleOuException(racine == sentinelle ? sentinelle : racine.minimum(sentinelle));
+    }
+
+    @Override
+    public E last() {
+        return cleOuException(racine == sentinelle ? sentinelle : racine.maximum(sentinelle));
+    }
+
+    @Override
+    public E lower(E e) {
+        return cleOuNull(plancher(e, false));
+    }
+
+    @Override
+    public E floor(E e) {
+        return cleOuNull(plancher(e, true));
+    }
+
+    @Override
+    public E ceiling(E e) {
+        return cleOuNull(plafond(e, true));
+    }
+
+    @Override
+    public E higher(E e) {
+        return cleOuNull(plafond(e, false));
+    }
+
+    @Override
+    public E pollFirst() {
+        return extraire(racine == sentinelle ? sentinelle : racine.minimum(sentinelle));
+    }
+
+    @Override
+    public E pollLast() {
+        return extraire(racine == sentinelle ? sentinelle : racine.maximum(sentinelle));
+    }
+
+    // Parcourt l'arbre dans l'ordre décroissant des clés
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new ARNIterator(racine != sentinelle ? racine.maximum(sentinelle) : sentinelle, true, null);
+    }
+
+    @Override
+    public CollectionNavigable<E> descendingSet() {
+        return new Vue(true, null, false, true, null, false, true);
+    }
+
+    @Override
+    public CollectionNavigable<E> subSet(E deElement, boolean deInclus, E aElement, boolean aInclus) {
+        return new Vue(false, deElement, deInclus, false, aElement, aInclus, false);
+    }
+
+    @Override
+    public CollectionNavigable<E> headSet(E aElement, boolean inclus) {
+        return new Vue(true, null, false, false, aElement, inclus, false);
+    }
+
+    @Override
+    public CollectionNavigable<E> tailSet(E deElement, boolean inclus) {
+        return new Vue(false, deElement, inclus, true, null, false, false);
+    }
+
+    @Override
+    public CollectionNavigable<E> subSet(E deElement, E aElement) {
+        return subSet(deElement, true, aElement, false);
+    }
+
+    @Override
+    public CollectionNavigable<E> headSet(E aElement) {
+        return headSet(aElement, false);
+    }
+
+    @Override
+    public CollectionNavigable<E> tailSet(E deElement) {
+        return tailSet(deElement, true);
+    }
+
+    /**
+     * Vue vivante de l'arbre avec la sémantique d'un ensemble : chaque clé n'y apparaît
+     * qu'une fois, quel que soit son nombre d'occurrences dans l'arbre, et equals/hashCode
+     * sont ceux de Set (une vue égale à un TreeSet de mêmes clés a le même hashCode).
+     * add n'insère que les clés absentes, remove et pollFirst/pollLast retirent toutes les
+     * occurrences. size() compte les clés distinctes en O(n) ; l'itération avance par
+     * higher, en O(log n) par clé.
+     */
+    public NavigableSet<E> ensemble() {
+        return new Ensemble<>(this);
+    }
+
+    // Spliterator découpé par rang (voir ARNSpliterator) ; SortedSet annoncerait DISTINCT,
+    // ce qui est faux puisque les doublons sont acceptés
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ARNSpliterator(0, -1);
+    }
+
+    /**
+     * Spliterator qui couvre les positions [debut, fin) de l'ordre de parcours.
+     * trySplit coupe l'intervalle en son milieu et rend la première moitié : le nœud de
+     * la position médiane est retrouvé par une descente guidée par les tailles de
+     * sous-arbres (O(log n)), si bien que les deux moitiés ont une taille exacte
+     * (SIZED | SUBSIZED) et que le découpage reste équilibré jusqu'aux feuilles, au lieu
+     * des lots croissants du spliterator par défaut construit sur l'itérateur.
+     * Liaison tardive : fin est fixée au premier usage. Comme l'itérateur, il n'est pas
+     * protégé contre une modification concurrente de l'arbre.
+     */
+    private class ARNSpliterator implements Spliterator<E> {
+        private int debut; // position du prochain élément
+        private int fin; // position de fin exclue, -1 tant que le parcours n'a pas commencé
+        private Noeud<E> courant; // nœud de la position debut, null tant qu'il n'est pas localisé
+
+        ARNSpliterator(int debut, int fin) {
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        private int fin() {
+            if (fin < 0) fin = taille;
+            return fin;
+        }
+
+        private Noeud<E> courant() {
+            if (courant == null) courant = noeudDeRang(debut);
+            return courant;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int f = fin();
+            int milieu = (debut + f) >>> 1;
+            if (milieu <= debut) return null;
+            ARNSpliterator prefixe = new ARNSpliterator(debut, milieu);
+            prefixe.courant = courant;
+            debut = milieu;
+            courant = null;
+            return prefixe;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            if (debut >= fin()) return false;
+            Noeud<E> x = courant();
+            debut++;
+            courant = debut < fin ? x.suivant(sentinelle) : null;
+            action.accept(x.cle);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException();
+            int f = fin();
+            if (debut >= f) return;
+            Noeud<E> x = courant();
+            for (int i = debut; i < f; i++) {
+                action.accept(x.cle);
+                x = x.suivant(sentinelle);
+            }
+            debut = f;
+            courant = null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin() - debut;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.SIZED | Spliterator.SUBSIZED
+                    | Spliterator.NONNULL;
+        }
+
+        // null désigne l'ordre naturel, comme pour SortedSet.comparator()
+        @Override
+        public Comparator<? super E> getComparator() {
+            return ARN.this.comparator();
+        }
+    }
+
+    /**
+     * Vue vivante sur les clés de l'arbre comprises entre deux bornes, éventuellement
+     * parcourue en ordre décroissant. Les bornes sont toujours exprimées dans l'ordre
+     * de l'arbre (bas ≤ haut) ; seul le sens de lecture change avec decroissant.
+     * Les recherches, size() et le début d'itération coûtent O(log n), l'itération
+     * O(1) amorti par élément.
+     */
+    private class Vue extends AbstractCollection<E> implements CollectionNavigable<E> {
+        private final boolean depuisDebut; // pas de borne basse
+        private final E bas;
+        private final boolean basInclus;
+        private final boolean jusquaFin;   // pas de borne haute
+        private final E haut;
+        private final boolean hautInclus;
+        private final boolean decroissant;
+
+        Vue(boolean depuisDebut, E bas, boolean basInclus,
+            boolean jusquaFin, E haut, boolean hautInclus, boolean decroissant) {
+            if (!depuisDebut && bas == null) throw new NullPointerException();
+            if (!jusquaFin && haut == null) throw new NullPointerException();
+            if (!depuisDebut && !jusquaFin && cmp.compare(bas, haut) > 0) {
+                throw new IllegalArgumentException("borne basse supérieure à la borne haute");
+            }
+            this.depuisDebut = depuisDebut;
+            this.bas = bas;
+            this.basInclus = basInclus;
+            this.jusquaFin = jusquaFin;
+            this.haut = haut;
+            this.hautInclus = hautInclus;
+            this.decroissant = decroissant;
+        }
+
+        boolean tropBas(E e) {
+            if (depuisDebut) return false;
+            int c = cmp.compare(e, bas);
+            return c < 0 || (c == 0 && !basInclus);
+        }
+
+        boolean tropHaut(E e) {
+            if (jusquaFin) return false;
+            int c = cmp.compare(e, haut);
+            return c > 0 || (c == 0 && !hautInclus);
+        }
+
+        boolean dansIntervalle(E e) {
+            return !tropBas(e) && !tropHaut(e);
+        }
+
+        // Une borne exclusive d'une sous-vue peut coïncider avec une borne exclusive de la vue
+        private boolean borneValide(E e, boolean inclus) {
+            if (inclus) return dansIntervalle(e);
+            return (depuisDebut || cmp.compare(e, bas) >= 0) && (jusquaFin || cmp.compare(e, haut) <= 0);
+        }
+
+        // Premier nœud de la vue dans l'ordre de l'arbre, sentinelle si la vue est vide
+        private Noeud<E> plusBas() {
+            Noeud<E> x;
+            if (depuisDebut) x = racine == sentinelle ? sentinelle : racine.minimum(sentinelle);
+            else x = plafond(bas, basInclus);
+            return (x == sentinelle || tropHaut(x.cle)) ? sentinelle : x;
+        }
+
+        // Dernier nœud de la vue dans l'ordre de l'arbre, sentinelle si la vue est vide
+        private Noeud<E> plusHaut() {
+            Noeud<E> x;
+            if (jusquaFin) x = racine == sentinelle ? sentinelle : racine.maximum(sentinelle);
+            else x = plancher(haut, hautInclus);
+            return (x == sentinelle || tropBas(x.cle)) ? sentinelle : x;
+        }
+
+        // Équivalents de plafond/plancher restreints à la vue, dans l'ordre de l'arbre
+        private Noeud<E> plafondVue(E e, boolean inclusif) {
+            if (tropBas(e)) return plusBas();
+            Noeud<E> x = plafond(e, inclusif);
+            return (x == sentinelle || tropHaut(x.cle)) ? sentinelle : x;
+        }
+
+        private Noeud<E> plancherVue(E e, boolean inclusif) {
+            if (tropHaut(e)) return plusHaut();
+            Noeud<E> x = plancher(e, inclusif);
+            return (x == sentinelle || tropBas(x.cle)) ? sentinelle : x;
+        }
+
+        private Noeud<E> premierNoeud() {
+            return decroissant ? plusHaut() : plusBas();
+        }
+
+        private Noeud<E> dernierNoeud() {
+            return decroissant ? plusBas() : plusHaut();
+        }
+
+        // Crée une sous-vue à partir de bornes exprimées dans l'ordre de l'arbre
+        private Vue sousVue(boolean sansBas, E nBas, boolean nBasInclus,
+                            boolean sansHaut, E nHaut, boolean nHautInclus, boolean nDecroissant) {
+            if (!sansBas && !borneValide(nBas, nBasInclus)) throw new IllegalArgumentException("borne hors de la vue");
+            if (!sansHaut && !borneValide(nHaut, nHautInclus)) throw new IllegalArgumentException("borne hors de la vue");
+            if (sansBas) {
+                sansBas = depuisDebut;
+                nBas = bas;
+                nBasInclus = basInclus;
+            }
+            if (sansHaut) {
+                sansHaut = jusquaFin;
+                nHaut = haut;
+                nHautInclus = hautInclus;
+            }
+            return new Vue(sansBas, nBas, nBasInclus, sansHaut, nHaut, nHautInclus, nDecroissant);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new ARNIterator(premierNoeud(), decroissant, this);
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return new ARNIterator(dernierNoeud(), !decroissant, this);
+        }
+
+        // Calculée en O(log n) à partir des rangs des deux bornes
+        @Override
+        public int size() {
+            int n = jusquaFin ? taille : nbInferieurs(haut, hautInclus);
+            if (!depuisDebut) n -= nbInferieurs(bas, !basInclus);
+            return Math.max(0, n);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return plusBas() == sentinelle;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            return o != null && dansIntervalle((E) o) && ARN.this.contains(o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            if (e == null) throw new NullPointerException();
+            if (!dansIntervalle(e)) throw new IllegalArgumentException("clé hors de la vue");
+            return ARN.this.add(e);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) {
+            return o != null && dansIntervalle((E) o) && ARN.this.remove(o);
+        }
+
+        @Override
+        public void clear() {
+            for (Iterator<E> it = iterator(); it.hasNext(); ) {
+                it.next();
+                it.remove();
+            }
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            Comparator<? super E> c = ARN.this.comparator();
+            if (!decroissant) return c;
+            return c == null ? Collections.reverseOrder() : Collections.reverseOrder(c);
+        }
+
+        @Override
+        public E first() {
+            return cleOuException(premierNoeud());
+        }
+
+        @Override
+        public E last() {
+            return cleOuException(dernierNoeud());
+        }
+
+        @Override
+        public E lower(E e) {
+            return cleOuNull(decroissant ? plafondVue(e, false) : plancherVue(e, false));
+        }
+
+        @Override
+        public E floor(E e) {
+            return cleOuNull(decroissant ? plafondVue(e, true) : plancherVue(e, true));
+        }
+
+        @Override
+        public E ceiling(E e) {
+            return cleOuNull(decroissant ? plancherVue(e, true) : plafondVue(e, true));
+        }
+
+        @Override
+        public E higher(E e) {
+            return cleOuNull(decroissant ? plancherVue(e, false) : plafondVue(e, false));
+        }
+
+        @Override
+        public E pollFirst() {
+            return extraire(premierNoeud());
+        }
+
+        @Override
+        public E pollLast() {
+            return extraire(dernierNoeud());
+        }
+
+        @Override
+        public CollectionNavigable<E> descendingSet() {
+            return new Vue(depuisDebut, bas, basInclus, jusquaFin, haut, hautInclus, !decroissant);
+        }
+
+        @Override
+        public CollectionNavigable<E> subSet(E deElement, boolean deInclus, E aElement, boolean aInclus) {
+            if (decroissant) return sousVue(false, aElement, aInclus, false, deElement, deInclus, true);
+            return sousVue(false, deElement, deInclus, false, aElement, aInclus, false);
+        }
+
+        @Override
+        public CollectionNavigable<E> headSet(E aElement, boolean inclus) {
+            if (decroissant) return sousVue(false, aElement, inclus, true, null, false, true);
+            return sousVue(true, null, false, false, aElement, inclus, false);
+        }
+
+        @Override
+        public CollectionNavigable<E> tailSet(E deElement, boolean inclus) {
+            if (decroissant) return sousVue(true, null, false, false, deElement, inclus, true);
+            return sousVue(false, deElement, inclus, true, null, false, false);
+        }
+
+        @Override
+        public CollectionNavigable<E> subSet(E deElement, E aElement) {
+            return subSet(deElement, true, aElement, false);
+        }
+
+        @Override
+        public CollectionNavigable<E> headSet(E aElement) {
+            return headSet(aElement, false);
+        }
+
+        @Override
+        public CollectionNavigable<E> tailSet(E deElement) {
+            return tailSet(deElement, true);
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+    }
+
+    /**
+     * NavigableSet sur une collection navigable à doublons (voir ensemble()) : les
+     * recherches sont déléguées, le parcours saute d'une clé à la suivante par higher, et
+     * les sous-vues enveloppent les vues correspondantes de la collection.
+     */
+    private static final class Ensemble<E> extends AbstractSet<E> implements NavigableSet<E> {
+        private final CollectionNavigable<E> c;
+
+        Ensemble(CollectionNavigable<E> c) {
+            this.c = c;
+        }
+
+        // Les clés égales pour le comparateur sont consécutives dans le parcours de c
+        @Override
+        @SuppressWarnings("unchecked")
+        public int size() {
+            Comparator<? super E> ordre = c.comparator();
+            int n = 0;
+            E precedent = null;
+            for (E e : c) {
+                if (precedent == null || (ordre == null
+                        ? ((Comparable<? super E>) precedent).compareTo(e)
+                        : ordre.compare(precedent, e)) != 0) {
+                    n++;
+                }
+                precedent = e;
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return c.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return c.contains(o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            if (e == null) throw new NullPointerException();
+            return !c.contains(e) && c.add(e);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            boolean modifie = false;
+            while (c.remove(o)) modifie = true;
+            return modifie;
+        }
+
+        @Override
+        public void clear() {
+            c.clear();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                private E prochain = c.isEmpty() ? null : c.first();
+                private E dernier; // clé rendue par next, null après remove
+
+                @Override
+                public boolean hasNext() {
+                    return prochain != null;
+                }
+
+                @Override
+                public E next() {
+                    if (prochain == null) throw new NoSuchElementException();
+                    dernier = prochain;
+                    prochain = c.higher(dernier);
+                    return dernier;
+                }
+
+                // higher ne dépend que de la clé : retirer dernier ne perd pas la suivante
+                @Override
+                public void remove() {
+                    if (dernier == null) throw new IllegalStateException();
+                    Ensemble.this.remove(dernier);
+                    dernier = null;
+                }
+            };
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return c.comparator();
+        }
+
+        @Override
+        public E first() {
+            return c.first();
+        }
+
+        @Override
+        public E last() {
+            return c.last();
+        }
+
+        @Override
+        public E lower(E e) {
+            return c.lower(e);
+        }
+
+        @Override
+        public E floor(E e) {
+            return c.floor(e);
+        }
+
+        @Override
+        public E ceiling(E e) {
+            return c.ceiling(e);
+        }
+
+        @Override
+        public E higher(E e) {
+            return c.higher(e);
+        }
+
+        @Override
+        public E pollFirst() {
+            E e = c.pollFirst();
+            if (e != null) remove(e);
+            return e;
+        }
+
+        @Override
+        public E pollLast() {
+            E e = c.pollLast();
+            if (e != null) remove(e);
+            return e;
+        }
+
+        @Override
+        public NavigableSet<E> descendingSet() {
+            return new Ensemble<>(c.descendingSet());
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E deElement, boolean deInclus, E aElement, boolean aInclus) {
+            return new Ensemble<>(c.subSet(deElement, deInclus, aElement, aInclus));
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E aElement, boolean inclus) {
+            return new Ensemble<>(c.headSet(aElement, inclus));
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E deElement, boolean inclus) {
+            return new Ensemble<>(c.tailSet(deElement, inclus));
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E deElement, E aElement) {
+            return subSet(deElement, true, aElement, false);
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E aElement) {
+            return headSet(aElement, false);
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E deElement) {
+            return tailSet(deElement, true);
+        }
+    }
+
+    // ----- Opérations ensemblistes par jointure (Blelloch, Ferizovic, Sun, « Just Join ») -----
+    // Tout repose sur joindre(g, k, d), qui recolle deux ARN séparés par un nœud k en
+    // O(|hn(g) - hn(d)| + 1), et sur separer(t, k), qui découpe t autour de k en O(log n).
+    // L'union, la différence et l'intersection avec un arbre de m éléments coûtent alors
+    // O(m log(n/m + 1)) au lieu de O(m log n), et leurs deux appels récursifs portent sur
+    // des sous-arbres disjoints : au-delà de SEUIL_PARALLELE nœuds, l'un est confié au
+    // ForkJoinPool commun. Les nœuds de cet arbre sont réutilisés ; l'autre arbre est
+    // seulement lu (l'union recopie ses clés) et ne doit pas être modifié pendant l'opération.
+    // Aucune écriture ne touche la sentinelle, partagée par toutes les tâches.
+
+    private static final int UNION = 0, DIFFERENCE = 1, INTERSECTION = 2;
+
+    // Taille (les deux arbres cumulés) en dessous de laquelle la récursion reste séquentielle
+    static final int SEUIL_PARALLELE = 1 << 13;
+
+    // En dessous de cette taille, les deux sous-arbres sont fusionnés comme deux listes triées
+    // puis reconstruits par médianes : plus rapide que de découper jusqu'aux feuilles
+    static final int SEUIL_FUSION = 64;
+
+    // Sous-arbre détaché de racine noire, avec sa hauteur noire (nombre de nœuds noirs d'un
+    // chemin de la racine à une feuille, racine comprise, sentinelle exclue)
+    private final class Morceau {
+        final Noeud<E> racine;
+        final int hn;
+
+        Morceau(Noeud<E> racine, int hn) {
+            this.racine = racine;
+            this.hn = hn;
+        }
+    }
+
+    // Résultat de separer : éléments inférieurs, égaux et supérieurs à la clé de découpe
+    private final class Decoupe {
+        Morceau inf, egal, sup;
+
+        Decoupe(Morceau inf, Morceau egal, Morceau sup) {
+            this.inf = inf;
+            this.egal = egal;
+            this.sup = sup;
+        }
+    }
+
+    // Renvoie c en tant qu'ARN ordonné comme celui-ci, null sinon
+    private ARN<E> memeOrdre(Collection<?> c) {
+        if (!(c instanceof ARN)) return null;
+        @SuppressWarnings("unchecked")
+        ARN<E> autre = (ARN<E>) c;
+        return Statistiques.sansCompte(cmp).equals(Statistiques.sansCompte(autre.cmp)) ? autre : null;
+    }
+
+    // Remplace le contenu de l'arbre par son union, sa différence ou son intersection avec autre
+    private void appliquer(int operation, ARN<E> autre) {
+        Morceau a = morceau(racine, hauteurNoire(racine, sentinelle));
+        Tache<E> tache = new Tache<>(this, operation, a, autre, autre.racine, hauteurNoire(autre.racine, autre.sentinelle));
+        Morceau r = taille + autre.taille < SEUIL_PARALLELE ? tache.compute() : ForkJoinPool.commonPool().invoke(tache);
+        racine = r.racine;
+        racine.pere = sentinelle; // les morceaux ne mettent pas à jour le père de leur racine
+        taille = racine.nb();
+    }
+
+    // Sous-problème de combiner, exécutable par le ForkJoinPool ; jamais sérialisé
+    @SuppressWarnings("serial")
+    private static final class Tache<E> extends RecursiveTask<ARN<E>.Morceau> {
+        private final ARN<E> arbre; // arbre dont le morceau a est issu
+        private final int operation;
+        private final ARN<E>.Morceau a;
+        private final ARN<E> autre;
+        private final Noeud<E> b;
+        private final int hb;
+
+        Tache(ARN<E> arbre, int operation, ARN<E>.Morceau a, ARN<E> autre, Noeud<E> b, int hb) {
+            this.arbre = arbre;
+            this.operation = operation;
+            this.a = a;
+            this.autre = autre;
+            this.b = b;
+            this.hb = hb;
+        }
+
+        @Override
+        protected ARN<E>.Morceau compute() {
+            return arbre.combiner(operation, a, autre, b, hb);
+        }
+    }
+
+    /**
+     * Combine le morceau a (nœuds de cet arbre) avec le sous-arbre b de l'autre arbre :
+     * a est découpé autour de la clé de b, puis chaque moitié est combinée avec le fils
+     * correspondant de b. Les doublons sont conservés par l'union ; la différence retire,
+     * et l'intersection garde, toutes les occurrences d'une clé présente dans b.
+     *
+     * @param a morceau de cet arbre, consommé
+     * @param b sous-arbre de l'autre arbre, seulement lu
+     * @param hb hauteur noire de b
+     */
+    private Morceau combiner(int operation, Morceau a, ARN<E> autre, Noeud<E> b, int hb) {
+        if (b == autre.sentinelle) {
+            return operation == INTERSECTION ? vide() : a;
+        }
+        if (a.racine == sentinelle) {
+            return operation == UNION ? morceau(copier(b, autre.sentinelle), hb) : a;
+        }
+        if (a.racine.nb() + b.nb() <= SEUIL_FUSION) {
+            return fusionner(operation, a, autre, b);
+        }
+        boolean parallele = a.racine.nb() + b.nb() >= SEUIL_PARALLELE && ForkJoinTask.inForkJoinPool();
+        Decoupe s = separer(a.racine, a.hn, b.cle);
+        int hc = b.couleur() == couleur.N ? hb - 1 : hb;
+        // Avec l'union, les copies de b.cle rejoignent la partie droite
+        Morceau droite = operation == UNION ? joindre2(s.egal, s.sup) : s.sup;
+        Morceau g, d;
+        if (parallele) {
+            Tache<E> t = new Tache<>(this, operation, s.inf, autre, b.gauche, hc);
+            t.fork();
+            d = combiner(operation, droite, autre, b.droit, hc);
+            g = t.join();
+        } else {
+            g = combiner(operation, s.inf, autre, b.gauche, hc);
+            d = combiner(operation, droite, autre, b.droit, hc);
+        }
+        switch (operation) {
+            case UNION:
+                return joindre(g, new Noeud<>(b.cle, sentinelle), d);
+            case DIFFERENCE:
+                return joindre2(g, d);
+            default:
+                return joindre2(joindre2(g, s.egal), d);
+        }
+    }
+
+    /**
+     * Découpe le sous-arbre t en trois morceaux : les éléments inférieurs à k, égaux à k
+     * et supérieurs à k. Les nœuds quittés en remontant sont recollés par joindre, dont les
+     * coûts successifs se télescopent : O(log n) au total, plus les doublons de k.
+     *
+     * @param h hauteur noire de t
+     */
+    private Decoupe separer(Noeud<E> t, int h, E k) {
+        if (t == sentinelle) {
+            return new Decoupe(vide(), vide(), vide());
+        }
+        int hc = t.couleur() == couleur.N ? h - 1 : h;
+        int c = cmp.compare(k, t.cle);
+        if (c < 0) {
+            Morceau droit = morceau(t.droit, hc);
+            Decoupe s = separer(t.gauche, hc, k);
+            s.sup = joindre(s.sup, t, droit);
+            return s;
+        }
+        if (c > 0) {
+            Morceau gauche = morceau(t.gauche, hc);
+            Decoupe s = separer(t.droit, hc, k);
+            s.inf = joindre(gauche, t, s.inf);
+            return s;
+        }
+        // Les doublons de k peuvent se trouver des deux côtés
+        Noeud<E> droit = t.droit;
+        Decoupe s = separer(t.gauche, hc, k);
+        Decoupe sd = separer(droit, hc, k);
+        s.egal = joindre(s.egal, t, sd.egal);
+        s.sup = sd.sup;
+        return s;
+    }
+
+    // Cas de base de combiner : parcours simultané des deux sous-arbres en ordre, puis
+    // reconstruction équilibrée (comme construireEnBloc) avec les nœuds retenus
+    @SuppressWarnings("unchecked")
+    private Morceau fusionner(int operation, Morceau a, ARN<E> autre, Noeud<E> b) {
+        Object[] gauche = new Object[a.racine.nb()];
+        Object[] droite = new Object[b.nb()];
+        enOrdre(a.racine, sentinelle, gauche, 0);
+        enOrdre(b, autre.sentinelle, droite, 0);
+        Object[] retenus = new Object[gauche.length + droite.length];
+        int n = 0, j = 0;
+        for (Object o : gauche) {
+            Noeud<E> x = (Noeud<E>) o;
+            while (j < droite.length && cmp.compare(((Noeud<E>) droite[j]).cle, x.cle) < 0) {
+                if (operation == UNION) retenus[n++] = new Noeud<>(((Noeud<E>) droite[j]).cle, sentinelle);
+                j++;
+            }
+            boolean dansB = j < droite.length && cmp.compare(((Noeud<E>) droite[j]).cle, x.cle) == 0;
+            if (operation == UNION || dansB == (operation == INTERSECTION)) retenus[n++] = x;
+        }
+        if (operation == UNION) {
+            for (; j < droite.length; j++) retenus[n++] = new Noeud<>(((Noeud<E>) droite[j]).cle, sentinelle);
+        }
+        Noeud<E> r = reconstruire(retenus, 0, n - 1, 0, niveauRouge(n));
+        return morceau(r, hauteurNoire(r, sentinelle));
+    }
+
+    // Range dans t, à partir de i, les nœuds du sous-arbre x dans l'ordre ; renvoie l'indice suivant
+    private int enOrdre(Noeud<E> x, Noeud<E> fin, Object[] t, int i) {
+        while (x != fin) {
+            i = enOrdre(x.gauche, fin, t, i);
+            t[i++] = x;
+            x = x.droit;
+        }
+        return i;
+    }
+
+    // Même construction que construireEnBloc, en réutilisant les nœuds t[lo..hi]
+    private Noeud<E> reconstruire(Object[] t, int lo, int hi, int profondeur, int niveauRouge) {
+        if (lo > hi) return sentinelle;
+        int milieu = (lo + hi) >>> 1;
+        @SuppressWarnings("unchecked")
+        Noeud<E> x = (Noeud<E>) t[milieu];
+        lier(x, reconstruire(t, lo, milieu - 1, profondeur + 1, niveauRouge),
+                reconstruire(t, milieu + 1, hi, profondeur + 1, niveauRouge));
+        x.colorer(profondeur == niveauRouge ? couleur.R : couleur.N);
+        return x;
+    }
+
+    // Recolle g, k et d, où toutes les clés de g précèdent k et toutes celles de d le suivent
+    private Morceau joindre(Morceau g, Noeud<E> k, Morceau d) {
+        if (g.hn > d.hn) {
+            return morceau(joindreDroite(g.racine, g.hn, k, d), g.hn);
+        }
+        if (d.hn > g.hn) {
+            return morceau(joindreGauche(g, k, d.racine, d.hn), d.hn);
+        }
+        k.colorer(couleur.R);
+        lier(k, g.racine, d.racine);
+        return morceau(k, g.hn);
+    }
+
+    // Descend la branche droite de t jusqu'au nœud noir de même hauteur noire que d, le
+    // remplace par k (rouge) ayant ces deux sous-arbres pour fils, puis corrige en remontant
+    // un éventuel double rouge par une rotation, comme après une insertion
+    private Noeud<E> joindreDroite(Noeud<E> t, int h, Noeud<E> k, Morceau d) {
+        if (t.couleur() == couleur.N && h == d.hn) {
+            k.colorer(couleur.R);
+            lier(k, t, d.racine);
+            return k;
+        }
+        Noeud<E> r = joindreDroite(t.droit, t.couleur() == couleur.N ? h - 1 : h, k, d);
+        lier(t, t.gauche, r);
+        if (t.couleur() == couleur.N && r.couleur() == couleur.R && r.droit.couleur() == couleur.R) {
+            r.droit.colorer(couleur.N);
+            return tournerGauche(t);
+        }
+        return t;
+    }
+
+    // Symétrique de joindreDroite sur la branche gauche de t
+    private Noeud<E> joindreGauche(Morceau g, Noeud<E> k, Noeud<E> t, int h) {
+        if (t.couleur() == couleur.N && h == g.hn) {
+            k.colorer(couleur.R);
+            lier(k, g.racine, t);
+            return k;
+        }
+        Noeud<E> r = joindreGauche(g, k, t.gauche, t.couleur() == couleur.N ? h - 1 : h);
+        lier(t, r, t.droit);
+        if (t.couleur() == couleur.N && r.couleur() == couleur.R && r.gauche.couleur() == couleur.R) {
+            r.gauche.colorer(couleur.N);
+            return tournerDroite(t);
+        }
+        return t;
+    }
+
+    // Recolle g et d sans nœud séparateur : le maximum de g en tient lieu
+    private Morceau joindre2(Morceau g, Morceau d) {
+        if (g.racine == sentinelle) return d;
+        if (d.racine == sentinelle) return g;
+        Noeud<E> dernier = g.racine.maximum(sentinelle);
+        Morceau reste = retirerDernier(g.racine, g.hn);
+        return joindre(reste, dernier, d);
+    }
+
+    // Détache le nœud maximal de t et renvoie le reste
+    private Morceau retirerDernier(Noeud<E> t, int h) {
+        int hc = t.couleur() == couleur.N ? h - 1 : h;
+        if (t.droit == sentinelle) {
+            return morceau(t.gauche, hc);
+        }
+        Morceau gauche = morceau(t.gauche, hc);
+        Morceau reste = retirerDernier(t.droit, hc);
+        return joindre(gauche, t, reste);
+    }
+
+    // Noircit la racine de t (ce qui augmente sa hauteur noire d'un cran). Le champ pere de
+    // la racine d'un morceau n'est pas tenu à jour : il le sera par lier ou par appliquer
+    private Morceau morceau(Noeud<E> t, int h) {
+        if (t == sentinelle) return vide();
+        if (t.couleur() == couleur.R) {
+            t.colorer(couleur.N);
+            h++;
+        }
+        return new Morceau(t, h);
+    }
+
+    private Morceau vide() {
+        return new Morceau(sentinelle, 0);
+    }
+
+    // Donne à p les fils g et d et met à jour sa taille, sans jamais écrire dans la sentinelle
+    private void lier(Noeud<E> p, Noeud<E> g, Noeud<E> d) {
+        p.gauche = g;
+        p.droit = d;
+        if (g != sentinelle) g.pere = p;
+        if (d != sentinelle) d.pere = p;
+        p.nb(g.nb() + d.nb() + 1);
+    }
+
+    // Rotations sur un sous-arbre détaché : le père du nœud renvoyé est fixé par l'appelant
+    private Noeud<E> tournerGauche(Noeud<E> t) {
+        Noeud<E> r = t.droit;
+        lier(t, t.gauche, r.gauche);
+        lier(r, t, r.droit);
+        return r;
+    }
+
+    private Noeud<E> tournerDroite(Noeud<E> t) {
+        Noeud<E> r = t.gauche;
+        lier(t, r.droit, t.droit);
+        lier(r, r.gauche, t);
+        return r;
+    }
+
+    // Copie (mêmes couleurs) du sous-arbre b d'un autre ARN, dont la sentinelle est fin
+    private Noeud<E> copier(Noeud<E> b, Noeud<E> fin) {
+        if (b == fin) return sentinelle;
+        Noeud<E> x = new Noeud<>(b.cle, sentinelle);
+        x.colorer(b.couleur());
+        lier(x, copier(b.gauche, fin), copier(b.droit, fin));
+        return x;
+    }
+
+    // Hauteur noire de t, mesurée le long de sa branche gauche
+    private int hauteurNoire(Noeud<E> t, Noeud<E> fin) {
+        int h = 0;
+        for (; t != fin; t = t.gauche) {
+            if (t.couleur() == couleur.N) h++;
+        }
+        return h;
+    }
+
+    // Lectures bornées, utilisées par ARNConcurrent pour ses lectures optimistes (sans verrou).
+    // Un tel lecteur peut observer l'arbre au milieu d'une rotation, y compris un cycle
+    // transitoire de liens : ces variantes abandonnent après PAS_MAX descentes et renvoient
+    // ABANDON, le résultat n'étant de toute façon utilisé qu'après validation du verrou.
+
+    // Au-delà de la hauteur maximale d'un ARN de moins de 2^31 nœuds (2·log2(n+1) ≤ 62)
+    static final int PAS_MAX = 64;
+    static final Object ABANDON = new Object();
+
+    // Équivalent borné de contains : Boolean ou ABANDON
+    @SuppressWarnings("unchecked")
+    Object containsBorne(Object o) {
+        Noeud<E> x = racine;
+        for (int pas = 0; pas < PAS_MAX; pas++) {
+            if (x == sentinelle) return Boolean.FALSE;
+            int c = cmp.compare((E) o, x.cle);
+            if (c == 0) return Boolean.TRUE;
+            x = c < 0 ? x.gauche : x.droit;
+        }
+        return ABANDON;
+    }
+
+    // Équivalent borné de ceiling/higher (auDessus) ou floor/lower : clé, null ou ABANDON
+    Object voisinBorne(E e, boolean auDessus, boolean inclusif) {
+        Noeud<E> x = racine;
+        Noeud<E> res = sentinelle;
+        for (int pas = 0; pas < PAS_MAX; pas++) {
+            if (x == sentinelle) return res == sentinelle ? null : res.cle;
+            int c = cmp.compare(e, x.cle);
+            if (auDessus ? (c < 0 || (c == 0 && inclusif)) : (c > 0 || (c == 0 && inclusif))) {
+                res = x;
+                x = auDessus ? x.gauche : x.droit;
+            } else {
+                x = auDessus ? x.droit : x.gauche;
+            }
+        }
+        return ABANDON;
+    }
+
+    // Équivalent borné de first (max faux) ou last : clé, null si vide, ou ABANDON
+    Object extremeBorne(boolean max) {
+        Noeud<E> x = racine;
+        if (x == sentinelle) return null;
+        for (int pas = 0; pas < PAS_MAX; pas++) {
+            Noeud<E> fils = max ? x.droit : x.gauche;
+            if (fils == sentinelle) return x.cle;
+            x = fils;
+        }
+        return ABANDON;
+    }
+
+    // Équivalent borné de get(index) : clé ou ABANDON (y compris pour un index hors bornes,
+    // l'exception étant alors levée par la relecture sous verrou)
+    Object getBorne(int index) {
+        if (index < 0 || index >= taille) return ABANDON;
+        Noeud<E> x = racine;
+        for (int pas = 0; pas < PAS_MAX; pas++) {
+            if (x == sentinelle) return ABANDON;
+            int g = x.gauche.nb();
+            if (index < g) {
+                x = x.gauche;
+            } else if (index == g) {
+                return x.cle;
+            } else {
+                index -= g + 1;
+                x = x.droit;
+            }
+        }
+        return ABANDON;
+    }
+
+    // Supprime un nœud de l'arbre rouge-noir selon l'algorithme du prof.
+    private void supprimer(Noeud<E> z) {
+        Noeud<E> y, x;
+
+        // Déterminer le nœud à détacher
+        if (z.gauche == sentinelle || z.droit == sentinelle)
+            y = z;
+        else
+            y = z.suivant(sentinelle); // successeur de z
+
+        // Déterminer le fils unique de y (ou sentinelle)
+        if (y.gauche != sentinelle)
+            x = y.gauche;
+        else
+            x = y.droit;
+
+        // y quitte l'arbre : ses ancêtres perdent un descendant
+        for (Noeud<E> p = y.pere; p != sentinelle; p = p.pere) {
+            p.etat--;
+        }
 
         // INCONDITIONNELLE : même si x == sentinelle
         x.pere = y.pere;
@@ -379,86 +1927,88 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
         if (y != z)
             z.cle = y.cle;
 
-        if (y.couleur == couleur.N)
+        if (y.couleur() == couleur.N)
             supprimerCorrection(x);
+        liberer(y);
     }
 
 
     // Corrige les violations des propriétés rouge-noir après la suppression d’un nœud noir
-    private void supprimerCorrection(Noeud x) {
-        Noeud w;
+    private void supprimerCorrection(Noeud<E> x) {
+        Noeud<E> w;
 
-        while (x != racine && x.couleur == couleur.N) {
+        while (x != racine && x.couleur() == couleur.N) {
+            if (compteurs != null) compteurs.iterationsCorrection++;
             if (x == x.pere.gauche) {
                 w = x.pere.droit;
 
-                if (w.couleur == couleur.R) {
+                if (w.couleur() == couleur.R) {
                     // Cas 1
-                    w.couleur = couleur.N;
-                    x.pere.couleur = couleur.R;
+                    recolorer(w, couleur.N);
+                    recolorer(x.pere, couleur.R);
                     rotationGauche(x.pere);
                     w = x.pere.droit;
                 }
 
-                if (w.gauche.couleur == couleur.N && w.droit.couleur == couleur.N) {
+                if (w.gauche.couleur() == couleur.N && w.droit.couleur() == couleur.N) {
                     // Cas 2
-                    w.couleur = couleur.R;
+                    recolorer(w, couleur.R);
                     x = x.pere;
                 } else {
-                    if (w.droit.couleur == couleur.N) {
+                    if (w.droit.couleur() == couleur.N) {
                         // Cas 3
-                        w.gauche.couleur = couleur.N;
-                        w.couleur = couleur.R;
+                        recolorer(w.gauche, couleur.N);
+                        recolorer(w, couleur.R);
                         rotationDroite(w);
                         w = x.pere.droit;
                     }
                     // Cas 4
-                    w.couleur = x.pere.couleur;
-                    x.pere.couleur = couleur.N;
-                    w.droit.couleur = couleur.N;
+                    recolorer(w, x.pere.couleur());
+                    recolorer(x.pere, couleur.N);
+                    recolorer(w.droit, couleur.N);
                     rotationGauche(x.pere);
                     x = racine;
                 }
             } else {
                 w = x.pere.gauche;
 
-                if (w.couleur == couleur.R) {
+                if (w.couleur() == couleur.R) {
                     // Cas 1'
-                    w.couleur = couleur.N;
-                    x.pere.couleur = couleur.R;
+                    recolorer(w, couleur.N);
+                    recolorer(x.pere, couleur.R);
                     rotationDroite(x.pere);
                     w = x.pere.gauche;
                 }
 
-                if (w.droit.couleur == couleur.N && w.gauche.couleur == couleur.N) {
+                if (w.droit.couleur() == couleur.N && w.gauche.couleur() == couleur.N) {
                     // Cas 2'
-                    w.couleur = couleur.R;
+                    recolorer(w, couleur.R);
                     x = x.pere;
                 } else {
-                    if (w.gauche.couleur == couleur.N) {
+                    if (w.gauche.couleur() == couleur.N) {
                         // Cas 3'
-                        w.droit.couleur = couleur.N;
-                        w.couleur = couleur.R;
+                        recolorer(w.droit, couleur.N);
+                        recolorer(w, couleur.R);
                         rotationGauche(w);
                         w = x.pere.gauche;
                     }
                     // Cas 4'
-                    w.couleur = x.pere.couleur;
-                    x.pere.couleur = couleur.N;
-                    w.gauche.couleur = couleur.N;
+                    recolorer(w, x.pere.couleur());
+                    recolorer(x.pere, couleur.N);
+                    recolorer(w.gauche, couleur.N);
                     rotationDroite(x.pere);
                     x = racine;
                 }
             }
         }
 
-        x.couleur = couleur.N;
+        recolorer(x, couleur.N);
     }
 
 
 
     // Calcule la longueur maximale des représentations textuelles des clés
-    private int maxLongChaine(Noeud x) {
+    private int maxLongChaine(Noeud<E> x) {
         if (x == sentinelle) {
             return 0; // Pas de clé pour un nœud sentinelle
         }
@@ -477,7 +2027,7 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
 
 
     // Construit récursivement une vue textuelle de l’arbre, en indiquant limites, chemins et couleurs. Le parcours est effectué en infixe
-    private void toString(Noeud x, StringBuffer buf, String path, int len) {
+    private void toString(Noeud<E> x, StringBuffer buf, String path, int len) {
         if (x == sentinelle) {
             return; // Arrête le parcours si on atteint un nœud sentinelle
         }
@@ -500,7 +2050,7 @@ public class ARN<E extends Comparable<? super E>> extends AbstractCollection<E>
         }
 
         // Ajoute la clé et la couleur du nœud actuel
-        buf.append("--- " + x.cle.toString() + ":" + x.couleur);
+        buf.append("--- " + x.cle.toString() + ":" + x.couleur());
 
         // Ajoute des traits pour indiquer que le nœud a des enfants
         if (x.gauche != sentinelle || x.droit != sentinelle) {
@@ -0,0 +1,286 @@
+package ProjetAlgo;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ ARN partagé entre threads, protégé par un StampedLock.
+ Les lectures (contains, size, first, floor, get, ...) sont d'abord tentées sans verrou
+ en mode optimiste : le résultat n'est retenu que si aucune écriture n'a eu lieu pendant
+ la lecture, sinon elle est recommencée, puis rejouée sous verrou de lecture après
+ ESSAIS_OPTIMISTES échecs. Les lectures optimistes passent par les variantes bornées
+ d'ARN, qui ne bouclent pas sur un état transitoire observé pendant une rotation.
+ Les écritures (add, remove, clear, ...) prennent le verrou exclusif.
+ L'itérateur parcourt une copie prise sous verrou de lecture : il ne lève jamais
+ ConcurrentModificationException et son remove() supprime l'élément de l'arbre.
+
+ @param <E> type des éléments stockés dans l’arbre
+ */
+public class ARNConcurrent<E extends Comparable<? super E>> extends AbstractCollection<E> {
+    // Tentatives sans verrou avant de prendre le verrou de lecture
+    private static final int ESSAIS_OPTIMISTES = 3;
+
+    private final ARN<E> arn;
+    private final StampedLock verrou = new StampedLock();
+
+    // Crée un ARNConcurrent vide, ordre naturel
+    public ARNConcurrent() {
+        arn = new ARN<>();
+    }
+
+    // Crée un ARNConcurrent vide ordonné par un comparateur
+    public ARNConcurrent(Comparator<? super E> cmp) {
+        arn = new ARN<E>(cmp);
+    }
+
+    // Crée un ARNConcurrent contenant les éléments de c (construction en bloc)
+    public ARNConcurrent(Collection<? extends E> c) {
+        arn = new ARN<E>(c);
+    }
+
+    /**
+     * Exécute une lecture bornée en mode optimiste, puis sous verrou de lecture si elle
+     * a été abandonnée ou invalidée par une écriture ESSAIS_OPTIMISTES fois.
+     * Une exception pendant une lecture optimiste (arbre observé incohérent) compte
+     * comme un abandon ; sous verrou, elle est propagée normalement.
+     *
+     * @param optimiste lecture bornée renvoyant le résultat ou ARN.ABANDON
+     * @param verrouillee même lecture, exécutée sous verrou
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T lire(Function<ARN<E>, Object> optimiste, Function<ARN<E>, T> verrouillee) {
+        for (int essai = 0; essai < ESSAIS_OPTIMISTES; essai++) {
+            long stamp = verrou.tryOptimisticRead();
+            if (stamp == 0) break; // écriture en cours
+            Object r;
+            try {
+                r = optimiste.apply(arn);
+            } catch (RuntimeException e) {
+                r = ARN.ABANDON;
+            }
+            if (r != ARN.ABANDON && verrou.validate(stamp)) {
+                return (T) r;
+            }
+        }
+        long stamp = verrou.readLock();
+        try {
+            return verrouillee.apply(arn);
+        } finally {
+            verrou.unlockRead(stamp);
+        }
+    }
+
+    // Exécute une écriture sous verrou exclusif
+    private <T> T ecrire(Supplier<T> operation) {
+        long stamp = verrou.writeLock();
+        try {
+            return operation.get();
+        } finally {
+            verrou.unlockWrite(stamp);
+        }
+    }
+
+    // Chemin le plus fréquent : écrit sans lambda pour ne rien allouer
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        for (int essai = 0; essai < ESSAIS_OPTIMISTES; essai++) {
+            long stamp = verrou.tryOptimisticRead();
+            if (stamp == 0) break;
+            Object r;
+            try {
+                r = arn.containsBorne(o);
+            } catch (RuntimeException e) {
+                r = ARN.ABANDON;
+            }
+            if (r != ARN.ABANDON && verrou.validate(stamp)) {
+                return (Boolean) r;
+            }
+        }
+        long stamp = verrou.readLock();
+        try {
+            return arn.contains(o);
+        } finally {
+            verrou.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = verrou.tryOptimisticRead();
+        int n = arn.size();
+        if (verrou.validate(stamp)) return n;
+        stamp = verrou.readLock();
+        try {
+            return arn.size();
+        } finally {
+            verrou.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public E first() {
+        E e = lire(a -> a.extremeBorne(false), a -> a.isEmpty() ? null : a.first());
+        if (e == null) throw new NoSuchElementException();
+        return e;
+    }
+
+    public E last() {
+        E e = lire(a -> a.extremeBorne(true), a -> a.isEmpty() ? null : a.last());
+        if (e == null) throw new NoSuchElementException();
+        return e;
+    }
+
+    public E floor(E e) {
+        if (e == null) throw new NullPointerException();
+        return lire(a -> a.voisinBorne(e, false, true), a -> a.floor(e));
+    }
+
+    public E lower(E e) {
+        if (e == null) throw new NullPointerException();
+        return lire(a -> a.voisinBorne(e, false, false), a -> a.lower(e));
+    }
+
+    public E ceiling(E e) {
+        if (e == null) throw new NullPointerException();
+        return lire(a -> a.voisinBorne(e, true, true), a -> a.ceiling(e));
+    }
+
+    public E higher(E e) {
+        if (e == null) throw new NullPointerException();
+        return lire(a -> a.voisinBorne(e, true, false), a -> a.higher(e));
+    }
+
+    // Élément de position index (voir ARN.get)
+    public E get(int index) {
+        return lire(a -> a.getBorne(index), a -> a.get(index));
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null) throw new NullPointerException();
+        return ecrire(() -> arn.add(e));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) return false;
+        return ecrire(() -> arn.remove(o));
+    }
+
+    public E pollFirst() {
+        return ecrire(arn::pollFirst);
+    }
+
+    public E pollLast() {
+        return ecrire(arn::pollLast);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> c) {
+        if (c == this) throw new IllegalArgumentException();
+        Object[] elements = c.toArray(); // lu hors verrou : c peut être une autre collection partagée
+        return ecrire(() -> {
+            boolean modifie = false;
+            for (Object e : elements) modifie |= arn.add((E) e);
+            return modifie;
+        });
+    }
+
+    // Comme addAll, c est copiée hors verrou : c == this, ou une collection qui relit cet
+    // arbre, reprendrait le verrou (non réentrant) et bloquerait l'écrivain sur lui-même
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == this) {
+            return ecrire(() -> {
+                boolean modifie = !arn.isEmpty();
+                arn.clear();
+                return modifie;
+            });
+        }
+        List<Object> elements = Arrays.asList(c.toArray());
+        return ecrire(() -> arn.removeAll(elements));
+    }
+
+    // Un ARN simple ne touche pas à ce verrou : il est gardé pour l'intersection par jointure
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == this) return false;
+        Collection<?> copie = c instanceof ARN ? c : new HashSet<>(c);
+        return ecrire(() -> arn.retainAll(copie));
+    }
+
+    @Override
+    public void clear() {
+        ecrire(() -> {
+            arn.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public Object[] toArray() {
+        long stamp = verrou.readLock();
+        try {
+            return arn.toArray();
+        } finally {
+            verrou.unlockRead(stamp);
+        }
+    }
+
+    // Parcourt une copie triée prise sous verrou de lecture
+    @Override
+    public Iterator<E> iterator() {
+        Object[] copie = toArray();
+        return new Iterator<E>() {
+            private int i = 0;
+            private int dernier = -1;
+
+            @Override
+            public boolean hasNext() {
+                return i < copie.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                dernier = i;
+                return (E) copie[i++];
+            }
+
+            @Override
+            public void remove() {
+                if (dernier < 0) throw new IllegalStateException();
+                ARNConcurrent.this.remove(copie[dernier]);
+                dernier = -1;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        long stamp = verrou.readLock();
+        try {
+            return arn.toString();
+        } finally {
+            verrou.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,630 @@
+package ProjetAlgo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ ARN à clés long dont les nœuds sont rangés hors du tas, dans un fichier projeté en
+ mémoire (MappedByteBuffer) : le GC ne voit ni ne parcourt les nœuds, et l'ensemble peut
+ dépasser la taille du tas, le système gardant en mémoire les pages utiles.
+ Comme dans IntARN, un nœud est un indice (slot) et non un objet : chaque slot est un
+ enregistrement de TAILLE_NOEUD octets (clé, fils gauche, fils droit, père, couleur), le
+ slot 0 joue le rôle de la sentinelle et les slots libérés sont chaînés dans une liste
+ libre. Les algorithmes et la sémantique sont ceux de IntARN (doublons autorisés).
+ Le fichier commence par un en-tête (racine, taille, prochain slot, liste libre), mis à
+ jour après chaque modification : rouvrir le fichier, par exemple après un redémarrage,
+ retrouve l'arbre. Les nœuds sont modifiés en place, dans les pages partagées avec le
+ système : un processus tué pendant une insertion ou une suppression (rotation ou
+ correction en cours) laisse des nœuds à moitié mis à jour et un en-tête périmé. L'en-tête
+ porte donc un drapeau levé pendant toute modification et baissé une fois l'en-tête à jour ;
+ un fichier dont le drapeau est levé est refusé à l'ouverture, l'arbre est à reconstruire.
+ Ce drapeau ne protège pas d'un arrêt du système lui-même, qui peut écrire les pages sur le
+ disque dans n'importe quel ordre : seul l'état au dernier forcer() (appelé par close()),
+ sans modification ensuite, est alors sûr.
+ Les enregistrements sont répartis en segments de 2^bitsSegment slots, chacun projeté
+ séparément (une projection est limitée à 2 Go) ; un segment est ajouté quand l'arbre
+ est plein, ce qui agrandit le fichier.
+ */
+public class ARNFichier extends AbstractCollection<Long> implements Closeable {
+    private static final int NIL = 0; // slot de la sentinelle
+    private static final int MAGIE = 0x41524E46; // "ARNF"
+    private static final int VERSION = 1;
+    private static final int ENTETE = 64;
+    // Un slot : cle (long), gauche, droit, pere, couleur (int)
+    static final int TAILLE_NOEUD = 24;
+    private static final int CLE = 0, GAUCHE = 8, DROIT = 12, PERE = 16, COULEUR = 20;
+    // Segments de 2^20 slots (24 Mo) par défaut
+    private static final int BITS_SEGMENT = 20;
+
+    // Position des champs dans l'en-tête
+    private static final int E_MAGIE = 0, E_VERSION = 4, E_BITS = 8, E_RACINE = 12, E_TAILLE = 16,
+            E_PROCHAIN = 20, E_LIBRES = 24, E_EN_COURS = 28;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer entete;
+    private final int bitsSegment;
+    private final int masque;
+    private MappedByteBuffer[] segments;
+    private int nbSegments;
+
+    private int racine;
+    private int taille;
+    private int prochainSlot; // premier slot jamais utilisé
+    private int libres;       // tête de la liste des slots libérés (chaînée par gauche)
+
+    /**
+     * Ouvre l'arbre stocké dans fichier, ou crée un arbre vide si le fichier n'existe pas
+     * ou est vide.
+     *
+     * @throws IOException si le fichier existe mais n'est pas un ARNFichier, ou si une
+     *                     modification y a été interrompue
+     */
+    public ARNFichier(Path fichier) throws IOException {
+        this(fichier, BITS_SEGMENT);
+    }
+
+    // Taille de segment réglable pour les tests ; ignorée si le fichier existe déjà
+    ARNFichier(Path fichier, int bitsSegment) throws IOException {
+        canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean nouveau = canal.size() == 0;
+            // La projection agrandirait un fichier trop court : il est refusé avant
+            if (!nouveau && canal.size() < ENTETE) throw new IOException("Pas un ARNFichier : " + fichier);
+            entete = canal.map(FileChannel.MapMode.READ_WRITE, 0, ENTETE);
+            if (nouveau) {
+                entete.putInt(E_MAGIE, MAGIE).putInt(E_VERSION, VERSION).putInt(E_BITS, bitsSegment);
+                racine = NIL;
+                taille = 0;
+                prochainSlot = 1;
+                libres = NIL;
+            } else {
+                if (entete.getInt(E_MAGIE) != MAGIE || entete.getInt(E_VERSION) != VERSION) {
+                    throw new IOException("Pas un ARNFichier (version " + VERSION + ") : " + fichier);
+                }
+                if (entete.getInt(E_EN_COURS) != 0) {
+                    throw new IOException("Modification interrompue, arbre incohérent : " + fichier);
+                }
+                bitsSegment = entete.getInt(E_BITS);
+                racine = entete.getInt(E_RACINE);
+                taille = entete.getInt(E_TAILLE);
+                prochainSlot = entete.getInt(E_PROCHAIN);
+                libres = entete.getInt(E_LIBRES);
+            }
+            if (bitsSegment < 1 || bitsSegment > 26) throw new IOException("Taille de segment invalide : " + bitsSegment);
+            this.bitsSegment = bitsSegment;
+            masque = (1 << bitsSegment) - 1;
+            if (!nouveau) verifierEntete(fichier);
+            segments = new MappedByteBuffer[4];
+            while ((long) nbSegments << bitsSegment < prochainSlot) ajouterSegment();
+            if (nouveau) {
+                ajouterSegment();
+                colorer(NIL, false);
+                ecrireEntete();
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /*
+     * Refuse un en-tête incompatible avec le fichier : une projection au-delà de la fin
+     * agrandirait le fichier (rempli de zéros) au lieu de signaler qu'il est tronqué, et
+     * un slot hors des segments ferait lire n'importe quoi.
+     */
+    private void verifierEntete(Path fichier) throws IOException {
+        if (prochainSlot < 1 || taille < 0 || taille >= prochainSlot) {
+            throw new IOException("En-tête invalide (taille " + taille + ", slots " + prochainSlot + ") : " + fichier);
+        }
+        if (racine < 0 || racine >= prochainSlot || libres < 0 || libres >= prochainSlot
+                || (racine == NIL) != (taille == 0)) {
+            throw new IOException("En-tête invalide (racine " + racine + ", libres " + libres + ") : " + fichier);
+        }
+        // Les segments contenant les slots utilisés ont été projetés en entier à l'écriture
+        long segmentsUtiles = ((long) prochainSlot + masque) >>> bitsSegment;
+        long attendu = ENTETE + (segmentsUtiles << bitsSegment) * TAILLE_NOEUD;
+        if (canal.size() < attendu) {
+            throw new IOException("Fichier tronqué (" + canal.size() + " octets, " + attendu + " attendus) : " + fichier);
+        }
+    }
+
+    // Projette le segment suivant, en agrandissant le fichier au besoin
+    private void ajouterSegment() throws IOException {
+        if ((long) (nbSegments + 1) << bitsSegment > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Nombre maximal de nœuds atteint");
+        }
+        if (nbSegments == segments.length) segments = Arrays.copyOf(segments, 2 * nbSegments);
+        long debut = ENTETE + ((long) nbSegments << bitsSegment) * TAILLE_NOEUD;
+        segments[nbSegments++] = canal.map(FileChannel.MapMode.READ_WRITE, debut,
+                (long) TAILLE_NOEUD << bitsSegment);
+    }
+
+    // Lève le drapeau de modification, avant toute écriture dans les nœuds
+    void debuterModification() {
+        entete.putInt(E_EN_COURS, 1);
+        VarHandle.releaseFence(); // ni le JIT ni le processeur ne remontent les écritures suivantes
+    }
+
+    // Met l'en-tête à jour puis baisse le drapeau de modification
+    private void ecrireEntete() {
+        entete.putInt(E_RACINE, racine).putInt(E_TAILLE, taille)
+                .putInt(E_PROCHAIN, prochainSlot).putInt(E_LIBRES, libres);
+        VarHandle.releaseFence(); // nœuds et en-tête écrits avant de baisser le drapeau
+        entete.putInt(E_EN_COURS, 0);
+    }
+
+    // ---- accès aux champs d'un slot ----
+
+    private MappedByteBuffer segment(int x) {
+        return segments[x >>> bitsSegment];
+    }
+
+    private int position(int x) {
+        return (x & masque) * TAILLE_NOEUD;
+    }
+
+    private long cle(int x) {
+        return segment(x).getLong(position(x) + CLE);
+    }
+
+    private int gauche(int x) {
+        return segment(x).getInt(position(x) + GAUCHE);
+    }
+
+    private int droit(int x) {
+        return segment(x).getInt(position(x) + DROIT);
+    }
+
+    private int pere(int x) {
+        return segment(x).getInt(position(x) + PERE);
+    }
+
+    private boolean estRouge(int x) {
+        return segment(x).getInt(position(x) + COULEUR) != 0;
+    }
+
+    private void cle(int x, long k) {
+        segment(x).putLong(position(x) + CLE, k);
+    }
+
+    private void gauche(int x, int y) {
+        segment(x).putInt(position(x) + GAUCHE, y);
+    }
+
+    private void droit(int x, int y) {
+        segment(x).putInt(position(x) + DROIT, y);
+    }
+
+    private void pere(int x, int y) {
+        segment(x).putInt(position(x) + PERE, y);
+    }
+
+    private void colorer(int x, boolean r) {
+        segment(x).putInt(position(x) + COULEUR, r ? 1 : 0);
+    }
+
+    // ---- interface publique ----
+
+    // Renvoie le nombre d'éléments stockés dans l'arbre
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    // Vide l'arbre ; le fichier garde sa taille et ses slots sont réutilisés
+    @Override
+    public void clear() {
+        debuterModification();
+        racine = NIL;
+        taille = 0;
+        prochainSlot = 1;
+        libres = NIL;
+        ecrireEntete();
+    }
+
+    // Nombre d'octets du fichier (en-tête et segments projetés)
+    public long empreinteOctets() {
+        return ENTETE + ((long) nbSegments << bitsSegment) * TAILLE_NOEUD;
+    }
+
+    // Écrit sur le disque les pages modifiées
+    public void forcer() {
+        entete.force();
+        for (int i = 0; i < nbSegments; i++) segments[i].force();
+    }
+
+    /**
+     * Écrit les pages modifiées et ferme le fichier. Les projections restent valides
+     * jusqu'à ce que le GC les libère (Java ne permet pas de les défaire explicitement) :
+     * l'arbre ne doit plus être utilisé.
+     */
+    @Override
+    public void close() throws IOException {
+        forcer();
+        segments = null;
+        canal.close();
+    }
+
+    // Réserve un slot pour un nouveau nœud, en réutilisant d'abord les slots libérés
+    private int allouer(long k) {
+        int z;
+        if (libres != NIL) {
+            z = libres;
+            libres = gauche(z);
+        } else {
+            if ((long) prochainSlot == (long) nbSegments << bitsSegment) {
+                try {
+                    ajouterSegment();
+                } catch (IOException e) {
+                    ecrireEntete(); // rien n'a encore été modifié
+                    throw new UncheckedIOException(e);
+                } catch (IllegalStateException e) {
+                    ecrireEntete();
+                    throw e;
+                }
+            }
+            z = prochainSlot++;
+        }
+        cle(z, k);
+        gauche(z, NIL);
+        droit(z, NIL);
+        pere(z, NIL);
+        return z;
+    }
+
+    // Rend un slot détaché à la liste libre
+    private void liberer(int z) {
+        colorer(z, false);
+        gauche(z, libres);
+        libres = z;
+    }
+
+    // Ajoute un élément dans l'arbre.
+    @Override
+    public boolean add(Long e) {
+        if (e == null) throw new NullPointerException();
+        return add(e.longValue());
+    }
+
+    // Ajoute une clé long sans boxing
+    public boolean add(long k) {
+        debuterModification();
+        int z = allouer(k);
+        ajouter(z);
+        taille++;
+        ecrireEntete();
+        return true;
+    }
+
+    //  Insère un nouveau nœud dans l’arbre en respectant la structure d’un ABR
+    private void ajouter(int z) {
+        long k = cle(z);
+        int y = NIL;
+        int x = racine;
+        while (x != NIL) {
+            y = x;
+            x = k < cle(x) ? gauche(x) : droit(x);
+        }
+        pere(z, y);
+        if (y == NIL) // arbre vide
+            racine = z;
+        else if (k < cle(y))
+            gauche(y, z);
+        else
+            droit(y, z);
+
+        colorer(z, true);
+        ajouterCorrection(z);
+    }
+
+    // Répare les éventuelles violations des propriétés rouge-noir après une insertion
+    private void ajouterCorrection(int z) {
+        int y;
+        while (estRouge(pere(z))) { // la sentinelle est noire
+            int p = pere(z);
+            int gp = pere(p);
+            if (p == gauche(gp)) {
+                y = droit(gp);
+                if (estRouge(y)) { // Cas 1
+                    colorer(p, false);
+                    colorer(y, false);
+                    colorer(gp, true);
+                    z = gp;
+                } else {
+                    if (z == droit(p)) { // Cas 2
+                        z = p;
+                        rotationGauche(z);
+                    }
+                    colorer(pere(z), false); // Cas 3
+                    colorer(pere(pere(z)), true);
+                    rotationDroite(pere(pere(z)));
+                }
+            } else {
+                y = gauche(gp);
+                if (estRouge(y)) { // Cas 1
+                    colorer(p, false);
+                    colorer(y, false);
+                    colorer(gp, true);
+                    z = gp;
+                } else {
+                    if (z == gauche(p)) { // Cas 2
+                        z = p;
+                        rotationDroite(z);
+                    }
+                    colorer(pere(z), false); // Cas 3
+                    colorer(pere(pere(z)), true);
+                    rotationGauche(pere(pere(z)));
+                }
+            }
+        }
+        colorer(racine, false);
+    }
+
+    // Rotation gauche autour de x (voir ARN.rotationGauche)
+    private void rotationGauche(int x) {
+        int y = droit(x);
+        droit(x, gauche(y));
+        if (gauche(y) != NIL)
+            pere(gauche(y), x);
+        pere(y, pere(x));
+        if (pere(x) == NIL)
+            racine = y;
+        else if (x == gauche(pere(x)))
+            gauche(pere(x), y);
+        else
+            droit(pere(x), y);
+        gauche(y, x);
+        pere(x, y);
+    }
+
+    // Rotation droite autour de y (voir ARN.rotationDroite)
+    private void rotationDroite(int y) {
+        int x = gauche(y);
+        gauche(y, droit(x));
+        if (droit(x) != NIL)
+            pere(droit(x), y);
+        pere(x, pere(y));
+        if (pere(y) == NIL)
+            racine = x;
+        else if (y == droit(pere(y)))
+            droit(pere(y), x);
+        else
+            gauche(pere(y), x);
+        droit(x, y);
+        pere(y, x);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    // Recherche d'une clé long sans boxing
+    public boolean contains(long k) {
+        return rechercher(k) != NIL;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Long && remove(((Long) o).longValue());
+    }
+
+    // Supprime une occurrence de la clé k
+    public boolean remove(long k) {
+        int z = rechercher(k);
+        if (z == NIL) return false;
+        debuterModification();
+        supprimer(z);
+        taille--;
+        ecrireEntete();
+        return true;
+    }
+
+    // Recherche itérative du slot contenant la clé k, NIL si absente
+    private int rechercher(long k) {
+        int x = racine;
+        while (x != NIL) {
+            long c = cle(x);
+            if (k == c) return x;
+            x = k < c ? gauche(x) : droit(x);
+        }
+        return NIL;
+    }
+
+    private int minimum(int x) {
+        for (int g; (g = gauche(x)) != NIL; ) x = g;
+        return x;
+    }
+
+    private int maximum(int x) {
+        for (int d; (d = droit(x)) != NIL; ) x = d;
+        return x;
+    }
+
+    // Successeur de x dans l'ordre des clés, NIL si x est le maximum
+    private int suivant(int x) {
+        if (droit(x) != NIL) return minimum(droit(x));
+        int p = pere(x);
+        while (p != NIL && x == droit(p)) {
+            x = p;
+            p = pere(p);
+        }
+        return p;
+    }
+
+    // Plus petite clé de l'arbre
+    public long premier() {
+        if (racine == NIL) throw new NoSuchElementException();
+        return cle(minimum(racine));
+    }
+
+    // Plus grande clé de l'arbre
+    public long dernier() {
+        if (racine == NIL) throw new NoSuchElementException();
+        return cle(maximum(racine));
+    }
+
+    // Nombre de nœuds du plus long chemin de la racine à une feuille
+    public int hauteur() {
+        return hauteur(racine);
+    }
+
+    private int hauteur(int x) {
+        return x == NIL ? 0 : 1 + Math.max(hauteur(gauche(x)), hauteur(droit(x)));
+    }
+
+    // Supprime le nœud z (même algorithme que ARN.supprimer) et libère le slot détaché
+    private void supprimer(int z) {
+        int y, x;
+        if (gauche(z) == NIL || droit(z) == NIL)
+            y = z;
+        else
+            y = suivant(z);
+
+        x = gauche(y) != NIL ? gauche(y) : droit(y);
+
+        // INCONDITIONNELLE : même si x == NIL
+        pere(x, pere(y));
+
+        if (pere(y) == NIL) {
+            racine = x;
+        } else if (y == gauche(pere(y))) {
+            gauche(pere(y), x);
+        } else {
+            droit(pere(y), x);
+        }
+
+        if (y != z)
+            cle(z, cle(y));
+
+        boolean yNoir = !estRouge(y);
+        liberer(y);
+        if (yNoir)
+            supprimerCorrection(x);
+    }
+
+    // Corrige les violations des propriétés rouge-noir après la suppression d’un nœud noir
+    private void supprimerCorrection(int x) {
+        int w;
+        while (x != racine && !estRouge(x)) {
+            int p = pere(x);
+            if (x == gauche(p)) {
+                w = droit(p);
+                if (estRouge(w)) { // Cas 1
+                    colorer(w, false);
+                    colorer(p, true);
+                    rotationGauche(p);
+                    w = droit(pere(x));
+                }
+                if (!estRouge(gauche(w)) && !estRouge(droit(w))) { // Cas 2
+                    colorer(w, true);
+                    x = pere(x);
+                } else {
+                    if (!estRouge(droit(w))) { // Cas 3
+                        colorer(gauche(w), false);
+                        colorer(w, true);
+                        rotationDroite(w);
+                        w = droit(pere(x));
+                    }
+                    // Cas 4
+                    colorer(w, estRouge(pere(x)));
+                    colorer(pere(x), false);
+                    colorer(droit(w), false);
+                    rotationGauche(pere(x));
+                    x = racine;
+                }
+            } else {
+                w = gauche(p);
+                if (estRouge(w)) { // Cas 1'
+                    colorer(w, false);
+                    colorer(p, true);
+                    rotationDroite(p);
+                    w = gauche(pere(x));
+                }
+                if (!estRouge(droit(w)) && !estRouge(gauche(w))) { // Cas 2'
+                    colorer(w, true);
+                    x = pere(x);
+                } else {
+                    if (!estRouge(gauche(w))) { // Cas 3'
+                        colorer(droit(w), false);
+                        colorer(w, true);
+                        rotationGauche(w);
+                        w = gauche(pere(x));
+                    }
+                    // Cas 4'
+                    colorer(w, estRouge(pere(x)));
+                    colorer(pere(x), false);
+                    colorer(gauche(w), false);
+                    rotationDroite(pere(x));
+                    x = racine;
+                }
+            }
+        }
+        colorer(x, false);
+    }
+
+    // Renvoie un itérateur (sans boxing via nextLong) parcourant les clés dans l'ordre croissant
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new ARNFichierIterator();
+    }
+
+    private class ARNFichierIterator implements PrimitiveIterator.OfLong {
+        private int noeudSuivant; // Le prochain slot à retourner
+        private int courant;      // Le dernier slot retourné
+
+        ARNFichierIterator() {
+            noeudSuivant = racine != NIL ? minimum(racine) : NIL;
+            courant = NIL;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return noeudSuivant != NIL;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            courant = noeudSuivant;
+            noeudSuivant = suivant(noeudSuivant);
+            return cle(courant);
+        }
+
+        @Override
+        public void remove() {
+            if (courant == NIL) {
+                throw new IllegalStateException();
+            }
+            // Avec deux fils, la clé du successeur est recopiée dans courant
+            // et c'est le slot du successeur qui est libéré
+            boolean deuxFils = gauche(courant) != NIL && droit(courant) != NIL;
+            debuterModification();
+            supprimer(courant);
+            taille--;
+            ecrireEntete();
+            if (deuxFils) noeudSuivant = courant;
+            courant = NIL;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package ProjetAlgo;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ Arbre rouge-noir persistant : les nœuds sont immuables et chaque mise à jour recopie
+ uniquement le chemin de la racine au nœud modifié (O(log n) nouveaux nœuds), tout le
+ reste étant partagé avec la version précédente. Sans pointeur père, l'équilibrage suit
+ la variante « penchée à gauche » (LLRB, Sedgewick) : mêmes propriétés rouge-noir que
+ l'ARN, avec en plus aucun lien rouge à droite.
+
+ La collection elle-même est modifiable : add/remove remplacent atomiquement la racine
+ (champ volatile) et les écrivains sont sérialisés. snapshot() renvoie en O(1) une version
+ figée qui partage la racine courante ; les lecteurs, sur la collection comme sur une
+ version figée, ne prennent aucun verrou et ne voient jamais de mise à jour partielle.
+ Les itérateurs parcourent la version en cours au moment de leur création.
+ avec(e) et sans(o) renvoient une nouvelle version figée sans modifier celle-ci.
+ Comme ARN : ordre naturel ou comparateur, doublons autorisés, null refusé.
+
+ @param <E> type des éléments stockés dans l’arbre
+ */
+public class ARNPersistant<E extends Comparable<? super E>> extends AbstractCollection<E> {
+
+    // Nœud immuable ; null représente l'arbre vide
+    private static final class Noeud<E> {
+        final E cle;
+        final Noeud<E> gauche;
+        final Noeud<E> droit;
+        final boolean rouge;
+        final int nb; // taille du sous-arbre
+
+        Noeud(E cle, Noeud<E> gauche, Noeud<E> droit, boolean rouge) {
+            this.cle = cle;
+            this.gauche = gauche;
+            this.droit = droit;
+            this.rouge = rouge;
+            this.nb = taille(gauche) + taille(droit) + 1;
+        }
+    }
+
+    private volatile Noeud<E> racine;
+    private final Comparator<? super E> cmp;
+    private final boolean figee; // version en lecture seule (snapshot, avec, sans)
+
+    // Crée un arbre persistant vide, ordre naturel
+    public ARNPersistant() {
+        this(null, Comparator.naturalOrder(), false);
+    }
+
+    // Crée un arbre persistant vide ordonné par un comparateur
+    public ARNPersistant(Comparator<? super E> cmp) {
+        this(null, cmp, false);
+    }
+
+    // Crée un arbre persistant contenant les éléments de c, ordre naturel
+    public ARNPersistant(Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    private ARNPersistant(Noeud<E> racine, Comparator<? super E> cmp, boolean figee) {
+        this.racine = racine;
+        this.cmp = cmp;
+        this.figee = figee;
+    }
+
+    // Version figée partageant la racine courante, en O(1)
+    public ARNPersistant<E> snapshot() {
+        return figee ? this : new ARNPersistant<>(racine, cmp, true);
+    }
+
+    // Nouvelle version figée contenant en plus e ; cette version n'est pas modifiée
+    public ARNPersistant<E> avec(E e) {
+        if (e == null) throw new NullPointerException();
+        return new ARNPersistant<>(noircir(inserer(racine, e)), cmp, true);
+    }
+
+    // Nouvelle version figée privée d'une occurrence de o ; cette version n'est pas modifiée
+    public ARNPersistant<E> sans(Object o) {
+        Noeud<E> r = racine;
+        Noeud<E> nouvelle = retirer(r, o);
+        return nouvelle == r && figee ? this : new ARNPersistant<>(nouvelle, cmp, true);
+    }
+
+    // Indique si cette version est figée (lecture seule)
+    public boolean estFigee() {
+        return figee;
+    }
+
+    private void verifierModifiable() {
+        if (figee) throw new UnsupportedOperationException("version figée");
+    }
+
+    @Override
+    public synchronized boolean add(E e) {
+        verifierModifiable();
+        if (e == null) throw new NullPointerException();
+        racine = noircir(inserer(racine, e));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        verifierModifiable();
+        Noeud<E> r = racine;
+        Noeud<E> nouvelle = retirer(r, o);
+        racine = nouvelle;
+        return nouvelle != r;
+    }
+
+    @Override
+    public synchronized void clear() {
+        verifierModifiable();
+        racine = null;
+    }
+
+    @Override
+    public int size() {
+        return taille(racine);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return racine == null;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && rechercher(racine, o) != null;
+    }
+
+    // Plus petit élément de la version courante
+    public E first() {
+        Noeud<E> x = racine;
+        if (x == null) throw new NoSuchElementException();
+        while (x.gauche != null) x = x.gauche;
+        return x.cle;
+    }
+
+    // Plus grand élément de la version courante
+    public E last() {
+        Noeud<E> x = racine;
+        if (x == null) throw new NoSuchElementException();
+        while (x.droit != null) x = x.droit;
+        return x.cle;
+    }
+
+    // Élément de position index dans l'ordre de parcours, en O(log n)
+    public E get(int index) {
+        Noeud<E> x = racine;
+        if (index < 0 || index >= taille(x)) {
+            throw new IndexOutOfBoundsException("Index : " + index + ", taille : " + taille(x));
+        }
+        while (true) {
+            int g = taille(x.gauche);
+            if (index < g) {
+                x = x.gauche;
+            } else if (index == g) {
+                return x.cle;
+            } else {
+                index -= g + 1;
+                x = x.droit;
+            }
+        }
+    }
+
+    // Parcourt la version courante au moment de l'appel, sans être affecté par les écritures
+    @Override
+    public Iterator<E> iterator() {
+        return new ARNPersistantIterator(racine);
+    }
+
+    private static int taille(Noeud<?> x) {
+        return x == null ? 0 : x.nb;
+    }
+
+    private static boolean estRouge(Noeud<?> x) {
+        return x != null && x.rouge;
+    }
+
+    private Noeud<E> rechercher(Noeud<E> x, Object o) {
+        @SuppressWarnings("unchecked")
+        E e = (E) o;
+        while (x != null) {
+            int c = cmp.compare(e, x.cle);
+            if (c == 0) return x;
+            x = c < 0 ? x.gauche : x.droit;
+        }
+        return null;
+    }
+
+    // ----- Opérations de chemin : chaque modification crée un nouveau nœud -----
+
+    private static <E> Noeud<E> noircir(Noeud<E> x) {
+        return (x == null || !x.rouge) ? x : new Noeud<>(x.cle, x.gauche, x.droit, false);
+    }
+
+    private static <E> Noeud<E> avecGauche(Noeud<E> h, Noeud<E> g) {
+        return g == h.gauche ? h : new Noeud<>(h.cle, g, h.droit, h.rouge);
+    }
+
+    private static <E> Noeud<E> avecDroit(Noeud<E> h, Noeud<E> d) {
+        return d == h.droit ? h : new Noeud<>(h.cle, h.gauche, d, h.rouge);
+    }
+
+    private static <E> Noeud<E> inverserCouleur(Noeud<E> x) {
+        return new Noeud<>(x.cle, x.gauche, x.droit, !x.rouge);
+    }
+
+    // Rotation gauche : le fils droit (rouge) remonte et prend la couleur de h
+    private static <E> Noeud<E> rotationGauche(Noeud<E> h) {
+        Noeud<E> x = h.droit;
+        return new Noeud<>(x.cle, new Noeud<>(h.cle, h.gauche, x.gauche, true), x.droit, h.rouge);
+    }
+
+    // Rotation droite : le fils gauche (rouge) remonte et prend la couleur de h
+    private static <E> Noeud<E> rotationDroite(Noeud<E> h) {
+        Noeud<E> x = h.gauche;
+        return new Noeud<>(x.cle, x.gauche, new Noeud<>(h.cle, x.droit, h.droit, true), h.rouge);
+    }
+
+    // Inverse les couleurs de h et de ses deux fils
+    private static <E> Noeud<E> inverserCouleurs(Noeud<E> h) {
+        return new Noeud<>(h.cle, inverserCouleur(h.gauche), inverserCouleur(h.droit), !h.rouge);
+    }
+
+    // Rétablit les propriétés LLRB en remontant d'une insertion ou d'une suppression
+    private static <E> Noeud<E> equilibrer(Noeud<E> h) {
+        if (estRouge(h.droit) && !estRouge(h.gauche)) h = rotationGauche(h);
+        if (estRouge(h.gauche) && estRouge(h.gauche.gauche)) h = rotationDroite(h);
+        if (estRouge(h.gauche) && estRouge(h.droit)) h = inverserCouleurs(h);
+        return h;
+    }
+
+    // Insère e sous h (à droite des clés égales, comme ARN)
+    private Noeud<E> inserer(Noeud<E> h, E e) {
+        if (h == null) return new Noeud<>(e, null, null, true);
+        if (cmp.compare(e, h.cle) < 0) {
+            h = avecGauche(h, inserer(h.gauche, e));
+        } else {
+            h = avecDroit(h, inserer(h.droit, e));
+        }
+        return equilibrer(h);
+    }
+
+    // Renvoie la racine privée d'une occurrence de o, ou r elle-même si o est absent
+    @SuppressWarnings("unchecked")
+    private Noeud<E> retirer(Noeud<E> r, Object o) {
+        if (o == null || rechercher(r, o) == null) return r;
+        if (!estRouge(r.gauche) && !estRouge(r.droit)) r = new Noeud<>(r.cle, r.gauche, r.droit, true);
+        return noircir(supprimer(r, (E) o));
+    }
+
+    // Emprunte un lien rouge pour que h.gauche ou l'un de ses fils soit rouge
+    private static <E> Noeud<E> deplacerRougeGauche(Noeud<E> h) {
+        h = inverserCouleurs(h);
+        if (estRouge(h.droit.gauche)) {
+            h = avecDroit(h, rotationDroite(h.droit));
+            h = inverserCouleurs(rotationGauche(h));
+        }
+        return h;
+    }
+
+    // Emprunte un lien rouge pour que h.droit ou l'un de ses fils soit rouge
+    private static <E> Noeud<E> deplacerRougeDroite(Noeud<E> h) {
+        h = inverserCouleurs(h);
+        if (estRouge(h.gauche.gauche)) {
+            h = inverserCouleurs(rotationDroite(h));
+        }
+        return h;
+    }
+
+    private static <E> Noeud<E> minimum(Noeud<E> h) {
+        while (h.gauche != null) h = h.gauche;
+        return h;
+    }
+
+    private static <E> Noeud<E> supprimerMin(Noeud<E> h) {
+        if (h.gauche == null) return null;
+        if (!estRouge(h.gauche) && !estRouge(h.gauche.gauche)) h = deplacerRougeGauche(h);
+        h = avecGauche(h, supprimerMin(h.gauche));
+        return equilibrer(h);
+    }
+
+    // Supprime une occurrence de e (présente) sous h
+    private Noeud<E> supprimer(Noeud<E> h, E e) {
+        if (cmp.compare(e, h.cle) < 0) {
+            if (!estRouge(h.gauche) && !estRouge(h.gauche.gauche)) h = deplacerRougeGauche(h);
+            h = avecGauche(h, supprimer(h.gauche, e));
+        } else {
+            if (estRouge(h.gauche)) h = rotationDroite(h);
+            if (cmp.compare(e, h.cle) == 0 && h.droit == null) return null;
+            if (!estRouge(h.droit) && !estRouge(h.droit.gauche)) h = deplacerRougeDroite(h);
+            // Avec des doublons, les rotations ci-dessus peuvent faire remonter en h une copie
+            // de e dont le fils droit (l'ancien h, rouge) penche à droite : on supprime alors
+            // cet ancien h en descendant à droite, où e est encore présent
+            if (cmp.compare(e, h.cle) == 0 && cmp.compare(e, h.droit.cle) != 0) {
+                Noeud<E> min = minimum(h.droit);
+                h = new Noeud<>(min.cle, h.gauche, supprimerMin(h.droit), h.rouge);
+            } else {
+                h = avecDroit(h, supprimer(h.droit, e));
+            }
+        }
+        return equilibrer(h);
+    }
+
+    // Parcours infixe avec une pile : les nœuds n'ont pas de pointeur père
+    private class ARNPersistantIterator implements Iterator<E> {
+        private final ArrayDeque<Noeud<E>> pile = new ArrayDeque<>();
+        private E dernier; // Dernier élément retourné
+
+        ARNPersistantIterator(Noeud<E> r) {
+            descendre(r);
+        }
+
+        private void descendre(Noeud<E> x) {
+            while (x != null) {
+                pile.push(x);
+                x = x.gauche;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pile.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (pile.isEmpty()) throw new NoSuchElementException();
+            Noeud<E> x = pile.pop();
+            descendre(x.droit);
+            dernier = x.cle;
+            return dernier;
+        }
+
+        // Retire l'élément de la collection ; le parcours continue sur sa version de départ
+        @Override
+        public void remove() {
+            if (dernier == null) throw new IllegalStateException();
+            ARNPersistant.this.remove(dernier);
+            dernier = null;
+        }
+    }
+
+    // Calcule la longueur maximale des représentations textuelles des clés
+    private int maxLongChaine(Noeud<E> x) {
+        if (x == null) return 0;
+        return Math.max(x.cle.toString().length(), Math.max(maxLongChaine(x.gauche), maxLongChaine(x.droit)));
+    }
+
+    @Override
+    public String toString() {
+        Noeud<E> r = racine;
+        StringBuilder buf = new StringBuilder();
+        toString(r, buf, "", maxLongChaine(r));
+        return buf.toString();
+    }
+
+    // Même représentation que ARN.toString
+    private void toString(Noeud<E> x, StringBuilder buf, String path, int len) {
+        if (x == null) return;
+        toString(x.droit, buf, path + "D", len);
+        for (int i = 0; i < path.length(); i++) {
+            for (int j = 0; j < len + 6; j++) buf.append(' ');
+            char c = ' ';
+            if (i == path.length() - 1) c = '+';
+            else if (path.charAt(i) != path.charAt(i + 1)) c = '|';
+            buf.append(c);
+        }
+        buf.append("--- ").append(x.cle).append(':').append(x.rouge ? 'R' : 'N');
+        if (x.gauche != null || x.droit != null) {
+            buf.append(" ---");
+            for (int j = x.cle.toString().length(); j < len; j++) buf.append('-');
+            buf.append('|');
+        }
+        buf.append("\n");
+        toString(x.gauche, buf, path + "G", len);
+    }
+}
@@ -0,0 +1,340 @@
+package ProjetAlgo;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ Implémentation d'une collection basée sur un arbre AVL.
+ En chaque nœud, les hauteurs des deux sous-arbres diffèrent d'au plus 1, ce qui borne la
+ hauteur à environ 1,44·log2(n), contre 2·log2(n) pour un ARN : les recherches sont plus
+ courtes, au prix de rotations plus fréquentes en insertion et en suppression.
+ Même contrat que l'ARN : ordre naturel ou comparateur, doublons autorisés (add renvoie
+ toujours true), null refusé, itérateur en ordre croissant avec remove().
+
+ @param <E> type des éléments stockés dans l’arbre
+ */
+public class AVL<E extends Comparable<? super E>> extends AbstractCollection<E> {
+    private Noeud racine;
+    private int taille;
+    private final Comparator<? super E> cmp;
+    private final boolean ordreNaturel; // cmp est Comparator.naturalOrder() : recherche par compareTo
+
+    // Classe interne représentant un nœud de l'arbre
+    private class Noeud {
+        E cle;
+        Noeud gauche;
+        Noeud droit;
+        Noeud pere;
+        int hauteur = 1; // nombre de nœuds du plus long chemin vers une feuille
+
+        Noeud(E cle) {
+            this.cle = cle;
+        }
+
+        // Nœud de clé minimale du sous-arbre
+        Noeud minimum() {
+            Noeud courant = this;
+            while (courant.gauche != null) {
+                courant = courant.gauche;
+            }
+            return courant;
+        }
+
+        // Successeur dans l'ordre des clés, null pour le maximum
+        Noeud suivant() {
+            if (droit != null) {
+                return droit.minimum();
+            }
+            Noeud courant = this;
+            Noeud parent = pere;
+            while (parent != null && courant == parent.droit) {
+                courant = parent;
+                parent = parent.pere;
+            }
+            return parent;
+        }
+    }
+
+    // Crée un AVL vide où les éléments sont ordonnés selon leur ordre naturel
+    public AVL() {
+        this(Comparator.naturalOrder());
+    }
+
+    // Crée un AVL vide où les éléments sont ordonnés selon un comparateur donné
+    public AVL(Comparator<? super E> cmp) {
+        this.cmp = cmp;
+        this.ordreNaturel = cmp == Comparator.naturalOrder();
+        this.racine = null;
+        this.taille = 0;
+    }
+
+    // Crée un AVL contenant les éléments d'une collection donnée, ordre naturel
+    public AVL(Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new AVLIterator();
+    }
+
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    @Override
+    public void clear() {
+        racine = null;
+        taille = 0;
+    }
+
+    // Hauteur de l'arbre : nombre de nœuds du plus long chemin de la racine à une feuille
+    public int hauteur() {
+        return hauteur(racine);
+    }
+
+    private static int hauteur(AVL<?>.Noeud x) {
+        return x == null ? 0 : x.hauteur;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null) throw new NullPointerException();
+        Noeud z = new Noeud(e);
+        Noeud y = null;
+        Noeud x = racine;
+        while (x != null) {
+            y = x;
+            x = cmp.compare(e, x.cle) < 0 ? x.gauche : x.droit;
+        }
+        z.pere = y;
+        if (y == null) {
+            racine = z;
+        } else if (cmp.compare(e, y.cle) < 0) {
+            y.gauche = z;
+        } else {
+            y.droit = z;
+        }
+        taille++;
+        reequilibrer(y);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) return false;
+        Noeud z = rechercher(o);
+        if (z == null) return false;
+        supprimer(z);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && rechercher(o) != null;
+    }
+
+    // Recherche itérative, une comparaison par niveau (voir ARN.rechercher)
+    private Noeud rechercher(Object o) {
+        Noeud x = racine;
+        if (ordreNaturel) {
+            @SuppressWarnings("unchecked")
+            Comparable<? super E> k = (Comparable<? super E>) o;
+            while (x != null) {
+                int c = k.compareTo(x.cle);
+                if (c == 0) return x;
+                x = c < 0 ? x.gauche : x.droit;
+            }
+        } else {
+            @SuppressWarnings("unchecked")
+            E k = (E) o;
+            while (x != null) {
+                int c = cmp.compare(k, x.cle);
+                if (c == 0) return x;
+                x = c < 0 ? x.gauche : x.droit;
+            }
+        }
+        return null;
+    }
+
+    // Supprime z ; avec deux fils, la clé du successeur est recopiée dans z et c'est le
+    // successeur qui est détaché (comme dans ARN)
+    private void supprimer(Noeud z) {
+        if (z.gauche != null && z.droit != null) {
+            Noeud y = z.droit.minimum();
+            z.cle = y.cle;
+            z = y;
+        }
+        Noeud fils = z.gauche != null ? z.gauche : z.droit;
+        remplacer(z, fils);
+        taille--;
+        reequilibrer(z.pere);
+    }
+
+    // Remplace u par v auprès du père de u
+    private void remplacer(Noeud u, Noeud v) {
+        if (u.pere == null) {
+            racine = v;
+        } else if (u == u.pere.gauche) {
+            u.pere.gauche = v;
+        } else {
+            u.pere.droit = v;
+        }
+        if (v != null) {
+            v.pere = u.pere;
+        }
+    }
+
+    /**
+     * Remonte de x à la racine en recalculant les hauteurs et en rééquilibrant chaque nœud
+     * par une rotation simple ou double. On s'arrête dès qu'un sous-arbre rééquilibré garde
+     * sa hauteur d'avant : les facteurs d'équilibre de ses ancêtres sont alors inchangés.
+     */
+    private void reequilibrer(Noeud x) {
+        while (x != null) {
+            int avant = x.hauteur;
+            Noeud r = equilibrer(x);
+            if (r.hauteur == avant) return;
+            x = r.pere;
+        }
+    }
+
+    // Rééquilibre le sous-arbre de x (dont les fils sont des AVL) et renvoie sa nouvelle racine
+    private Noeud equilibrer(Noeud x) {
+        majHauteur(x);
+        int equilibre = hauteur(x.gauche) - hauteur(x.droit);
+        if (equilibre > 1) {
+            if (hauteur(x.gauche.gauche) < hauteur(x.gauche.droit)) {
+                rotationGauche(x.gauche); // cas gauche-droite
+            }
+            return rotationDroite(x);
+        }
+        if (equilibre < -1) {
+            if (hauteur(x.droit.droit) < hauteur(x.droit.gauche)) {
+                rotationDroite(x.droit); // cas droite-gauche
+            }
+            return rotationGauche(x);
+        }
+        return x;
+    }
+
+    private void majHauteur(Noeud x) {
+        x.hauteur = Math.max(hauteur(x.gauche), hauteur(x.droit)) + 1;
+    }
+
+    // Rotation gauche autour de x ; renvoie le nœud qui prend sa place
+    private Noeud rotationGauche(Noeud x) {
+        Noeud y = x.droit;
+        x.droit = y.gauche;
+        if (y.gauche != null) y.gauche.pere = x;
+        remplacer(x, y);
+        y.gauche = x;
+        x.pere = y;
+        majHauteur(x);
+        majHauteur(y);
+        return y;
+    }
+
+    // Rotation droite autour de x ; renvoie le nœud qui prend sa place
+    private Noeud rotationDroite(Noeud x) {
+        Noeud y = x.gauche;
+        x.gauche = y.droit;
+        if (y.droit != null) y.droit.pere = x;
+        remplacer(x, y);
+        y.droit = x;
+        x.pere = y;
+        majHauteur(x);
+        majHauteur(y);
+        return y;
+    }
+
+    private class AVLIterator implements Iterator<E> {
+        private Noeud noeudSuivant; // Le prochain nœud à retourner
+        private Noeud courant; // Le dernier nœud retourné
+
+        AVLIterator() {
+            noeudSuivant = racine == null ? null : racine.minimum();
+            courant = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return noeudSuivant != null;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            courant = noeudSuivant;
+            noeudSuivant = noeudSuivant.suivant();
+            return courant.cle;
+        }
+
+        @Override
+        public void remove() {
+            if (courant == null) {
+                throw new IllegalStateException();
+            }
+            // Avec deux fils, supprimer() recopie la clé du successeur dans courant :
+            // le prochain élément est alors dans courant lui-même
+            boolean deuxFils = courant.gauche != null && courant.droit != null;
+            supprimer(courant);
+            if (deuxFils) {
+                noeudSuivant = courant;
+            }
+            courant = null;
+        }
+    }
+
+    //Calcule la longueur maximale des chaînes représentant les clés dans l'arbre.
+    private int maxLongeurChaine(Noeud x) {
+        return x == null ? 0 : Math.max(x.cle.toString().length(), Math.max(maxLongeurChaine(x.gauche), maxLongeurChaine(x.droit)));
+    }
+
+    @Override
+    public String toString() {
+        StringBuffer buf = new StringBuffer();
+        toString(racine, buf, "", maxLongeurChaine(racine));
+        return buf.toString();
+    }
+
+    // Construit une représentation graphique de l'arbre pour l'affichage (comme ABR)
+    private void toString(Noeud x, StringBuffer buf, String path, int len) {
+        if (x == null)
+            return;
+        toString(x.droit, buf, path + "D", len);
+        for (int i = 0; i < path.length(); i++) {
+            for (int j = 0; j < len + 6; j++)
+                buf.append(' ');
+            char c = ' ';
+            if (i == path.length() - 1)
+                c = '+';
+            else if (path.charAt(i) != path.charAt(i + 1))
+                c = '|';
+            buf.append(c);
+        }
+        buf.append("-- ").append(x.cle.toString());
+        if (x.gauche != null || x.droit != null) {
+            buf.append(" --");
+            for (int j = x.cle.toString().length(); j < len; j++)
+                buf.append('-');
+            buf.append('|');
+        }
+        buf.append("\n");
+        toString(x.gauche, buf, path + "G", len);
+    }
+}
@@ -0,0 +1,445 @@
+package ProjetAlgo;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ Implémentation d'une collection basée sur un B-arbre (algorithme du Cormen).
+ Chaque nœud range jusqu'à ordre - 1 clés contiguës dans un tableau, et un nœud interne
+ a jusqu'à ordre fils : une recherche ne visite que log_ordre(n) nœuds, chacun parcouru
+ par dichotomie dans un tableau, au lieu d'un nœud (et d'un défaut de cache) par niveau
+ dans un ABR ou un ARN. L'ordre se règle à la création selon la taille des caches.
+ Même contrat que l'ARN : ordre naturel ou comparateur, doublons autorisés (add renvoie
+ toujours true), null refusé, remove retire une seule occurrence.
+
+ @param <E> type des éléments stockés dans l’arbre
+ */
+public class ArbreB<E extends Comparable<? super E>> extends AbstractCollection<E> {
+    // Ordre par défaut (15 clés par nœud) : le plus rapide en recherche mesuré sur clés Integer
+    // à 10^5 et 10^7 éléments, parmi 8, 16, 32, 64 et 128
+    public static final int ORDRE_DEFAUT = 16;
+
+    private final int t; // degré minimal : entre t - 1 et 2t - 1 clés par nœud (sauf la racine)
+    private final Comparator<? super E> cmp;
+    private final boolean ordreNaturel; // cmp est Comparator.naturalOrder() : compareTo direct
+    private Noeud racine;
+    private int taille;
+
+    // Nœud du B-arbre ; fils vaut null pour une feuille
+    private static final class Noeud {
+        final Object[] cles;
+        Noeud[] fils;
+        int n; // nombre de clés utilisées
+
+        Noeud(int t, boolean feuille) {
+            cles = new Object[2 * t - 1];
+            fils = feuille ? null : new Noeud[2 * t];
+        }
+
+        boolean estFeuille() {
+            return fils == null;
+        }
+    }
+
+    // Crée un B-arbre vide d'ordre ORDRE_DEFAUT, ordre naturel
+    public ArbreB() {
+        this(ORDRE_DEFAUT, Comparator.naturalOrder());
+    }
+
+    // Crée un B-arbre vide d'ordre donné (nombre maximal de fils, pair et au moins 4)
+    public ArbreB(int ordre) {
+        this(ordre, Comparator.naturalOrder());
+    }
+
+    // Crée un B-arbre vide d'ordre ORDRE_DEFAUT ordonné selon un comparateur donné
+    public ArbreB(Comparator<? super E> cmp) {
+        this(ORDRE_DEFAUT, cmp);
+    }
+
+    // Crée un B-arbre vide d'ordre donné ordonné selon un comparateur donné
+    public ArbreB(int ordre, Comparator<? super E> cmp) {
+        if (ordre < 4 || ordre % 2 != 0) {
+            throw new IllegalArgumentException("L'ordre doit être pair et au moins 4 : " + ordre);
+        }
+        this.t = ordre / 2;
+        this.cmp = cmp;
+        this.ordreNaturel = cmp == Comparator.naturalOrder();
+        this.racine = new Noeud(t, true);
+        this.taille = 0;
+    }
+
+    // Crée un B-arbre d'ordre ORDRE_DEFAUT contenant les éléments de c, ordre naturel
+    public ArbreB(Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    // Nombre maximal de fils d'un nœud
+    public int ordre() {
+        return 2 * t;
+    }
+
+    // Nombre de niveaux de l'arbre (1 pour une racine feuille)
+    public int hauteur() {
+        int h = 1;
+        for (Noeud x = racine; !x.estFeuille(); x = x.fils[0]) h++;
+        return h;
+    }
+
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    @Override
+    public void clear() {
+        racine = new Noeud(t, true);
+        taille = 0;
+    }
+
+    // Premier indice i de x tel que cles[i] >= k (x.n si aucun), par dichotomie
+    @SuppressWarnings("unchecked")
+    private int borneInf(Noeud x, Object k) {
+        int lo = 0, hi = x.n;
+        if (ordreNaturel) {
+            Comparable<? super E> c = (Comparable<? super E>) k;
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (c.compareTo((E) x.cles[m]) > 0) lo = m + 1;
+                else hi = m;
+            }
+        } else {
+            E c = (E) k;
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (cmp.compare(c, (E) x.cles[m]) > 0) lo = m + 1;
+                else hi = m;
+            }
+        }
+        return lo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int comparer(Object a, Object b) {
+        return ordreNaturel ? ((Comparable<? super E>) a).compareTo((E) b) : cmp.compare((E) a, (E) b);
+    }
+
+    // Une clé absente d'un nœud se trouve forcément dans le fils borneInf : toutes ses
+    // occurrences sont entre les deux clés qui encadrent ce fils
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        Noeud x = racine;
+        while (true) {
+            int i = borneInf(x, o);
+            if (i < x.n && comparer(o, x.cles[i]) == 0) return true;
+            if (x.estFeuille()) return false;
+            x = x.fils[i];
+        }
+    }
+
+    // Ajoute un élément ; la racine pleine est scindée avant la descente (une seule passe)
+    @Override
+    public boolean add(E e) {
+        if (e == null) throw new NullPointerException();
+        Noeud r = racine;
+        if (r.n == 2 * t - 1) {
+            Noeud s = new Noeud(t, false);
+            s.fils[0] = r;
+            racine = s;
+            scinder(s, 0);
+        }
+        insererNonPlein(racine, e);
+        taille++;
+        return true;
+    }
+
+    // Insère e dans le sous-arbre de x, qui n'est pas plein
+    private void insererNonPlein(Noeud x, E e) {
+        while (true) {
+            int i = borneInf(x, e);
+            if (x.estFeuille()) {
+                System.arraycopy(x.cles, i, x.cles, i + 1, x.n - i);
+                x.cles[i] = e;
+                x.n++;
+                return;
+            }
+            if (x.fils[i].n == 2 * t - 1) {
+                scinder(x, i);
+                if (comparer(e, x.cles[i]) > 0) i++;
+            }
+            x = x.fils[i];
+        }
+    }
+
+    // Scinde le fils plein x.fils[i] autour de sa clé médiane, qui remonte dans x
+    private void scinder(Noeud x, int i) {
+        Noeud y = x.fils[i];
+        Noeud z = new Noeud(t, y.estFeuille());
+        z.n = t - 1;
+        System.arraycopy(y.cles, t, z.cles, 0, t - 1);
+        if (!y.estFeuille()) {
+            System.arraycopy(y.fils, t, z.fils, 0, t);
+            for (int j = t; j < 2 * t; j++) y.fils[j] = null;
+        }
+        Object median = y.cles[t - 1];
+        for (int j = t - 1; j < 2 * t - 1; j++) y.cles[j] = null;
+        y.n = t - 1;
+
+        System.arraycopy(x.fils, i + 1, x.fils, i + 2, x.n - i);
+        x.fils[i + 1] = z;
+        System.arraycopy(x.cles, i, x.cles, i + 1, x.n - i);
+        x.cles[i] = median;
+        x.n++;
+    }
+
+    // Retire une occurrence de o
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) return false;
+        boolean retire = supprimer(racine, o);
+        if (racine.n == 0 && !racine.estFeuille()) {
+            racine = racine.fils[0]; // la racine vidée par une fusion cède sa place
+        }
+        if (retire) taille--;
+        return retire;
+    }
+
+    /**
+     * Supprime une occurrence de k du sous-arbre de x en une seule descente : avant de
+     * descendre dans un fils, on s'assure qu'il a au moins t clés (emprunt à un frère ou
+     * fusion), de sorte que la suppression dans une feuille ne la rende jamais trop petite.
+     */
+    private boolean supprimer(Noeud x, Object k) {
+        while (true) {
+            int i = borneInf(x, k);
+            boolean ici = i < x.n && comparer(k, x.cles[i]) == 0;
+            if (x.estFeuille()) {
+                if (!ici) return false;
+                retirerCle(x, i);
+                return true;
+            }
+            if (ici) {
+                Noeud g = x.fils[i], d = x.fils[i + 1];
+                if (g.n >= t) {
+                    // Remplacer par le prédécesseur, puis le supprimer dans le fils gauche
+                    Object pred = maximum(g);
+                    x.cles[i] = pred;
+                    x = g;
+                    k = pred;
+                } else if (d.n >= t) {
+                    Object succ = minimum(d);
+                    x.cles[i] = succ;
+                    x = d;
+                    k = succ;
+                } else {
+                    fusionner(x, i);
+                    x = g;
+                }
+                continue;
+            }
+            Noeud c = x.fils[i];
+            if (c.n == t - 1) {
+                if (i > 0 && x.fils[i - 1].n >= t) {
+                    emprunterGauche(x, i);
+                } else if (i < x.n && x.fils[i + 1].n >= t) {
+                    emprunterDroite(x, i);
+                } else if (i < x.n) {
+                    fusionner(x, i);
+                } else {
+                    fusionner(x, i - 1);
+                    c = x.fils[i - 1];
+                }
+            }
+            x = c;
+        }
+    }
+
+    private void retirerCle(Noeud x, int i) {
+        System.arraycopy(x.cles, i + 1, x.cles, i, x.n - i - 1);
+        x.cles[--x.n] = null;
+    }
+
+    private static Object maximum(Noeud x) {
+        while (!x.estFeuille()) x = x.fils[x.n];
+        return x.cles[x.n - 1];
+    }
+
+    private static Object minimum(Noeud x) {
+        while (!x.estFeuille()) x = x.fils[0];
+        return x.cles[0];
+    }
+
+    // Fusionne x.fils[i], la clé x.cles[i] et x.fils[i + 1] dans x.fils[i]
+    private void fusionner(Noeud x, int i) {
+        Noeud g = x.fils[i], d = x.fils[i + 1];
+        g.cles[g.n] = x.cles[i];
+        System.arraycopy(d.cles, 0, g.cles, g.n + 1, d.n);
+        if (!g.estFeuille()) {
+            System.arraycopy(d.fils, 0, g.fils, g.n + 1, d.n + 1);
+        }
+        g.n += d.n + 1;
+
+        retirerCle(x, i);
+        System.arraycopy(x.fils, i + 2, x.fils, i + 1, x.n - i);
+        x.fils[x.n + 1] = null;
+    }
+
+    // Fait passer une clé du frère gauche de x.fils[i] vers celui-ci, par la clé séparatrice
+    private void emprunterGauche(Noeud x, int i) {
+        Noeud c = x.fils[i], g = x.fils[i - 1];
+        System.arraycopy(c.cles, 0, c.cles, 1, c.n);
+        c.cles[0] = x.cles[i - 1];
+        if (!c.estFeuille()) {
+            System.arraycopy(c.fils, 0, c.fils, 1, c.n + 1);
+            c.fils[0] = g.fils[g.n];
+            g.fils[g.n] = null;
+        }
+        c.n++;
+        x.cles[i - 1] = g.cles[g.n - 1];
+        g.cles[--g.n] = null;
+    }
+
+    // Symétrique d'emprunterGauche avec le frère droit
+    private void emprunterDroite(Noeud x, int i) {
+        Noeud c = x.fils[i], d = x.fils[i + 1];
+        c.cles[c.n] = x.cles[i];
+        if (!c.estFeuille()) {
+            c.fils[c.n + 1] = d.fils[0];
+            System.arraycopy(d.fils, 1, d.fils, 0, d.n);
+            d.fils[d.n] = null;
+        }
+        c.n++;
+        x.cles[i] = d.cles[0];
+        retirerCle(d, 0);
+    }
+
+    // Renvoie un itérateur parcourant les éléments dans l'ordre
+    @Override
+    public Iterator<E> iterator() {
+        return new ArbreBIterator();
+    }
+
+    /*
+     * Parcours infixe à l'aide d'une pile de (nœud, indice de la prochaine clé). Après un
+     * remove(), la suppression a pu réorganiser les nœuds : l'itérateur se repositionne
+     * alors sur la première occurrence de la clé retirée, puis saute celles déjà rendues.
+     */
+    private class ArbreBIterator implements Iterator<E> {
+        private Noeud[] pile = new Noeud[hauteur()];
+        private int[] pos = new int[pile.length];
+        private int sommet = -1;
+        private Object derniere; // dernière clé rendue
+        private int egauxRendus; // occurrences de derniere déjà rendues
+        private boolean peutSupprimer;
+
+        ArbreBIterator() {
+            descendre(racine);
+            normaliser();
+        }
+
+        // Empile le chemin le plus à gauche depuis x
+        private void descendre(Noeud x) {
+            while (true) {
+                empiler(x, 0);
+                if (x.estFeuille()) return;
+                x = x.fils[0];
+            }
+        }
+
+        private void empiler(Noeud x, int i) {
+            sommet++;
+            pile[sommet] = x;
+            pos[sommet] = i;
+        }
+
+        // Dépile les nœuds dont toutes les clés ont été rendues
+        private void normaliser() {
+            while (sommet >= 0 && pos[sommet] == pile[sommet].n) sommet--;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return sommet >= 0;
+        }
+
+        // Rend la clé au sommet de la pile et passe à la suivante
+        private Object avancer() {
+            Noeud x = pile[sommet];
+            Object e = x.cles[pos[sommet]++];
+            if (x.estFeuille()) {
+                normaliser();
+            } else {
+                descendre(x.fils[pos[sommet]]);
+            }
+            return e;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (sommet < 0) throw new NoSuchElementException();
+            Object e = avancer();
+            egauxRendus = (derniere != null && comparer(e, derniere) == 0) ? egauxRendus + 1 : 1;
+            derniere = e;
+            peutSupprimer = true;
+            return (E) e;
+        }
+
+        @Override
+        public void remove() {
+            if (!peutSupprimer) throw new IllegalStateException();
+            ArbreB.this.remove(derniere);
+            peutSupprimer = false;
+            egauxRendus--;
+
+            // Repositionnement sur la première occurrence de derniere
+            pile = new Noeud[hauteur()];
+            pos = new int[pile.length];
+            sommet = -1;
+            Noeud x = racine;
+            while (true) {
+                int i = borneInf(x, derniere);
+                empiler(x, i);
+                if (x.estFeuille()) break;
+                x = x.fils[i];
+            }
+            normaliser();
+            for (int j = 0; j < egauxRendus; j++) {
+                avancer();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        toString(racine, buf, 0);
+        return buf.toString();
+    }
+
+    // Un nœud par ligne, indenté selon sa profondeur, fils dans l'ordre
+    private void toString(Noeud x, StringBuilder buf, int profondeur) {
+        if (x.n == 0) return;
+        for (int i = 0; i < profondeur; i++) buf.append("    ");
+        buf.append('[');
+        for (int i = 0; i < x.n; i++) {
+            if (i > 0) buf.append(' ');
+            buf.append(x.cles[i]);
+        }
+        buf.append("]\n");
+        if (!x.estFeuille()) {
+            for (int i = 0; i <= x.n; i++) toString(x.fils[i], buf, profondeur + 1);
+        }
+    }
+}
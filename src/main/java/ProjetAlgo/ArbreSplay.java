@@ -0,0 +1,389 @@
+package ProjetAlgo;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Implantation de l'interface Collection basée sur un arbre évasé (splay tree).
+Même représentation que l'ABR (nœuds chaînés avec pointeur vers le père, pas de doublons),
+mais chaque accès (add, contains, remove) remonte le dernier nœud visité à la racine par des
+rotations. Les clés souvent demandées restent ainsi près de la racine : sous un accès biaisé
+(quelques clés chaudes parmi beaucoup), une recherche descend bien moins bas que log2(n) en
+moyenne. En contrepartie, chaque accès réécrit les pointeurs du chemin parcouru, ce qui coûte
+plus cher qu'une descente en lecture seule : le gain n'apparaît que si le biais est fort.
+Le coût est amorti en O(log n) par opération, mais une opération isolée peut coûter O(n) et
+contains() modifie la forme de l'arbre : la structure n'est pas sûre en lecture concurrente.
+ */
+public class ArbreSplay<E> extends AbstractCollection<E> {
+	private Noeud racine;
+	private int taille;
+	private Comparator<? super E> cmp;
+
+	//classe qui represente un noeud interne
+	private class Noeud {
+		E cle;
+		Noeud gauche;
+		Noeud droit;
+		Noeud pere;
+
+		Noeud(E cle) {
+			this.cle = cle;
+		}
+
+		//min du sous arbre du noeud, ou bien lui meme si ya pas de fils gauche
+		Noeud minimum() {
+			Noeud courant = this;
+			while (courant.gauche != null) {
+				courant = courant.gauche;
+			}
+			return courant;
+		}
+
+		// Successeur dans l'ordre des clés, null pour la clé maximale
+		Noeud suivant() {
+			if (this.droit != null) {
+				return this.droit.minimum();
+			}
+			Noeud courant = this;
+			Noeud parent = courant.pere;
+			while (parent != null && courant == parent.droit) {
+				courant = parent;
+				parent = parent.pere;
+			}
+			return parent;
+		}
+	}
+
+	//Crée un arbre évasé vide. Les éléments seront ordonnés selon leur ordre naturel.
+	public ArbreSplay() {
+		this.taille = 0;
+		this.racine = null;
+		this.cmp = null;
+	}
+
+	// Crée un arbre évasé vide avec un comparateur personnalisé
+	public ArbreSplay(Comparator<? super E> cmp) {
+		this.cmp = cmp;
+		this.racine = null;
+		this.taille = 0;
+	}
+
+	// Crée un arbre évasé à partir d'une collection existante
+	public ArbreSplay(Collection<? extends E> c) {
+		this();
+		addAll(c);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new SplayIterator();
+	}
+
+	@Override
+	public int size() {
+		return taille;
+	}
+
+	// Hauteur de l'arbre, par un parcours en largeur (l'arbre peut être une chaîne de n nœuds)
+	public int hauteur() {
+		int hauteur = 0;
+		ArrayDeque<Noeud> niveau = new ArrayDeque<>();
+		if (racine != null)
+			niveau.add(racine);
+		while (!niveau.isEmpty()) {
+			hauteur++;
+			for (int i = niveau.size(); i > 0; i--) {
+				Noeud x = niveau.poll();
+				if (x.gauche != null)
+					niveau.add(x.gauche);
+				if (x.droit != null)
+					niveau.add(x.droit);
+			}
+		}
+		return hauteur;
+	}
+
+	// Compare deux éléments en utilisant soit le comparateur fourni, soit l'ordre naturel
+	@SuppressWarnings("unchecked")
+	private int comparer(E a, E b) {
+		if (cmp != null) {
+			return cmp.compare(a, b);
+		} else {
+			try {
+				return ((Comparable<? super E>) a).compareTo(b);
+			} catch (ClassCastException e) {
+				throw new IllegalArgumentException("Éléments non comparables", e);
+			}
+		}
+	}
+
+	/*
+	 * Cherche le nœud de clé o et évase le dernier nœud visité, qu'il contienne o ou non :
+	 * une recherche infructueuse raccourcit aussi le chemin qu'elle a parcouru, condition
+	 * de la borne amortie. Même double boucle que ABR.rechercher.
+	 */
+	private Noeud rechercher(Object o) {
+		if (o == null || racine == null || (cmp == null && !(o instanceof Comparable))) {
+			return null;
+		}
+
+		Noeud courant = racine;
+		Noeud dernier = null;
+		try {
+			if (cmp == null) {
+				@SuppressWarnings("unchecked")
+				Comparable<? super E> element = (Comparable<? super E>) o;
+				while (courant != null) {
+					dernier = courant;
+					int cmpResult = element.compareTo(courant.cle);
+					if (cmpResult == 0) {
+						break;
+					}
+					courant = cmpResult < 0 ? courant.gauche : courant.droit;
+				}
+			} else {
+				@SuppressWarnings("unchecked")
+				E element = (E) o;
+				while (courant != null) {
+					dernier = courant;
+					int cmpResult = cmp.compare(element, courant.cle);
+					if (cmpResult == 0) {
+						break;
+					}
+					courant = cmpResult < 0 ? courant.gauche : courant.droit;
+				}
+			}
+		} catch (ClassCastException e) {
+			return null;
+		}
+
+		evaser(dernier);
+		return courant;
+	}
+
+	/*
+	 * Remonte x jusqu'à la racine (splay ascendant). À chaque étape :
+	 *  - zig : le père de x est la racine, une rotation simple ;
+	 *  - zig-zig : x et son père sont du même côté, on tourne d'abord le père puis x ;
+	 *  - zig-zag : côtés opposés, on tourne x deux fois.
+	 * Le zig-zig est ce qui distingue l'évasement d'une simple remontée par rotations : il
+	 * replie les chaînes et divise environ par deux la profondeur des nœuds du chemin.
+	 */
+	private void evaser(Noeud x) {
+		while (x.pere != null) {
+			Noeud p = x.pere;
+			Noeud g = p.pere;
+			if (g == null) {
+				tourner(x);
+			} else if ((x == p.gauche) == (p == g.gauche)) {
+				tourner(p);
+				tourner(x);
+			} else {
+				tourner(x);
+				tourner(x);
+			}
+		}
+	}
+
+	// Rotation qui fait monter x d'un niveau, au-dessus de son père
+	private void tourner(Noeud x) {
+		Noeud p = x.pere;
+		Noeud g = p.pere;
+		if (x == p.gauche) {
+			p.gauche = x.droit;
+			if (x.droit != null) {
+				x.droit.pere = p;
+			}
+			x.droit = p;
+		} else {
+			p.droit = x.gauche;
+			if (x.gauche != null) {
+				x.gauche.pere = p;
+			}
+			x.gauche = p;
+		}
+		p.pere = x;
+		x.pere = g;
+		if (g == null) {
+			racine = x;
+		} else if (g.gauche == p) {
+			g.gauche = x;
+		} else {
+			g.droit = x;
+		}
+	}
+
+	// Remplace un nœud par un autre dans l'arbre
+	private void remplacer(Noeud u, Noeud v) {
+		if (u.pere == null) {
+			racine = v;
+		} else if (u == u.pere.gauche) {
+			u.pere.gauche = v;
+		} else {
+			u.pere.droit = v;
+		}
+
+		if (v != null) {
+			v.pere = u.pere;
+		}
+	}
+
+	/*
+	 * Supprime z comme dans l'ABR (avec deux fils, la clé du successeur est recopiée dans z
+	 * et c'est le successeur qui est détaché), puis évase le père du nœud détaché.
+	 * Les rotations ne déplacent aucune clé entre nœuds : un itérateur reste valide.
+	 */
+	private void supprimer(Noeud z) {
+		if (z.gauche != null && z.droit != null) {
+			Noeud y = z.droit.minimum();
+			z.cle = y.cle;
+			z = y;
+		}
+		Noeud fils = (z.gauche != null) ? z.gauche : z.droit;
+		remplacer(z, fils);
+		taille--;
+		if (z.pere != null) {
+			evaser(z.pere);
+		}
+	}
+
+	private class SplayIterator implements Iterator<E> {
+		private Noeud courant; // Le prochain nœud à rendre
+		private Noeud derN; // Dernier nœud retourné par la méthode next()
+
+		SplayIterator() {
+			courant = (racine == null) ? null : racine.minimum();
+			derN = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return courant != null;
+		}
+
+		@Override
+		public E next() {
+			if (courant == null) {
+				throw new NoSuchElementException(" plus d'éléments à parcourir.");
+			}
+			derN = courant;
+			E value = courant.cle;
+			courant = courant.suivant();
+			return value;
+		}
+
+		@Override
+		public void remove() {
+			if (derN == null) {
+				throw new IllegalStateException("La méthode next() doit être appelé avant");
+			}
+
+			// Avec deux fils, supprimer() recopie la clé du successeur dans derN :
+			// le prochain élément à rendre se trouve alors dans derN lui-même
+			boolean deuxFils = derN.gauche != null && derN.droit != null;
+			supprimer(derN);
+			if (deuxFils) {
+				courant = derN;
+			}
+			derN = null;
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return rechercher(o) != null;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		Noeud n = rechercher(o);
+		if (n == null) {
+			return false;
+		}
+		supprimer(n);
+		return true;
+	}
+
+	// Insère un élément (refusé s'il est déjà présent) puis évase le nœud inséré ou trouvé
+	@Override
+	public boolean add(E element) {
+		if (element == null) {
+			throw new IllegalArgumentException("les Valeurs nulles ne sont pas autorisés.");
+		}
+		Noeud courant = racine;
+		Noeud parent = null;
+		int cmpR = 0;
+
+		while (courant != null) {
+			parent = courant;
+			cmpR = comparer(element, courant.cle);
+			if (cmpR == 0) {
+				evaser(courant);
+				return false;
+			}
+			courant = cmpR < 0 ? courant.gauche : courant.droit;
+		}
+
+		Noeud newN = new Noeud(element);
+		if (parent == null) {
+			racine = newN;
+		} else if (cmpR < 0) {
+			parent.gauche = newN;
+		} else {
+			parent.droit = newN;
+		}
+		newN.pere = parent;
+		taille++;
+		evaser(newN);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		racine = null;
+		taille = 0;
+	}
+
+	//Calcule la longueur maximale des chaînes représentant les clés dans l'arbre.
+	private int maxLongeurChaine(Noeud x) {
+		return x == null ? 0 : Math.max(x.cle.toString().length(), Math.max(maxLongeurChaine(x.gauche), maxLongeurChaine(x.droit)));
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer buf = new StringBuffer();
+		toString(racine, buf, "", maxLongeurChaine(racine));
+		return buf.toString();
+	}
+
+	// Construit une représentation graphique de l'arbre pour l'affichage (comme ABR)
+	private void toString(Noeud x, StringBuffer buf, String path, int len) {
+		if (x == null)
+			return;
+		toString(x.droit, buf, path + "D", len);
+		for (int i = 0; i < path.length(); i++) {
+			for (int j = 0; j < len + 6; j++)
+				buf.append(' ');
+			char c = ' ';
+			if (i == path.length() - 1)
+				c = '+';
+			else if (path.charAt(i) != path.charAt(i + 1))
+				c = '|';
+			buf.append(c);
+		}
+		buf.append("-- ").append(x.cle.toString());
+		if (x.gauche != null || x.droit != null) {
+			buf.append(" --");
+			for (int j = x.cle.toString().length(); j < len; j++)
+				buf.append('-');
+			buf.append('|');
+		}
+		buf.append("\n");
+		toString(x.gauche, buf, path + "G", len);
+	}
+}
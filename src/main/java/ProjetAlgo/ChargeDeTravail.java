@@ -0,0 +1,245 @@
+package ProjetAlgo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Générateur de charges de travail reproductibles (tout est tiré d'un Random fourni, donc
+d'une graine) pour les arbres à clés Integer :
+  - ordres d'insertion des clés 0..n-1, dont des ordres défavorables à l'ABR ;
+  - suites d'opérations mêlant lectures, insertions et suppressions dans des proportions
+    réglables, les clés visées suivant une loi uniforme, de Zipf ou "récente".
+Les mélanges prédéfinis reprennent les charges A à D du banc YCSB. Un ensemble n'ayant pas
+de mise à jour, la part "update" de YCSB est répartie entre insertions et suppressions.
+Les opérations sont générées à l'avance : la mesure ne comprend pas les tirages.
+ */
+public final class ChargeDeTravail {
+
+    private ChargeDeTravail() {
+    }
+
+    // Ordres d'insertion de 0..n-1 ; nom est la valeur de la colonne mode de results.csv
+    public enum Ordre {
+        ALEATOIRE("random"),
+        CROISSANT("sorted"),
+        DECROISSANT("reverse"),
+        ZIGZAG("zigzag"),             // 0, n-1, 1, n-2, ... : l'ABR devient une chaîne en zigzag
+        PRESQUE_TRIE("nearly_sorted"), // croissant, puis n/20 échanges de clés distantes d'au plus 8
+        TUYAUX_ORGUE("organ_pipe");   // clés paires croissantes puis impaires décroissantes
+
+        public final String nom;
+
+        Ordre(String nom) {
+            this.nom = nom;
+        }
+
+        public static Ordre parNom(String nom) {
+            for (Ordre o : values()) {
+                if (o.nom.equals(nom)) return o;
+            }
+            throw new IllegalArgumentException("Ordre d'insertion inconnu : " + nom);
+        }
+    }
+
+    // Clés 0..n-1 dans l'ordre o ; l'ordre aléatoire est le mélange de Collections.shuffle
+    public static ArrayList<Integer> cles(int n, Ordre o, Random rnd) {
+        int[] t = clesTableau(n, o, rnd);
+        ArrayList<Integer> cles = new ArrayList<>(n);
+        for (int k : t) cles.add(k);
+        return cles;
+    }
+
+    /*
+     * Mêmes clés, dans le même ordre pour une même graine, sans les boxer : 4 octets par clé
+     * au lieu d'environ 20, ce qui compte au-delà de quelques millions de clés.
+     */
+    public static int[] clesTableau(int n, Ordre o, Random rnd) {
+        int[] cles = new int[n];
+        switch (o) {
+            case ZIGZAG:
+                for (int i = 0, j = n - 1, k = 0; i <= j; i++, j--) {
+                    cles[k++] = i;
+                    if (i < j) cles[k++] = j;
+                }
+                break;
+            case TUYAUX_ORGUE:
+                int k = 0;
+                for (int i = 0; i < n; i += 2) cles[k++] = i;
+                for (int i = (n - 1) % 2 == 1 ? n - 1 : n - 2; i > 0; i -= 2) cles[k++] = i;
+                break;
+            case DECROISSANT:
+                for (int i = 0; i < n; i++) cles[i] = n - 1 - i;
+                break;
+            default:
+                for (int i = 0; i < n; i++) cles[i] = i;
+        }
+        if (o == Ordre.ALEATOIRE) {
+            // Même suite de tirages que Collections.shuffle
+            for (int i = n; i > 1; i--) echanger(cles, i - 1, rnd.nextInt(i));
+        } else if (o == Ordre.PRESQUE_TRIE) {
+            for (int k = n / 20; k > 0; k--) {
+                int i = rnd.nextInt(n);
+                echanger(cles, i, Math.min(n - 1, i + 1 + rnd.nextInt(8)));
+            }
+        }
+        return cles;
+    }
+
+    // Loi des clés visées par les opérations
+    public enum Loi {
+        UNIFORME,
+        ZIPF,    // quelques clés chaudes, réparties au hasard parmi les n clés initiales
+        RECENTE  // Zipf sur l'âge : les dernières clés insérées sont les plus demandées
+    }
+
+    // Proportions de lectures, d'insertions et de suppressions (somme 1) et loi des clés
+    public static final class Melange {
+        public final String nom;
+        final double lectures;
+        final double insertions;
+        final Loi loi;
+
+        public Melange(String nom, double lectures, double insertions, double suppressions, Loi loi) {
+            if (lectures < 0 || insertions < 0 || suppressions < 0
+                    || Math.abs(lectures + insertions + suppressions - 1) > 1e-9) {
+                throw new IllegalArgumentException("Proportions invalides pour " + nom);
+            }
+            this.nom = nom;
+            this.lectures = lectures;
+            this.insertions = insertions;
+            this.loi = loi;
+        }
+    }
+
+    // YCSB A : moitié lectures, moitié mises à jour
+    public static final Melange YCSB_A = new Melange("ycsb_a", 0.50, 0.25, 0.25, Loi.ZIPF);
+    // YCSB B : surtout des lectures
+    public static final Melange YCSB_B = new Melange("ycsb_b", 0.95, 0.025, 0.025, Loi.ZIPF);
+    // YCSB C : lectures seules
+    public static final Melange YCSB_C = new Melange("ycsb_c", 1.0, 0, 0, Loi.ZIPF);
+    // YCSB D : lectures des dernières insertions
+    public static final Melange YCSB_D = new Melange("ycsb_d", 0.95, 0.05, 0, Loi.RECENTE);
+
+    public static final byte LECTURE = 0, INSERTION = 1, SUPPRESSION = 2;
+
+    // Suite d'opérations prête à être rejouée : types[i] porte sur la clé cles[i]
+    public static final class Operations {
+        public final byte[] types;
+        public final int[] cles;
+
+        Operations(int nombre) {
+            types = new byte[nombre];
+            cles = new int[nombre];
+        }
+    }
+
+    /*
+     * Génère nombre opérations sur un arbre contenant les clés 0..n-1. Les insertions
+     * ajoutent des clés neuves (n, n+1, ...), sans doublon y compris pour l'ARN ; lectures
+     * et suppressions visent une clé déjà émise, éventuellement supprimée depuis.
+     */
+    public static Operations generer(int n, Melange m, int nombre, Random rnd, double s) {
+        if (n <= 0) throw new IllegalArgumentException("n doit être positif : " + n);
+        Operations ops = new Operations(nombre);
+        LoiZipf zipf = m.loi == Loi.UNIFORME ? null : new LoiZipf(n, s);
+        int[] cleDuRang = m.loi == Loi.ZIPF ? permutation(n, rnd) : null;
+        int prochaine = n;
+        for (int i = 0; i < nombre; i++) {
+            double u = rnd.nextDouble();
+            if (u >= m.lectures && u < m.lectures + m.insertions) {
+                ops.types[i] = INSERTION;
+                ops.cles[i] = prochaine++;
+                continue;
+            }
+            ops.types[i] = u < m.lectures ? LECTURE : SUPPRESSION;
+            switch (m.loi) {
+                case UNIFORME:
+                    ops.cles[i] = rnd.nextInt(prochaine);
+                    break;
+                case ZIPF:
+                    ops.cles[i] = cleDuRang[zipf.rang(rnd)];
+                    break;
+                default:
+                    ops.cles[i] = Math.max(0, prochaine - 1 - zipf.rang(rnd));
+            }
+        }
+        return ops;
+    }
+
+    // Rejoue ops sur arbre ; renvoie le nombre d'opérations ayant abouti (à consommer)
+    public static int executer(Collection<Integer> arbre, Operations ops) {
+        int abouties = 0;
+        for (int i = 0; i < ops.types.length; i++) {
+            boolean ok;
+            switch (ops.types[i]) {
+                case LECTURE:
+                    ok = arbre.contains(ops.cles[i]);
+                    break;
+                case INSERTION:
+                    ok = arbre.add(ops.cles[i]);
+                    break;
+                default:
+                    ok = arbre.remove(ops.cles[i]);
+            }
+            if (ok) abouties++;
+        }
+        return abouties;
+    }
+
+    /*
+     * Tire nombre clés de 0..n-1 selon une loi de Zipf d'exposant s : la clé de rang r est
+     * tirée avec une probabilité proportionnelle à 1/r^s. Les rangs sont répartis sur les
+     * clés par une permutation aléatoire, pour que les clés chaudes ne soient pas toutes
+     * les plus petites (ce qui avantagerait l'ABR en insertion croissante).
+     */
+    public static int[] tirageZipf(int n, int nombre, double s, Random rnd) {
+        LoiZipf loi = new LoiZipf(n, s);
+        int[] cleDuRang = permutation(n, rnd);
+        int[] tirage = new int[nombre];
+        for (int i = 0; i < nombre; i++) {
+            tirage[i] = cleDuRang[loi.rang(rnd)];
+        }
+        return tirage;
+    }
+
+    // Permutation aléatoire de 0..n-1 (Fisher-Yates)
+    private static int[] permutation(int n, Random rnd) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) p[i] = i;
+        for (int i = n - 1; i > 0; i--) echanger(p, i, rnd.nextInt(i + 1));
+        return p;
+    }
+
+    private static void echanger(int[] t, int i, int j) {
+        int x = t[i];
+        t[i] = t[j];
+        t[j] = x;
+    }
+
+    // Loi de Zipf sur les rangs 0..n-1, tirée par inversion de la fonction de répartition
+    // (recherche dichotomique)
+    static final class LoiZipf {
+        private final double[] repartition;
+        private final double somme;
+
+        LoiZipf(int n, double s) {
+            repartition = new double[n];
+            double total = 0;
+            for (int r = 0; r < n; r++) {
+                total += 1.0 / Math.pow(r + 1, s);
+                repartition[r] = total;
+            }
+            somme = total;
+        }
+
+        int rang(Random rnd) {
+            int r = Arrays.binarySearch(repartition, rnd.nextDouble() * somme);
+            if (r < 0) r = -r - 1;
+            return Math.min(r, repartition.length - 1);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package ProjetAlgo;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ Encodage binaire des clés d'une sauvegarde d'ARN (voir ARN.sauvegarder et ARN.charger).
+ Les clés sont écrites dans l'ordre de l'arbre : chaque codec reçoit la clé précédente et
+ n'écrit que l'écart avec elle. Entiers et longs sont codés par différence, en zigzag puis
+ en varint (7 bits par octet) : des clés denses tiennent sur un octet. Les chaînes sont
+ codées par préfixe commun avec la précédente, suivi du reste en UTF-8.
+ Le nom du codec est écrit dans l'en-tête du fichier et vérifié au chargement.
+
+ @param <E> type des clés
+ */
+public interface CodecCle<E> {
+
+    // Nom enregistré dans l'en-tête du fichier
+    String nom();
+
+    /**
+     * Écrit cle à la suite de precedent, la clé écrite juste avant (null pour la première).
+     */
+    void ecrire(E precedent, E cle, Sortie sortie) throws IOException;
+
+    /**
+     * Relit la clé écrite à la suite de precedent (null pour la première).
+     */
+    E lire(E precedent, Entree entree) throws IOException;
+
+    CodecCle<Integer> ENTIER = new CodecCle<>() {
+        public String nom() {
+            return "int";
+        }
+
+        // L'écart de deux int tient dans un long : pas de débordement
+        public void ecrire(Integer precedent, Integer cle, Sortie sortie) throws IOException {
+            sortie.varint(zigzag((long) cle - (precedent == null ? 0 : precedent)));
+        }
+
+        public Integer lire(Integer precedent, Entree entree) throws IOException {
+            return (int) ((precedent == null ? 0 : precedent) + dezigzag(entree.varint()));
+        }
+    };
+
+    CodecCle<Long> LONG = new CodecCle<>() {
+        public String nom() {
+            return "long";
+        }
+
+        // L'écart peut déborder : l'arithmétique modulo 2^64 le rend tout de même réversible
+        public void ecrire(Long precedent, Long cle, Sortie sortie) throws IOException {
+            sortie.varint(zigzag(cle - (precedent == null ? 0 : precedent)));
+        }
+
+        public Long lire(Long precedent, Entree entree) throws IOException {
+            return (precedent == null ? 0 : precedent) + dezigzag(entree.varint());
+        }
+    };
+
+    CodecCle<String> CHAINE = new CodecCle<>() {
+        public String nom() {
+            return "string";
+        }
+
+        // Longueur du préfixe commun (en char), puis longueur en octets et octets UTF-8 du reste
+        public void ecrire(String precedent, String cle, Sortie sortie) throws IOException {
+            int p = 0;
+            if (precedent != null) {
+                int max = Math.min(precedent.length(), cle.length());
+                while (p < max && precedent.charAt(p) == cle.charAt(p)) p++;
+                // Ne pas couper une paire de substitution : le reste ne serait plus de l'UTF-16 valide
+                if (p > 0 && Character.isHighSurrogate(cle.charAt(p - 1))) p--;
+            }
+            byte[] reste = cle.substring(p).getBytes(StandardCharsets.UTF_8);
+            sortie.varint(p);
+            sortie.varint(reste.length);
+            sortie.octets(reste);
+        }
+
+        public String lire(String precedent, Entree entree) throws IOException {
+            int p = entree.longueur();
+            if (p > (precedent == null ? 0 : precedent.length())) throw new IOException("Préfixe invalide : " + p);
+            String reste = new String(entree.octets(entree.longueur()), StandardCharsets.UTF_8);
+            return p == 0 ? reste : precedent.substring(0, p) + reste;
+        }
+    };
+
+    // Entiers signés proches de 0 -> petits entiers positifs (0, -1, 1, -2 -> 0, 1, 2, 3)
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long dezigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     Écriture séquentielle dans un FileChannel à travers un tampon direct : le canal ne
+     reçoit que des blocs pleins, sans copie intermédiaire.
+     */
+    final class Sortie {
+        private final FileChannel canal;
+        private final ByteBuffer tampon;
+
+        Sortie(FileChannel canal, int capacite) {
+            this.canal = canal;
+            this.tampon = ByteBuffer.allocateDirect(capacite);
+        }
+
+        public void octet(int b) throws IOException {
+            if (!tampon.hasRemaining()) vider();
+            tampon.put((byte) b);
+        }
+
+        // Entier non signé, 7 bits par octet, bit de poids fort à 1 si un octet suit
+        public void varint(long v) throws IOException {
+            while ((v & ~0x7FL) != 0) {
+                octet((int) (v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            octet((int) v);
+        }
+
+        public void octets(byte[] b) throws IOException {
+            for (int i = 0; i < b.length; ) {
+                if (!tampon.hasRemaining()) vider();
+                int k = Math.min(tampon.remaining(), b.length - i);
+                tampon.put(b, i, k);
+                i += k;
+            }
+        }
+
+        // Envoie au canal tout ce qui est dans le tampon
+        void vider() throws IOException {
+            tampon.flip();
+            while (tampon.hasRemaining()) canal.write(tampon);
+            tampon.clear();
+        }
+    }
+
+    /**
+     Lecture séquentielle d'un FileChannel, symétrique de Sortie. Une fin de fichier
+     au milieu d'une donnée lève EOFException.
+     */
+    final class Entree {
+        private final FileChannel canal;
+        private final ByteBuffer tampon;
+
+        Entree(FileChannel canal, int capacite) {
+            this.canal = canal;
+            this.tampon = ByteBuffer.allocateDirect(capacite);
+            tampon.limit(0);
+        }
+
+        public int octet() throws IOException {
+            if (!tampon.hasRemaining() && !remplir()) throw new EOFException("Fichier tronqué");
+            return tampon.get() & 0xFF;
+        }
+
+        public long varint() throws IOException {
+            long v = 0;
+            for (int decalage = 0; decalage < 64; decalage += 7) {
+                int b = octet();
+                v |= (long) (b & 0x7F) << decalage;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IOException("Varint trop long");
+        }
+
+        // varint borné à un int positif (longueurs, tailles)
+        public int longueur() throws IOException {
+            long v = varint();
+            if (v < 0 || v > Integer.MAX_VALUE) throw new IOException("Longueur invalide : " + v);
+            return (int) v;
+        }
+
+        public byte[] octets(int n) throws IOException {
+            // Longueur lue dans le fichier : vérifiée avant d'allouer, un fichier abîmé
+            // pourrait sinon demander un tableau de 2 Go
+            if (n > tampon.remaining() && n - tampon.remaining() > canal.size() - canal.position()) {
+                throw new IOException("Longueur au-delà de la fin du fichier : " + n);
+            }
+            byte[] b = new byte[n];
+            for (int i = 0; i < n; ) {
+                if (!tampon.hasRemaining() && !remplir()) throw new EOFException("Fichier tronqué");
+                int k = Math.min(tampon.remaining(), n - i);
+                tampon.get(b, i, k);
+                i += k;
+            }
+            return b;
+        }
+
+        // true s'il ne reste rien à lire, ni dans le tampon ni dans le canal
+        boolean fin() throws IOException {
+            return !tampon.hasRemaining() && !remplir();
+        }
+
+        // Recharge le tampon (vide) ; false en fin de fichier
+        private boolean remplir() throws IOException {
+            tampon.clear();
+            int lus;
+            do {
+                lus = canal.read(tampon);
+            } while (lus == 0);
+            tampon.flip();
+            return lus > 0;
+        }
+    }
+}
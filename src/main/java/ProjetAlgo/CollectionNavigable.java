@@ -0,0 +1,72 @@
+package ProjetAlgo;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ Collection triée navigable : les méthodes de NavigableSet, sans son contrat d'ensemble.
+ Une même clé peut être présente plusieurs fois (add ajoute toujours) et equals/hashCode
+ restent ceux d'Object ; une vue par intervalle contient toutes les occurrences des clés
+ comprises entre ses bornes. Pour une vue qui respecte le contrat de Set, voir
+ ARN.ensemble().
+ Les bornes et les voisins sont définis par comparator(), null désignant l'ordre naturel.
+
+ @param <E> type des éléments de la collection
+ */
+public interface CollectionNavigable<E> extends Collection<E> {
+
+    // Comparateur de l'ordre de parcours, null pour l'ordre naturel
+    Comparator<? super E> comparator();
+
+    // Plus petit élément ; NoSuchElementException si la collection est vide
+    E first();
+
+    // Plus grand élément ; NoSuchElementException si la collection est vide
+    E last();
+
+    // Plus grand élément strictement inférieur à e, null s'il n'y en a pas
+    E lower(E e);
+
+    // Plus grand élément inférieur ou égal à e, null s'il n'y en a pas
+    E floor(E e);
+
+    // Plus petit élément supérieur ou égal à e, null s'il n'y en a pas
+    E ceiling(E e);
+
+    // Plus petit élément strictement supérieur à e, null s'il n'y en a pas
+    E higher(E e);
+
+    // Retire et renvoie une occurrence du plus petit élément, null si la collection est vide
+    E pollFirst();
+
+    // Retire et renvoie une occurrence du plus grand élément, null si la collection est vide
+    E pollLast();
+
+    Iterator<E> descendingIterator();
+
+    // Vue vivante parcourue dans l'ordre inverse
+    CollectionNavigable<E> descendingSet();
+
+    /**
+     * Vue vivante sur les éléments compris entre deux bornes.
+     *
+     * @throws IllegalArgumentException si deElement est après aElement
+     */
+    CollectionNavigable<E> subSet(E deElement, boolean deInclus, E aElement, boolean aInclus);
+
+    CollectionNavigable<E> headSet(E aElement, boolean inclus);
+
+    CollectionNavigable<E> tailSet(E deElement, boolean inclus);
+
+    // Bornes [deElement, aElement)
+    CollectionNavigable<E> subSet(E deElement, E aElement);
+
+    // Éléments strictement inférieurs à aElement
+    CollectionNavigable<E> headSet(E aElement);
+
+    // Éléments supérieurs ou égaux à deElement
+    CollectionNavigable<E> tailSet(E deElement);
+}
@@ -8,12 +8,14 @@ import java.util.List;
  *       BAOUCHE Mohamed Djaouad
  */
 public class EtudeExperimentale{
+    // Ordre du B-arbre comparé, réglable par -DarbreB.ordre=...
+    private static final int ORDRE_B = Integer.getInteger("arbreB.ordre", ArbreB.ORDRE_DEFAUT);
 
     public static void main(String[] args) {
         // Tailles des ensembles de données
         int[] tailles = {100, 1000, 2500, 5000, 7500, 10000, 30000, 50000, 75000, 100000};
 
-        System.out.println("\nÉtude expérimentale des performances des ABR et ARN");
+        System.out.println("\nÉtude expérimentale des performances des ABR, ARN, B-arbres (ordre " + ORDRE_B + ") et AVL");
         System.out.println("\nConstruction en cas favorable: insertion aléatoire");
         afficherResultats(tailles, true);
         System.out.println("\nConstruction en cas défavorable: insertion  en cas croissant");
@@ -22,37 +24,67 @@ public class EtudeExperimentale{
         afficherResultatsRecherche(tailles, true);
         System.out.println("\nRecherche en cas défavorable: insertion  en cas croissant");
         afficherResultatsRecherche(tailles, false);
+        System.out.println("\nHauteur mesurée: insertion en cas aléatoire");
+        afficherHauteurs(tailles, true);
+        System.out.println("\nHauteur mesurée: insertion en cas croissant");
+        afficherHauteurs(tailles, false);
+    }
+
+    private static void afficherHauteurs(int[] tailles, boolean aleatoire) {
+        System.out.println("--------------------------------------------------------------------------------");
+        System.out.printf("%-10s %-15s %-15s %-15s %-15s%n", "Taille", "Hauteur ABR", "Hauteur ARN", "Hauteur AVL", "log2(n)");
+        System.out.println("--------------------------------------------------------------------------------");
+
+        for (int taille : tailles) {
+            List<Integer> cles = genererCles(taille, aleatoire);
+            ABR<Integer> abr = new ABR<>(cles);
+            ARN<Integer> arn = new ARN<>(); // insertions une à une, pas la construction en bloc
+            for (int cle : cles) arn.add(cle);
+            AVL<Integer> avl = new AVL<>(cles);
+
+            System.out.printf("%-10d %-15d %-15d %-15d %-15.1f%n", taille, abr.hauteur(), arn.hauteur(), avl.hauteur(),
+                    Math.log(taille) / Math.log(2));
+        }
+
+        System.out.println("--------------------------------------------------------------------------------");
     }
     
     
     private static void afficherResultatsRecherche(int[] tailles, boolean aleatoire) {
-    	System.out.println("--------------------------------------------");
-        System.out.printf("%-10s %-20s %-20s%n", "Taille", "Temps ABR ", "Temps ARN");
-        System.out.println("--------------------------------------------");
+    	System.out.println("------------------------------------------------------------------------------------");
+        System.out.printf("%-10s %-20s %-20s %-20s %-20s%n", "Taille", "Temps ABR ", "Temps ARN", "Temps B-arbre", "Temps AVL");
+        System.out.println("------------------------------------------------------------------------------------");
 
         for (int taille : tailles) {
             List<Integer> cles = genererCles(taille, aleatoire);
             ABR<Integer> abr = new ABR<>();
             ARN<Integer> arn = new ARN<>();
+            ArbreB<Integer> arbreB = new ArbreB<>(ORDRE_B);
+            AVL<Integer> avl = new AVL<>();
 
             for (int cle : cles) {   // pre remplire les structure
                 abr.add(cle);
                 arn.add(cle);
+                arbreB.add(cle);
+                avl.add(cle);
             }
              int tempsRechercheABR = (int) mesurerTempsRecherche(abr, taille);   // Mesure des temps de recherche pour ABR
             int tempsRechercheARN = (int) mesurerTempsRecherche(arn, taille);      // Mesure des temps de recherche pour ARN
+            int tempsRechercheB = (int) mesurerTempsRecherche(arbreB, taille);
+            int tempsRechercheAVL = (int) mesurerTempsRecherche(avl, taille);
 
-            System.out.printf("%-10d %-20d %-20d%n", taille, tempsRechercheABR, tempsRechercheARN);
+            System.out.printf("%-10d %-20d %-20d %-20d %-20d%n", taille, tempsRechercheABR, tempsRechercheARN, tempsRechercheB,
+                    tempsRechercheAVL);
         }
 
-        System.out.println("--------------------------------------------");
+        System.out.println("------------------------------------------------------------------------------------");
     }
     
     
     private static void afficherResultats(int[] tailles, boolean aleatoire) {
-    	System.out.println("--------------------------------------------");
-        System.out.printf("%-10s %-20s %-20s%n", "Taille", "Temps ABR ", "Temps ARN ");
-        System.out.println("--------------------------------------------");
+    	System.out.println("------------------------------------------------------------------------------------");
+        System.out.printf("%-10s %-20s %-20s %-20s %-20s%n", "Taille", "Temps ABR ", "Temps ARN ", "Temps B-arbre ", "Temps AVL ");
+        System.out.println("------------------------------------------------------------------------------------");
 
         for (int taille : tailles) {
             List<Integer> cles = genererCles(taille, aleatoire);
@@ -60,11 +92,13 @@ public class EtudeExperimentale{
 
             // Mesure des temps de construction pour ARN
             int tempsARN = (int) mesurerTempsConstruction(new ARN<>(), cles);
+            int tempsB = (int) mesurerTempsConstruction(new ArbreB<>(ORDRE_B), cles);
+            int tempsAVL = (int) mesurerTempsConstruction(new AVL<>(), cles);
 
-            System.out.printf("%-10d %-20d %-20d%n", taille, tempsABR, tempsARN);
+            System.out.printf("%-10d %-20d %-20d %-20d %-20d%n", taille, tempsABR, tempsARN, tempsB, tempsAVL);
         }
 
-        System.out.println("--------------------------------------------");
+        System.out.println("------------------------------------------------------------------------------------");
     }
 
     
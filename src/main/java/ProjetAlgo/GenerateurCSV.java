@@ -4,11 +4,21 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.Reference;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
 /*auteur BENNABI ghiles Rayane
  *       BAOUCHE Mohamed Djaouad
  */
@@ -18,9 +28,45 @@ public class GenerateurCSV {
     private static final int[] NS = {100, 1000, 2500, 5000, 7500, 10000, 30000, 50000, 75000, 100000};
     private static final int REPETITIONS = 7;
     private static final int WARMUP = 2;
-    private static final long SEED = 123456789L;
+    static final long SEED = 123456789L;
+    // Ordre du B-arbre mesuré, réglable par -DarbreB.ordre=... pour comparer plusieurs valeurs
+    private static final int ORDRE_B = Integer.getInteger("arbreB.ordre", ArbreB.ORDRE_DEFAUT);
+    // Exposant de la loi de Zipf des recherches biaisées (0.99 comme YCSB), -Dzipf.s=...
+    private static final double ZIPF_S = Double.parseDouble(System.getProperty("zipf.s", "0.99"));
+    // Ordres d'insertion mesurés (une ligne par ordre et par n), -Dordres=random,sorted,reverse,zigzag,...
+    private static final String ORDRES = System.getProperty("ordres", "random,sorted");
+    // Charges mixtes mesurées sur chaque structure (colonnes <nom du mélange>_<structure>_ns)
+    private static final ChargeDeTravail.Melange[] MELANGES = {
+            ChargeDeTravail.YCSB_A, ChargeDeTravail.YCSB_B, ChargeDeTravail.YCSB_C, ChargeDeTravail.YCSB_D};
+    // Centiles des latences par opération (colonnes lat_<op>_<structure>_<centile>_ns, puis _max_ns)
+    private static final double[] CENTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final String[] NOMS_CENTILES = {"p50", "p90", "p99", "p999"};
+    private static final String[] OPERATIONS_LATENCE = {"add", "search", "remove"};
+    /*
+     * Structures mesurées, dans l'ordre des colonnes : toute Collection<Integer> peut s'y
+     * ajouter et obtient alors toutes les colonnes par structure (build_<nom>_ns,
+     * search_<nom>_ns, zipf_<nom>_ns, remove_<nom>_ns, mem_<nom>_octets, ycsb_*, lat_*,
+     * alloc_*, gc_*). treeset, skiplist (ConcurrentSkipListSet) et hashset sont les structures
+     * du JDK servant de référence.
+     */
+    static final Map<String, Supplier<Collection<Integer>>> STRUCTURES = new LinkedHashMap<>();
+    static {
+        STRUCTURES.put("abr", ABR::new);
+        STRUCTURES.put("arn", ARN::new);
+        STRUCTURES.put("intarn", IntARN::new);
+        STRUCTURES.put("arbreb", () -> new ArbreB<>(ORDRE_B));
+        STRUCTURES.put("avl", AVL::new);
+        STRUCTURES.put("splay", ArbreSplay::new);
+        STRUCTURES.put("abr_sans_pere", ABRSansPere::new);
+        STRUCTURES.put("treeset", TreeSet::new);
+        STRUCTURES.put("skiplist", ConcurrentSkipListSet::new);
+        STRUCTURES.put("hashset", HashSet::new);
+    }
+    // Compteur d'octets alloués par thread de HotSpot, null si la JVM ne le fournit pas
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = compteurAllocations();
 
     public static void main(String[] args) throws Exception {
+        new Releve(); // le premier relevé crée les MXBeans des GC : ces allocations ne doivent pas compter
         File outDir = new File("target/bench");
         if (!outDir.exists() && !outDir.mkdirs()) {
             throw new IllegalStateException("Impossible de créer : " + outDir.getPath());
@@ -31,12 +77,20 @@ public class GenerateurCSV {
         try (PrintWriter out = new PrintWriter(
                 new OutputStreamWriter(new FileOutputStream(csv), StandardCharsets.UTF_8))) {
 
-            out.println("n,mode,build_abr_ns,build_arn_ns,search_abr_ns,search_arn_ns");
+            ArrayList<ChargeDeTravail.Ordre> ordres = new ArrayList<>();
+            for (String nom : ORDRES.split(",")) ordres.add(ChargeDeTravail.Ordre.parNom(nom.trim()));
 
+            boolean entete = true;
             for (int n : NS) {
                 System.out.println("Test en cours pour n = " + n + "...");
-                writeLine(out, n, true);   // random
-                writeLine(out, n, false);  // sorted
+                for (ChargeDeTravail.Ordre ordre : ordres) {
+                    Map<String, String> ligne = mesurer(n, ordre);
+                    if (entete) {
+                        out.println(String.join(",", ligne.keySet()));
+                        entete = false;
+                    }
+                    out.println(String.join(",", ligne.values()));
+                }
                 out.flush();
             }
         }
@@ -44,71 +98,274 @@ public class GenerateurCSV {
         System.out.println("CSV généré : " + csv.getPath());
     }
 
-    private static void writeLine(PrintWriter out, int n, boolean randomMode) {
-        String mode = randomMode ? "random" : "sorted";
+    /*
+     * Mesure une ligne du CSV (n, ordre d'insertion) : colonne -> valeur, dans l'ordre des
+     * colonnes, l'en-tête étant les clés de la première ligne.
+     * Les boucles chronométrées sont les mêmes pour toutes les structures (appels par
+     * l'interface Collection) : aucune ne profite d'un site d'appel monomorphe, et donc d'un
+     * add ou d'un contains inliné, que les autres n'auraient pas.
+     */
+    private static Map<String, String> mesurer(int n, ChargeDeTravail.Ordre ordre) {
         Random rnd = new Random(SEED);
 
-        ArrayList<Integer> keys = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) keys.add(i);
-        if (randomMode) Collections.shuffle(keys, rnd); // sinon sorted (0..n-1)
+        ArrayList<Integer> keys = ChargeDeTravail.cles(n, ordre, rnd);
+        int[] zipf = ChargeDeTravail.tirageZipf(n, 2 * n, ZIPF_S, new Random(SEED + 1));
+        ChargeDeTravail.Operations[] charges = new ChargeDeTravail.Operations[MELANGES.length];
+        for (int m = 0; m < MELANGES.length; m++) {
+            charges[m] = ChargeDeTravail.generer(n, MELANGES[m], n, new Random(SEED + 2 + m), ZIPF_S);
+        }
 
         // warmup JVM
         for (int i = 0; i < WARMUP; i++) {
-            ABR<Integer> abrW = new ABR<>();
-            ARN<Integer> arnW = new ARN<>();
-            build(abrW, keys);
-            build(arnW, keys);
-            search(abrW, 2 * n);
-            search(arnW, 2 * n);
+            for (Supplier<Collection<Integer>> fabrique : STRUCTURES.values()) {
+                Collection<Integer> t = fabrique.get();
+                build(t, keys);
+                search(t, 2 * n);
+                lookup(t, zipf);
+                remove(t, keys);
+                ChargeDeTravail.executer(t, charges[0]);
+            }
+            new ARN<>(keys);
         }
 
-        long buildAbr = 0, buildArn = 0, searchAbr = 0, searchArn = 0;
+        int nb = STRUCTURES.size();
+        long[] build = new long[nb], search = new long[nb], zipfT = new long[nb], remove = new long[nb];
+        long buildBloc = 0;
 
         for (int rep = 0; rep < REPETITIONS; rep++) {
-            ABR<Integer> abr = new ABR<>();
-            long t0 = System.nanoTime();
-            build(abr, keys);
-            long t1 = System.nanoTime();
-            buildAbr += (t1 - t0);
-
-            ARN<Integer> arn = new ARN<>();
-            long t2 = System.nanoTime();
-            build(arn, keys);
-            long t3 = System.nanoTime();
-            buildArn += (t3 - t2);
-
-            long t4 = System.nanoTime();
-            search(abr, 2 * n);
-            long t5 = System.nanoTime();
-            searchAbr += (t5 - t4);
+            int j = 0;
+            for (Map.Entry<String, Supplier<Collection<Integer>>> e : STRUCTURES.entrySet()) {
+                Collection<Integer> t = e.getValue().get();
+                long t0 = System.nanoTime();
+                build(t, keys);
+                long t1 = System.nanoTime();
+                search(t, 2 * n);
+                long t2 = System.nanoTime();
+                // Recherches biaisées : 2n clés présentes tirées selon une loi de Zipf
+                lookup(t, zipf);
+                long t3 = System.nanoTime();
+                // Suppression de toutes les clés, dans l'ordre d'insertion
+                remove(t, keys);
+                long t4 = System.nanoTime();
+                if (!t.isEmpty()) throw new IllegalStateException("Suppression incomplète : " + e.getKey());
+                build[j] += t1 - t0;
+                search[j] += t2 - t1;
+                zipfT[j] += t3 - t2;
+                remove[j] += t4 - t3;
+                j++;
+            }
 
+            // Construction en bloc (tri préalable compris en mode random)
+            long t5 = System.nanoTime();
+            ARN<Integer> bloc = new ARN<>(keys);
             long t6 = System.nanoTime();
-            search(arn, 2 * n);
-            long t7 = System.nanoTime();
-            searchArn += (t7 - t6);
+            buildBloc += (t6 - t5);
+            if (bloc.size() != n) throw new IllegalStateException();
+        }
+
+        Map<String, String> ligne = new LinkedHashMap<>();
+        ligne.put("n", Integer.toString(n));
+        ligne.put("mode", ordre.nom);
+        int j = 0;
+        for (String nom : STRUCTURES.keySet()) {
+            ligne.put("build_" + nom + "_ns", Long.toString(build[j] / REPETITIONS));
+            ligne.put("search_" + nom + "_ns", Long.toString(search[j] / REPETITIONS));
+            ligne.put("zipf_" + nom + "_ns", Long.toString(zipfT[j] / REPETITIONS));
+            ligne.put("remove_" + nom + "_ns", Long.toString(remove[j] / REPETITIONS));
+            j++;
+        }
+        ligne.put("build_arn_bloc_ns", Long.toString(buildBloc / REPETITIONS));
+
+        // Empreinte mémoire : les clés sont reboxées, comme en production.
+        // Les colonnes octets_elt_* divisent par n : nœud + Integer (16 octets) par élément
+        for (Map.Entry<String, Supplier<Collection<Integer>>> e : STRUCTURES.entrySet()) {
+            long mem = empreinte(() -> { Collection<Integer> t = e.getValue().get(); buildBoxed(t, keys); return t; });
+            ligne.put("mem_" + e.getKey() + "_octets", Long.toString(mem));
+            ligne.put("octets_elt_" + e.getKey(), String.format(Locale.US, "%.1f", mem / (double) n));
         }
 
-        buildAbr /= REPETITIONS;
-        buildArn /= REPETITIONS;
-        searchAbr /= REPETITIONS;
-        searchArn /= REPETITIONS;
+        // Compteurs d'opérations (voir Statistiques), sur une passe séparée des mesures de temps :
+        // construction par n insertions puis 2n recherches (n trouvées, n absentes)
+        ABR<Integer> abrS = new ABR<>();
+        ARN<Integer> arnS = new ARN<>();
+        abrS.activerStatistiques(true);
+        arnS.activerStatistiques(true);
+        build(abrS, keys);
+        build(arnS, keys);
+        Statistiques constructionAbr = abrS.statistiques();
+        Statistiques constructionArn = arnS.statistiques();
+        search(abrS, 2 * n);
+        search(arnS, 2 * n);
+        AVL<Integer> avl = new AVL<>();
+        build(avl, keys);
+        ligne.put("hauteur_abr", Integer.toString(constructionAbr.hauteur()));
+        ligne.put("hauteur_arn", Integer.toString(constructionArn.hauteur()));
+        ligne.put("hauteur_avl", Integer.toString(avl.hauteur()));
+        ligne.put("cmp_build_abr", Long.toString(constructionAbr.comparaisons()));
+        ligne.put("cmp_build_arn", Long.toString(constructionArn.comparaisons()));
+        ligne.put("cmp_search_abr", Long.toString(abrS.statistiques().comparaisons() - constructionAbr.comparaisons()));
+        ligne.put("cmp_search_arn", Long.toString(arnS.statistiques().comparaisons() - constructionArn.comparaisons()));
+        ligne.put("rotations_arn", Long.toString(constructionArn.rotations()));
+        ligne.put("recolorations_arn", Long.toString(constructionArn.recolorations()));
+        ligne.put("corrections_arn", Long.toString(constructionArn.iterationsCorrection()));
+        ligne.put("profondeur_moy_abr", String.format(Locale.US, "%.2f", constructionAbr.profondeurMoyenne()));
+        ligne.put("profondeur_moy_arn", String.format(Locale.US, "%.2f", constructionArn.profondeurMoyenne()));
+        ligne.put("hauteur_noire_arn", Integer.toString(constructionArn.hauteurNoire()));
 
-        out.printf(Locale.US, "%d,%s,%d,%d,%d,%d%n", n, mode, buildAbr, buildArn, searchAbr, searchArn);
+        // Charges mixtes : n opérations sur une structure construite dans l'ordre de la ligne.
+        // Chaque charge modifie la structure : une seule exécution par charge, sur une structure neuve
+        for (int m = 0; m < MELANGES.length; m++) {
+            for (Map.Entry<String, Supplier<Collection<Integer>>> e : STRUCTURES.entrySet()) {
+                Collection<Integer> t = e.getValue().get();
+                build(t, keys);
+                long c0 = System.nanoTime();
+                ChargeDeTravail.executer(t, charges[m]);
+                ligne.put(MELANGES[m].nom + "_" + e.getKey() + "_ns", Long.toString(System.nanoTime() - c0));
+            }
+        }
+
+        // Latences par opération (voir HistogrammeLatences), sur une passe séparée
+        for (Map.Entry<String, Supplier<Collection<Integer>>> e : STRUCTURES.entrySet()) {
+            HistogrammeLatences[] lat = latences(e.getValue().get(), keys, n);
+            for (int op = 0; op < OPERATIONS_LATENCE.length; op++) {
+                String prefixe = "lat_" + OPERATIONS_LATENCE[op] + "_" + e.getKey() + "_";
+                for (int c = 0; c < CENTILES.length; c++) {
+                    ligne.put(prefixe + NOMS_CENTILES[c] + "_ns", Long.toString(lat[op].quantile(CENTILES[c])));
+                }
+                ligne.put(prefixe + "max_ns", Long.toString(lat[op].max()));
+            }
+        }
+
+        // Allocations et GC par structure, sur une passe séparée
+        for (Map.Entry<String, Supplier<Collection<Integer>>> e : STRUCTURES.entrySet()) {
+            comptabiliser(ligne, e.getKey(), e.getValue().get(), keys, n);
+        }
+        return ligne;
     }
 
-    private static void build(ABR<Integer> tree, Iterable<Integer> keys) {
-        for (Integer k : keys) tree.add(k);
+    /*
+     * Construit arbre avec les clés de la ligne puis cherche 0..2n-1, et ajoute à ligne les
+     * colonnes de la structure : octets alloués par insertion et par recherche (compteur
+     * d'allocation du thread, -1 s'il n'est pas disponible), puis nombre et durée des GC
+     * survenus pendant la passe. Les clés insérées existent déjà : seule la structure alloue
+     * à la construction. La recherche alloue les Integer des clés hors du cache -128..127.
+     */
+    private static void comptabiliser(Map<String, String> ligne, String nom, Collection<Integer> arbre,
+                                      ArrayList<Integer> keys, int n) {
+        Releve debut = new Releve();
+        for (Integer k : keys) arbre.add(k);
+        Releve construit = new Releve();
+        for (int i = 0; i < 2 * n; i++) arbre.contains(i);
+        Releve fin = new Releve();
+        double allocBuild = debut.octets < 0 ? -1 : (construit.octets - debut.octets) / (double) n;
+        double allocSearch = debut.octets < 0 ? -1 : (fin.octets - construit.octets) / (2.0 * n);
+        ligne.put("alloc_build_" + nom + "_octets_op", String.format(Locale.US, "%.1f", allocBuild));
+        ligne.put("alloc_search_" + nom + "_octets_op", String.format(Locale.US, "%.1f", allocSearch));
+        ligne.put("gc_" + nom + "_nombre", Long.toString(fin.gcNombre - debut.gcNombre));
+        ligne.put("gc_" + nom + "_ms", Long.toString(fin.gcMs - debut.gcMs));
+    }
+
+    // Octets alloués par le thread courant et GC cumulés (tous collecteurs) à un instant donné
+    private static final class Releve {
+        final long octets;
+        final long gcNombre;
+        final long gcMs;
+
+        Releve() {
+            octets = ALLOCATIONS == null ? -1 : ALLOCATIONS.getCurrentThreadAllocatedBytes();
+            long nombre = 0, ms = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                nombre += Math.max(0, gc.getCollectionCount()); // -1 si non défini
+                ms += Math.max(0, gc.getCollectionTime());
+            }
+            gcNombre = nombre;
+            gcMs = ms;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean compteurAllocations() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported()) return null;
+        hotspot.setThreadAllocatedMemoryEnabled(true);
+        return hotspot;
+    }
+
+    /*
+     * Chronomètre isolément chaque add (clés de la ligne), chaque contains (0..2n-1) puis
+     * chaque remove sur arbre, initialement vide. Chaque mesure inclut l'appel à nanoTime
+     * (quelques dizaines de ns) : les petits centiles surestiment donc le coût réel, mais la
+     * queue (p99, p999, max) est celle que voit un appelant, pauses du GC comprises.
+     * Renvoie les histogrammes d'insertion, de recherche et de suppression.
+     */
+    private static HistogrammeLatences[] latences(Collection<Integer> arbre, ArrayList<Integer> keys, int n) {
+        HistogrammeLatences ajout = new HistogrammeLatences();
+        HistogrammeLatences recherche = new HistogrammeLatences();
+        HistogrammeLatences suppression = new HistogrammeLatences();
+        for (Integer k : keys) {
+            long t0 = System.nanoTime();
+            arbre.add(k);
+            ajout.enregistrer(System.nanoTime() - t0);
+        }
+        for (int i = 0; i < 2 * n; i++) {
+            Integer k = i; // boxing hors de la mesure
+            long t0 = System.nanoTime();
+            arbre.contains(k);
+            recherche.enregistrer(System.nanoTime() - t0);
+        }
+        for (Integer k : keys) {
+            long t0 = System.nanoTime();
+            arbre.remove(k);
+            suppression.enregistrer(System.nanoTime() - t0);
+        }
+        return new HistogrammeLatences[] {ajout, recherche, suppression};
+    }
+
+    /*
+     * Mesure la place occupée dans le tas (après GC) par la structure construite par fabrique :
+     * tas avec la structure vivante moins tas une fois la structure abandonnée. Mesurer
+     * "avant/après construction" est moins fiable : un objet temporaire des boucles
+     * précédentes peut encore être vivant au premier relevé. La mesure est faite deux fois
+     * et la plus petite est retenue, la première pouvant inclure des déchets non encore libérés.
+     */
+    private static long empreinte(Supplier<Object> fabrique) {
+        long min = Long.MAX_VALUE;
+        for (int essai = 0; essai < 2; essai++) {
+            Object structure = fabrique.get();
+            long vivante = memoireUtilisee();
+            Reference.reachabilityFence(structure);
+            structure = null;
+            min = Math.min(min, vivante - memoireUtilisee());
+        }
+        return Math.max(0, min);
+    }
+
+    private static long memoireUtilisee() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
     }
 
-    private static void build(ARN<Integer> tree, Iterable<Integer> keys) {
+    // Insère des Integer fraîchement alloués (hors cache -128..127)
+    private static void buildBoxed(Collection<Integer> tree, Iterable<Integer> keys) {
+        for (Integer k : keys) tree.add(Integer.valueOf(k.intValue()));
+    }
+
+    private static void build(Collection<Integer> tree, Iterable<Integer> keys) {
         for (Integer k : keys) tree.add(k);
     }
 
-    private static void search(ABR<Integer> tree, int limitExclusive) {
+    private static void search(Collection<Integer> tree, int limitExclusive) {
         for (int x = 0; x < limitExclusive; x++) tree.contains(x);
     }
 
-    private static void search(ARN<Integer> tree, int limitExclusive) {
-        for (int x = 0; x < limitExclusive; x++) tree.contains(x);
+    // Recherche des clés tirées à l'avance (loi de Zipf)
+    private static void lookup(Collection<Integer> tree, int[] requetes) {
+        for (int x : requetes) tree.contains(x);
+    }
+
+    private static void remove(Collection<Integer> tree, Iterable<Integer> keys) {
+        for (Integer k : keys) tree.remove(k);
     }
-}
\ No newline at end of file
+}
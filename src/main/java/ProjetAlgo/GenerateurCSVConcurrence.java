@@ -0,0 +1,231 @@
+package ProjetAlgo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Débit d'une structure partagée entre plusieurs threads : chaque thread enchaîne des
+lectures (contains d'une clé de 0..2n-1) et des écritures (add ou remove d'une clé impaire)
+dans la proportion demandée, sur une structure contenant au départ les n clés paires.
+Chaque thread a ses propres clés impaires (2j+1 avec j congru à son numéro modulo le
+nombre de threads) et retient lesquelles il a ajoutées : il retire une clé présente et
+ajoute une clé absente. Aucune clé n'est donc insérée deux fois, même dans les structures
+qui acceptent les doublons (ARN), et toutes les structures comparées gardent le même
+contenu, entre n et 2n éléments, quelle que soit la durée.
+Chaque cellule (structure, sorte de threads, nombre de threads, proportion de lectures)
+tourne ECHAUFFEMENT_MS puis DUREE_MS ; seules les opérations de la seconde période sont
+comptées. L'efficacité est le débit rapporté à celui d'un thread de la même structure et de
+la même sorte, divisé par le nombre de threads (1 = passage à l'échelle parfait).
+Les threads virtuels demandent Java 21 : sur une JVM plus ancienne ils sont ignorés. Un
+thread virtuel bloqué dans un bloc synchronized immobilise son thread porteur (jusqu'à
+Java 23), ce que mesurent justement les structures synchronisées.
+Résultats dans target/bench/debit.csv, une ligne par cellule, écrite dès qu'elle est mesurée.
+ */
+public class GenerateurCSVConcurrence {
+
+    // Taille initiale de la structure, -Dn=...
+    private static final int N = Integer.getInteger("n", 100_000);
+    // Nombres de threads, -Dthreads=1,2,4 ; par défaut les puissances de 2 jusqu'au double des cœurs
+    private static final String THREADS = System.getProperty("threads", threadsParDefaut());
+    // Proportions de lectures, une ligne par valeur, -Dlectures=1,0.9,0.5
+    private static final String LECTURES = System.getProperty("lectures", "1,0.95,0.5");
+    // Sortes de threads, -Dfils=plateforme,virtuel
+    private static final String FILS = System.getProperty("fils", "plateforme,virtuel");
+    private static final long ECHAUFFEMENT_MS = Long.getLong("echauffement.ms", 500);
+    private static final long DUREE_MS = Long.getLong("duree.ms", 2000);
+
+    /*
+     * Structures partagées mesurées, dans l'ordre des lignes : toute Collection<Integer> sûre
+     * entre threads peut s'y ajouter. ABR et ARN derrière un verrou global sont les
+     * références ; ARNConcurrent lit sans verrou (StampedLock optimiste) ;
+     * ConcurrentSkipListSet est la structure ordonnée concurrente du JDK.
+     */
+    static final Map<String, Supplier<Collection<Integer>>> STRUCTURES = new LinkedHashMap<>();
+    static {
+        STRUCTURES.put("abr_synchronise", () -> Collections.synchronizedCollection(new ABR<Integer>()));
+        STRUCTURES.put("arn_synchronise", () -> Collections.synchronizedCollection(new ARN<Integer>()));
+        STRUCTURES.put("arn_stampedlock", ARNConcurrent::new);
+        STRUCTURES.put("skiplist", ConcurrentSkipListSet::new);
+    }
+
+    // Phases d'une cellule, lues par les threads à chaque opération
+    private static final int ECHAUFFEMENT = 0, MESURE = 1, ARRET = 2;
+    private static volatile int phase;
+    // Résultats des lectures, publiés pour que les contains ne soient pas éliminés
+    private static volatile long puits;
+
+    public static void main(String[] args) throws Exception {
+        File outDir = new File("target/bench");
+        if (!outDir.exists() && !outDir.mkdirs()) {
+            throw new IllegalStateException("Impossible de créer : " + outDir.getPath());
+        }
+        File csv = new File(outDir, "debit.csv");
+
+        int[] threads = entiers(THREADS);
+        String[] lectures = LECTURES.split(",");
+        Map<String, ThreadFactory> sortes = new LinkedHashMap<>();
+        for (String sorte : FILS.split(",")) {
+            ThreadFactory fabrique = fabriqueThreads(sorte.trim());
+            if (fabrique == null) {
+                System.out.println("Threads " + sorte.trim() + " indisponibles sur Java "
+                        + Runtime.version().feature() + " : ignorés");
+            } else {
+                sortes.put(sorte.trim(), fabrique);
+            }
+        }
+        // Clés paires 0..2n-2, insérées dans un ordre aléatoire (l'ABR reste équilibré en moyenne)
+        int[] cles = ChargeDeTravail.clesTableau(N, ChargeDeTravail.Ordre.ALEATOIRE, new Random(GenerateurCSV.SEED));
+        for (int i = 0; i < N; i++) cles[i] *= 2;
+
+        try (PrintWriter out = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(csv), StandardCharsets.UTF_8))) {
+            out.println("structure,fils,lectures,threads,n,ops_s,efficacite");
+
+            for (String l : lectures) {
+                double proportion = Double.parseDouble(l.trim());
+                if (proportion < 0 || proportion > 1) {
+                    throw new IllegalArgumentException("Proportion de lectures hors de [0, 1] : " + proportion);
+                }
+                for (Map.Entry<String, Supplier<Collection<Integer>>> e : STRUCTURES.entrySet()) {
+                    for (Map.Entry<String, ThreadFactory> sorte : sortes.entrySet()) {
+                        double debitUn = -1;
+                        for (int t : threads) {
+                            double debit = mesurer(e.getValue(), sorte.getValue(), t, proportion, cles);
+                            if (t == 1) debitUn = debit;
+                            double efficacite = debitUn <= 0 ? Double.NaN : debit / debitUn / t;
+                            out.printf(Locale.US, "%s,%s,%s,%d,%d,%.0f,%.3f%n", e.getKey(), sorte.getKey(),
+                                    l.trim(), t, N, debit, efficacite);
+                            out.flush();
+                            System.out.printf(Locale.US, "%s %s lectures=%s threads=%d : %.0f ops/s%n",
+                                    e.getKey(), sorte.getKey(), l.trim(), t, debit);
+                        }
+                    }
+                }
+            }
+        }
+
+        System.out.println("CSV généré : " + csv.getPath());
+    }
+
+    /*
+     * Débit (opérations par seconde, tous threads confondus) de nbThreads threads créés par
+     * fabrique sur une structure neuve contenant cles.
+     */
+    private static double mesurer(Supplier<Collection<Integer>> structure, ThreadFactory fabrique,
+                                  int nbThreads, double lectures, int[] cles) throws InterruptedException {
+        Collection<Integer> partagee = structure.get();
+        for (int k : cles) partagee.add(k);
+        // Seuil sur 24 bits aléatoires : lecture si le tirage est inférieur
+        int seuil = (int) Math.round(lectures * (1 << 24));
+        long[] operations = new long[nbThreads];
+
+        phase = ECHAUFFEMENT;
+        Thread[] fils = new Thread[nbThreads];
+        for (int i = 0; i < nbThreads; i++) {
+            int indice = i;
+            fils[i] = fabrique.newThread(() -> operations[indice] = travailler(partagee, seuil, indice, nbThreads));
+            fils[i].start();
+        }
+        Thread.sleep(ECHAUFFEMENT_MS);
+        phase = MESURE;
+        long t0 = System.nanoTime();
+        Thread.sleep(DUREE_MS);
+        phase = ARRET;
+        long t1 = System.nanoTime();
+        for (Thread f : fils) f.join();
+
+        long total = 0;
+        for (long o : operations) total += o;
+        return total * 1e9 / (t1 - t0);
+    }
+
+    /*
+     * Boucle du thread numéro indice sur nbThreads ; renvoie le nombre d'opérations faites
+     * pendant la phase de mesure. Les écritures portent sur les clés 2j+1, j = indice modulo
+     * nbThreads, qu'aucun autre thread ne touche : presentes[j / nbThreads] suffit à savoir
+     * si la clé est dans la structure.
+     */
+    private static long travailler(Collection<Integer> partagee, int seuil, int indice, int nbThreads) {
+        // Générateur propre au thread (xorshift), sans état partagé
+        int x = (int) (GenerateurCSV.SEED + 0x9E3779B9L * (indice + 1)) | 1;
+        int mesCles = (N - indice + nbThreads - 1) / nbThreads;
+        boolean[] presentes = new boolean[mesCles];
+        long trouves = 0, operations = 0;
+        int p;
+        while ((p = phase) != ARRET) {
+            x = suivant(x);
+            boolean lecture = (x >>> 8) < seuil;
+            x = suivant(x); // la clé vient d'un second tirage, indépendant du choix de l'opération
+            if (lecture) {
+                if (partagee.contains(Integer.remainderUnsigned(x, 2 * N))) trouves++;
+            } else if (mesCles > 0) {
+                int r = Integer.remainderUnsigned(x, mesCles);
+                int k = 2 * (r * nbThreads + indice) + 1;
+                if (presentes[r]) partagee.remove(k);
+                else partagee.add(k);
+                presentes[r] = !presentes[r];
+            }
+            if (p == MESURE) operations++;
+        }
+        puits += trouves;
+        return operations;
+    }
+
+    private static int suivant(int x) {
+        x ^= x << 13;
+        x ^= x >>> 17;
+        return x ^ (x << 5);
+    }
+
+    /*
+     * Fabrique de threads plateforme, ou virtuels si la JVM les propose (Java 21 et plus,
+     * Thread.ofVirtual() appelé par réflexion : le projet compile en Java 17).
+     * null si la sorte n'est pas disponible.
+     */
+    private static ThreadFactory fabriqueThreads(String sorte) {
+        switch (sorte) {
+            case "plateforme":
+                return Thread::new;
+            case "virtuel":
+                try {
+                    Object constructeur = Thread.class.getMethod("ofVirtual").invoke(null);
+                    Class<?> type = Class.forName("java.lang.Thread$Builder");
+                    return (ThreadFactory) type.getMethod("factory").invoke(constructeur);
+                } catch (ReflectiveOperationException e) {
+                    return null;
+                }
+            default:
+                throw new IllegalArgumentException("Sorte de threads inconnue : " + sorte);
+        }
+    }
+
+    private static String threadsParDefaut() {
+        StringBuilder sb = new StringBuilder("1");
+        for (int t = 2; t <= 2 * Runtime.getRuntime().availableProcessors(); t *= 2) sb.append(',').append(t);
+        return sb.toString();
+    }
+
+    private static int[] entiers(String liste) {
+        String[] champs = liste.split(",");
+        int[] t = new int[champs.length];
+        for (int i = 0; i < champs.length; i++) {
+            t[i] = Integer.parseInt(champs[i].trim());
+            if (t[i] <= 0) throw new IllegalArgumentException("Nombre de threads invalide : " + t[i]);
+        }
+        return t;
+    }
+}
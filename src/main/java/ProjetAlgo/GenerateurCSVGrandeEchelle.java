@@ -0,0 +1,222 @@
+package ProjetAlgo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Mode grande échelle du banc : construction, recherche (0..2n-1) et suppression de 10^5 à
+10^8 clés pour chaque structure de GenerateurCSV.STRUCTURES, avec un budget de temps par
+cellule (structure, n, ordre). Une cellule qui dépasse son budget est abandonnée et notée
+timeout ; la structure n'est plus essayée aux tailles suivantes pour cet ordre (notée
+saute), son coût ne pouvant que croître avec n. Une cellule à court de mémoire est notée oom
+et traitée de même.
+Les résultats sont écrits en format long, une ligne par cellule, vidée aussitôt : un arrêt
+de la JVM ne perd que la cellule en cours, et -Dreprendre=true complète le fichier existant
+en sautant les cellules qu'il contient déjà.
+Une seule mesure par cellule, après un échauffement de chaque structure sur 10^4 clés.
+Les clés sont gardées dans un int[] (400 Mo pour 10^8 clés au lieu d'environ 2 Go boxées) :
+le boxing a lieu dans les boucles mesurées.
+ */
+public class GenerateurCSVGrandeEchelle {
+
+    // Tailles à tester, -Dns=1000000,10000000
+    private static final int[] NS = tailles(System.getProperty("ns", "100000,1000000,10000000,100000000"));
+    // Budget de temps d'une cellule (construction, recherche et suppression), -Dbudget.s=...
+    private static final long BUDGET_NS = TimeUnit.SECONDS.toNanos(Long.getLong("budget.s", 60));
+    // Ordres d'insertion mesurés, comme pour GenerateurCSV
+    private static final String ORDRES = System.getProperty("ordres", "random,sorted");
+    // Complète le fichier existant au lieu de le remplacer, -Dreprendre=true
+    private static final boolean REPRENDRE = Boolean.getBoolean("reprendre");
+    // L'horloge est lue toutes les CONTROLE + 1 opérations : un test de bits par opération,
+    // et un dépassement de budget détecté en quelques ms même pour l'ABR dégénéré
+    private static final int CONTROLE = (1 << 12) - 1;
+
+    static final String OK = "ok", TIMEOUT = "timeout", OOM = "oom", SAUTE = "saute";
+
+    public static void main(String[] args) throws IOException {
+        File outDir = new File("target/bench");
+        if (!outDir.exists() && !outDir.mkdirs()) {
+            throw new IllegalStateException("Impossible de créer : " + outDir.getPath());
+        }
+
+        File csv = new File(outDir, "results_grande_echelle.csv");
+        boolean complete = REPRENDRE && csv.exists();
+        // Cellules déjà mesurées, et couples (structure, ordre) abandonnés à une taille inférieure
+        Set<String> faites = new HashSet<>();
+        Set<String> abandonnees = new HashSet<>();
+        if (complete) {
+            retirerLigneTronquee(csv);
+            relire(csv, faites, abandonnees);
+        }
+
+        ArrayList<ChargeDeTravail.Ordre> ordres = new ArrayList<>();
+        for (String nom : ORDRES.split(",")) ordres.add(ChargeDeTravail.Ordre.parNom(nom.trim()));
+
+        // warmup JVM
+        int[] petites = ChargeDeTravail.clesTableau(10_000, ChargeDeTravail.Ordre.ALEATOIRE, new Random(GenerateurCSV.SEED));
+        for (int i = 0; i < 2; i++) {
+            for (Supplier<Collection<Integer>> fabrique : GenerateurCSV.STRUCTURES.values()) {
+                mesurer(fabrique, petites);
+            }
+        }
+
+        try (PrintWriter out = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(csv, complete), StandardCharsets.UTF_8))) {
+            if (!complete) out.println("n,mode,structure,etat,build_ns,search_ns,remove_ns");
+
+            for (int n : NS) {
+                System.out.println("Test en cours pour n = " + n + "...");
+                for (ChargeDeTravail.Ordre ordre : ordres) {
+                    int[] cles = null;
+                    for (Map.Entry<String, Supplier<Collection<Integer>>> e : GenerateurCSV.STRUCTURES.entrySet()) {
+                        String structure = e.getKey();
+                        if (faites.contains(n + "," + ordre.nom + "," + structure)) continue;
+
+                        Cellule c;
+                        if (abandonnees.contains(structure + "," + ordre.nom)) {
+                            c = new Cellule(SAUTE);
+                        } else {
+                            try {
+                                if (cles == null) cles = ChargeDeTravail.clesTableau(n, ordre, new Random(GenerateurCSV.SEED));
+                                System.gc(); // la structure précédente ne doit pas peser sur celle-ci
+                                c = mesurer(e.getValue(), cles);
+                            } catch (OutOfMemoryError oom) {
+                                c = new Cellule(OOM);
+                            }
+                            if (!OK.equals(c.etat)) abandonnees.add(structure + "," + ordre.nom);
+                        }
+                        out.println(n + "," + ordre.nom + "," + structure + "," + c);
+                        out.flush();
+                        System.out.println("  " + ordre.nom + " " + structure + " : " + c.etat);
+                    }
+                }
+            }
+        }
+
+        System.out.println("CSV généré : " + csv.getPath());
+    }
+
+    // État d'une cellule et durées des phases terminées (vides dans le CSV pour les autres)
+    private static final class Cellule {
+        String etat;
+        long build = -1, search = -1, remove = -1;
+
+        Cellule(String etat) {
+            this.etat = etat;
+        }
+
+        @Override
+        public String toString() {
+            return etat + "," + duree(build) + "," + duree(search) + "," + duree(remove);
+        }
+
+        private static String duree(long ns) {
+            return ns < 0 ? "" : Long.toString(ns);
+        }
+    }
+
+    /*
+     * Construit une structure neuve avec cles, cherche 0..2n-1 puis supprime les clés dans
+     * l'ordre d'insertion, en s'arrêtant dès que le budget de la cellule est épuisé.
+     * Un OutOfMemoryError est propagé : la structure, locale, est alors déjà libérable.
+     */
+    private static Cellule mesurer(Supplier<Collection<Integer>> fabrique, int[] cles) {
+        Cellule c = new Cellule(TIMEOUT);
+        Collection<Integer> t = fabrique.get();
+        long echeance = System.nanoTime() + BUDGET_NS;
+
+        long t0 = System.nanoTime();
+        if (!construire(t, cles, echeance)) return c;
+        long t1 = System.nanoTime();
+        c.build = t1 - t0;
+        if (!chercher(t, 2 * cles.length, echeance)) return c;
+        long t2 = System.nanoTime();
+        c.search = t2 - t1;
+        if (!supprimer(t, cles, echeance)) return c;
+        c.remove = System.nanoTime() - t2;
+        if (!t.isEmpty()) throw new IllegalStateException("Suppression incomplète");
+        c.etat = OK;
+        return c;
+    }
+
+    private static boolean construire(Collection<Integer> t, int[] cles, long echeance) {
+        for (int i = 0; i < cles.length; i++) {
+            if ((i & CONTROLE) == 0 && System.nanoTime() > echeance) return false;
+            t.add(cles[i]);
+        }
+        return true;
+    }
+
+    private static boolean chercher(Collection<Integer> t, int limiteExclue, long echeance) {
+        for (int x = 0; x < limiteExclue; x++) {
+            if ((x & CONTROLE) == 0 && System.nanoTime() > echeance) return false;
+            t.contains(x);
+        }
+        return true;
+    }
+
+    private static boolean supprimer(Collection<Integer> t, int[] cles, long echeance) {
+        for (int i = 0; i < cles.length; i++) {
+            if ((i & CONTROLE) == 0 && System.nanoTime() > echeance) return false;
+            t.remove(cles[i]);
+        }
+        return true;
+    }
+
+    // Relit un fichier interrompu : cellules présentes, et abandons à reporter sur les tailles suivantes
+    private static void relire(File csv, Set<String> faites, Set<String> abandonnees) throws IOException {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(new FileInputStream(csv), StandardCharsets.UTF_8))) {
+            in.readLine(); // en-tête
+            for (String ligne; (ligne = in.readLine()) != null; ) {
+                String[] champs = ligne.split(",", -1);
+                if (champs.length != 7) continue;
+                faites.add(champs[0] + "," + champs[1] + "," + champs[2]);
+                if (!champs[3].equals(OK)) abandonnees.add(champs[2] + "," + champs[1]);
+            }
+        }
+    }
+
+    // Coupe la ligne écrite à moitié par un arrêt brutal : sa cellule sera remesurée
+    private static void retirerLigneTronquee(File csv) throws IOException {
+        try (RandomAccessFile f = new RandomAccessFile(csv, "rw")) {
+            long fin = f.length();
+            while (fin > 0) {
+                f.seek(fin - 1);
+                if (f.read() == '\n') break;
+                fin--;
+            }
+            f.setLength(fin);
+        }
+    }
+
+    private static int[] tailles(String liste) {
+        String[] champs = liste.split(",");
+        int[] ns = new int[champs.length];
+        for (int i = 0; i < champs.length; i++) {
+            long n = Long.parseLong(champs[i].trim());
+            // 2n recherches : n doit rester sous Integer.MAX_VALUE / 2
+            if (n <= 0 || n > Integer.MAX_VALUE / 2) throw new IllegalArgumentException("Taille invalide : " + n);
+            ns[i] = (int) n;
+        }
+        return ns;
+    }
+}
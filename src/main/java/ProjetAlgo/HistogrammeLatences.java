@@ -0,0 +1,80 @@
+package ProjetAlgo;
+
+import java.util.Arrays;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Histogramme de latences (en nanosecondes) à seaux log-linéaires, sans dépendance externe.
+Les valeurs inférieures à SOUS sont comptées exactement ; au-delà, chaque intervalle
+[2^e, 2^(e+1)) est découpé en SOUS seaux de même largeur, soit une erreur relative d'au
+plus 1/SOUS (environ 3 %) sur les quantiles. Le tableau de compteurs a une taille fixe
+(moins de 2 000 cases) : enregistrer une valeur coûte quelques opérations sur les bits et
+une incrémentation, sans allocation, ce qui permet de chronométrer chaque opération.
+Le maximum est conservé exactement.
+ */
+public final class HistogrammeLatences {
+    private static final int BITS_SOUS = 5;
+    private static final int SOUS = 1 << BITS_SOUS;
+
+    private final long[] compteurs = new long[(64 - BITS_SOUS) * SOUS];
+    private long nombre;
+    private long max;
+
+    // Enregistre une latence (une valeur négative compte pour 0)
+    public void enregistrer(long valeur) {
+        if (valeur < 0) valeur = 0;
+        compteurs[indice(valeur)]++;
+        nombre++;
+        if (valeur > max) max = valeur;
+    }
+
+    public long nombre() {
+        return nombre;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Plus petite valeur v telle qu'au moins une proportion q des valeurs enregistrées soit
+     * inférieure ou égale à v, à la largeur d'un seau près : la borne haute du seau est
+     * rendue, sans dépasser le maximum. 0 si l'histogramme est vide.
+     *
+     * @param q proportion entre 0 et 1 (0.99 pour le 99e centile)
+     */
+    public long quantile(double q) {
+        if (q < 0 || q > 1) throw new IllegalArgumentException("Proportion hors de [0, 1] : " + q);
+        if (nombre == 0) return 0;
+        long rang = Math.max(1, (long) Math.ceil(q * nombre));
+        long cumul = 0;
+        for (int i = 0; i < compteurs.length; i++) {
+            cumul += compteurs[i];
+            if (cumul >= rang) return Math.min(borneHaute(i), max);
+        }
+        return max;
+    }
+
+    public void reinitialiser() {
+        Arrays.fill(compteurs, 0);
+        nombre = 0;
+        max = 0;
+    }
+
+    // Valeurs exactes sous SOUS ; sinon e = position du bit de poids fort, et les BITS_SOUS
+    // bits suivants désignent le seau dans [2^e, 2^(e+1))
+    private static int indice(long v) {
+        if (v < SOUS) return (int) v;
+        int decalage = 63 - Long.numberOfLeadingZeros(v) - BITS_SOUS;
+        return (decalage + 1) * SOUS + (int) ((v >>> decalage) - SOUS);
+    }
+
+    // Plus grande valeur rangée dans le seau i
+    private static long borneHaute(int i) {
+        if (i < SOUS) return i;
+        int decalage = i / SOUS - 1;
+        long bas = (long) (SOUS + i % SOUS) << decalage;
+        return bas + (1L << decalage) - 1;
+    }
+}
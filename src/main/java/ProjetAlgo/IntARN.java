@@ -0,0 +1,472 @@
+package ProjetAlgo;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/**
+ Variante de l'ARN spécialisée pour les clés int.
+ Les nœuds ne sont pas des objets : ils sont identifiés par un indice (slot) dans des
+ tableaux parallèles (clé, fils gauche, fils droit, père) et la couleur tient sur un bit.
+ Le slot 0 joue le rôle de la sentinelle (toujours noire). Les slots libérés par une
+ suppression sont chaînés dans une liste libre et réutilisés par les insertions suivantes.
+ Les algorithmes (insertion, rotations, suppression, corrections) sont ceux de ARN,
+ de même que la sémantique : doublons autorisés, null refusé à l'insertion.
+ */
+public class IntARN extends AbstractCollection<Integer> {
+    private static final int NIL = 0; // slot de la sentinelle
+    private static final int CAPACITE_INITIALE = 16;
+
+    private int[] cle;
+    private int[] gauche;
+    private int[] droit;
+    private int[] pere;
+    private long[] rouge; // bit i à 1 : le nœud i est rouge
+
+    private int racine;
+    private int taille;
+    private int prochainSlot; // premier slot jamais utilisé
+    private int libres;       // tête de la liste des slots libérés (chaînée par gauche[])
+
+    // Crée un IntARN vide
+    public IntARN() {
+        this(CAPACITE_INITIALE);
+    }
+
+    // Crée un IntARN vide pouvant contenir capacite éléments sans réallocation
+    public IntARN(int capacite) {
+        if (capacite < 0) throw new IllegalArgumentException("Capacité négative : " + capacite);
+        int slots = capacite + 1; // + la sentinelle
+        cle = new int[slots];
+        gauche = new int[slots];
+        droit = new int[slots];
+        pere = new int[slots];
+        rouge = new long[(slots + 63) >>> 6];
+        racine = NIL;
+        taille = 0;
+        prochainSlot = 1;
+        libres = NIL;
+    }
+
+    // Renvoie le nombre d'éléments stockés dans l'arbre
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    // Réinitialise l'arbre à l'état vide en conservant les tableaux alloués
+    @Override
+    public void clear() {
+        racine = NIL;
+        taille = 0;
+        prochainSlot = 1;
+        libres = NIL;
+        Arrays.fill(rouge, 0L);
+    }
+
+    // Nombre d'octets occupés par les tableaux de nœuds (hors en-têtes d'objets)
+    public long empreinteOctets() {
+        return 4L * (cle.length + gauche.length + droit.length + pere.length) + 8L * rouge.length;
+    }
+
+    private boolean estRouge(int x) {
+        return (rouge[x >>> 6] & (1L << x)) != 0;
+    }
+
+    private void colorer(int x, boolean r) {
+        if (r) rouge[x >>> 6] |= 1L << x;
+        else rouge[x >>> 6] &= ~(1L << x);
+    }
+
+    // Réserve un slot pour un nouveau nœud, en réutilisant d'abord les slots libérés
+    private int allouer(int k) {
+        int z;
+        if (libres != NIL) {
+            z = libres;
+            libres = gauche[z];
+        } else {
+            if (prochainSlot == cle.length) agrandir();
+            z = prochainSlot++;
+        }
+        cle[z] = k;
+        gauche[z] = droit[z] = pere[z] = NIL;
+        return z;
+    }
+
+    // Rend un slot détaché à la liste libre
+    private void liberer(int z) {
+        colorer(z, false);
+        gauche[z] = libres;
+        libres = z;
+    }
+
+    private void agrandir() {
+        int n = Math.max(CAPACITE_INITIALE, cle.length + (cle.length >> 1));
+        cle = Arrays.copyOf(cle, n);
+        gauche = Arrays.copyOf(gauche, n);
+        droit = Arrays.copyOf(droit, n);
+        pere = Arrays.copyOf(pere, n);
+        rouge = Arrays.copyOf(rouge, (n + 63) >>> 6);
+    }
+
+    // Ajoute un élément dans l'arbre.
+    @Override
+    public boolean add(Integer e) {
+        if (e == null) throw new NullPointerException();
+        return add(e.intValue());
+    }
+
+    // Ajoute une clé int sans boxing
+    public boolean add(int k) {
+        int z = allouer(k);
+        ajouter(z);
+        taille++;
+        return true;
+    }
+
+    //  Insère un nouveau nœud dans l’arbre en respectant la structure d’un ABR
+    private void ajouter(int z) {
+        int k = cle[z];
+        int y = NIL;
+        int x = racine;
+        while (x != NIL) {
+            y = x;
+            x = k < cle[x] ? gauche[x] : droit[x];
+        }
+        pere[z] = y;
+        if (y == NIL) // arbre vide
+            racine = z;
+        else if (k < cle[y])
+            gauche[y] = z;
+        else
+            droit[y] = z;
+
+        gauche[z] = droit[z] = NIL;
+        colorer(z, true);
+        ajouterCorrection(z);
+    }
+
+    // Répare les éventuelles violations des propriétés rouge-noir après une insertion
+    private void ajouterCorrection(int z) {
+        int y;
+        while (pere[z] != NIL && estRouge(pere[z])) {
+            int p = pere[z];
+            int gp = pere[p];
+            if (p == gauche[gp]) {
+                y = droit[gp];
+                if (estRouge(y)) { // Cas 1
+                    colorer(p, false);
+                    colorer(y, false);
+                    colorer(gp, true);
+                    z = gp;
+                } else {
+                    if (z == droit[p]) { // Cas 2
+                        z = p;
+                        rotationGauche(z);
+                    }
+                    colorer(pere[z], false); // Cas 3
+                    colorer(pere[pere[z]], true);
+                    rotationDroite(pere[pere[z]]);
+                }
+            } else {
+                y = gauche[gp];
+                if (estRouge(y)) { // Cas 1
+                    colorer(p, false);
+                    colorer(y, false);
+                    colorer(gp, true);
+                    z = gp;
+                } else {
+                    if (z == gauche[p]) { // Cas 2
+                        z = p;
+                        rotationDroite(z);
+                    }
+                    colorer(pere[z], false); // Cas 3
+                    colorer(pere[pere[z]], true);
+                    rotationGauche(pere[pere[z]]);
+                }
+            }
+        }
+        colorer(racine, false);
+    }
+
+    // Rotation gauche autour de x (voir ARN.rotationGauche)
+    private void rotationGauche(int x) {
+        int y = droit[x];
+        droit[x] = gauche[y];
+        if (gauche[y] != NIL)
+            pere[gauche[y]] = x;
+        pere[y] = pere[x];
+        if (pere[x] == NIL)
+            racine = y;
+        else if (x == gauche[pere[x]])
+            gauche[pere[x]] = y;
+        else
+            droit[pere[x]] = y;
+        gauche[y] = x;
+        pere[x] = y;
+    }
+
+    // Rotation droite autour de y (voir ARN.rotationDroite)
+    private void rotationDroite(int y) {
+        int x = gauche[y];
+        gauche[y] = droit[x];
+        if (droit[x] != NIL)
+            pere[droit[x]] = y;
+        pere[x] = pere[y];
+        if (pere[y] == NIL)
+            racine = x;
+        else if (y == droit[pere[y]])
+            droit[pere[y]] = x;
+        else
+            gauche[pere[y]] = x;
+        droit[x] = y;
+        pere[y] = x;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    // Recherche d'une clé int sans boxing
+    public boolean contains(int k) {
+        return rechercher(k) != NIL;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Integer && remove(((Integer) o).intValue());
+    }
+
+    // Supprime une occurrence de la clé k
+    public boolean remove(int k) {
+        int z = rechercher(k);
+        if (z == NIL) return false;
+        supprimer(z);
+        taille--;
+        return true;
+    }
+
+    // Recherche itérative du slot contenant la clé k, NIL si absente
+    private int rechercher(int k) {
+        int x = racine;
+        while (x != NIL) {
+            int c = cle[x];
+            if (k == c) return x;
+            x = k < c ? gauche[x] : droit[x];
+        }
+        return NIL;
+    }
+
+    private int minimum(int x) {
+        while (gauche[x] != NIL) x = gauche[x];
+        return x;
+    }
+
+    private int maximum(int x) {
+        while (droit[x] != NIL) x = droit[x];
+        return x;
+    }
+
+    // Successeur de x dans l'ordre des clés, NIL si x est le maximum
+    private int suivant(int x) {
+        if (droit[x] != NIL) return minimum(droit[x]);
+        int p = pere[x];
+        while (p != NIL && x == droit[p]) {
+            x = p;
+            p = pere[p];
+        }
+        return p;
+    }
+
+    // Plus petite clé de l'arbre
+    public int premier() {
+        if (racine == NIL) throw new NoSuchElementException();
+        return cle[minimum(racine)];
+    }
+
+    // Plus grande clé de l'arbre
+    public int dernier() {
+        if (racine == NIL) throw new NoSuchElementException();
+        return cle[maximum(racine)];
+    }
+
+    // Supprime le nœud z (même algorithme que ARN.supprimer) et libère le slot détaché
+    private void supprimer(int z) {
+        int y, x;
+        if (gauche[z] == NIL || droit[z] == NIL)
+            y = z;
+        else
+            y = suivant(z);
+
+        x = gauche[y] != NIL ? gauche[y] : droit[y];
+
+        // INCONDITIONNELLE : même si x == NIL
+        pere[x] = pere[y];
+
+        if (pere[y] == NIL) {
+            racine = x;
+        } else if (y == gauche[pere[y]]) {
+            gauche[pere[y]] = x;
+        } else {
+            droit[pere[y]] = x;
+        }
+
+        if (y != z)
+            cle[z] = cle[y];
+
+        boolean yNoir = !estRouge(y);
+        liberer(y);
+        if (yNoir)
+            supprimerCorrection(x);
+    }
+
+    // Corrige les violations des propriétés rouge-noir après la suppression d’un nœud noir
+    private void supprimerCorrection(int x) {
+        int w;
+        while (x != racine && !estRouge(x)) {
+            int p = pere[x];
+            if (x == gauche[p]) {
+                w = droit[p];
+                if (estRouge(w)) { // Cas 1
+                    colorer(w, false);
+                    colorer(p, true);
+                    rotationGauche(p);
+                    w = droit[pere[x]];
+                }
+                if (!estRouge(gauche[w]) && !estRouge(droit[w])) { // Cas 2
+                    colorer(w, true);
+                    x = pere[x];
+                } else {
+                    if (!estRouge(droit[w])) { // Cas 3
+                        colorer(gauche[w], false);
+                        colorer(w, true);
+                        rotationDroite(w);
+                        w = droit[pere[x]];
+                    }
+                    // Cas 4
+                    colorer(w, estRouge(pere[x]));
+                    colorer(pere[x], false);
+                    colorer(droit[w], false);
+                    rotationGauche(pere[x]);
+                    x = racine;
+                }
+            } else {
+                w = gauche[p];
+                if (estRouge(w)) { // Cas 1'
+                    colorer(w, false);
+                    colorer(p, true);
+                    rotationDroite(p);
+                    w = gauche[pere[x]];
+                }
+                if (!estRouge(droit[w]) && !estRouge(gauche[w])) { // Cas 2'
+                    colorer(w, true);
+                    x = pere[x];
+                } else {
+                    if (!estRouge(gauche[w])) { // Cas 3'
+                        colorer(droit[w], false);
+                        colorer(w, true);
+                        rotationGauche(w);
+                        w = gauche[pere[x]];
+                    }
+                    // Cas 4'
+                    colorer(w, estRouge(pere[x]));
+                    colorer(pere[x], false);
+                    colorer(gauche[w], false);
+                    rotationDroite(pere[x]);
+                    x = racine;
+                }
+            }
+        }
+        colorer(x, false);
+    }
+
+    // Renvoie un itérateur (sans boxing via nextInt) parcourant les clés dans l'ordre croissant
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntARNIterator();
+    }
+
+    private class IntARNIterator implements PrimitiveIterator.OfInt {
+        private int noeudSuivant; // Le prochain slot à retourner
+        private int courant;      // Le dernier slot retourné
+
+        IntARNIterator() {
+            noeudSuivant = racine != NIL ? minimum(racine) : NIL;
+            courant = NIL;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return noeudSuivant != NIL;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            courant = noeudSuivant;
+            noeudSuivant = suivant(noeudSuivant);
+            return cle[courant];
+        }
+
+        @Override
+        public void remove() {
+            if (courant == NIL) {
+                throw new IllegalStateException();
+            }
+            // Avec deux fils, la clé du successeur est recopiée dans courant
+            // et c'est le slot du successeur qui est libéré
+            boolean deuxFils = gauche[courant] != NIL && droit[courant] != NIL;
+            supprimer(courant);
+            taille--;
+            if (deuxFils) noeudSuivant = courant;
+            courant = NIL;
+        }
+    }
+
+    // Calcule la longueur maximale des représentations textuelles des clés
+    private int maxLongChaine(int x) {
+        if (x == NIL) return 0;
+        return Math.max(Integer.toString(cle[x]).length(),
+                Math.max(maxLongChaine(gauche[x]), maxLongChaine(droit[x])));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        toString(racine, buf, "", maxLongChaine(racine));
+        return buf.toString();
+    }
+
+    // Même représentation que ARN.toString : parcours infixe inversé avec chemins et couleurs
+    private void toString(int x, StringBuilder buf, String path, int len) {
+        if (x == NIL) return;
+        toString(droit[x], buf, path + "D", len);
+        for (int i = 0; i < path.length(); i++) {
+            for (int j = 0; j < len + 6; j++) buf.append(' ');
+            char c = ' ';
+            if (i == path.length() - 1) c = '+';
+            else if (path.charAt(i) != path.charAt(i + 1)) c = '|';
+            buf.append(c);
+        }
+        String s = Integer.toString(cle[x]);
+        buf.append("--- ").append(s).append(':').append(estRouge(x) ? 'R' : 'N');
+        if (gauche[x] != NIL || droit[x] != NIL) {
+            buf.append(" ---");
+            for (int j = s.length(); j < len; j++) buf.append('-');
+            buf.append('|');
+        }
+        buf.append("\n");
+        toString(gauche[x], buf, path + "G", len);
+    }
+}
@@ -0,0 +1,115 @@
+package ProjetAlgo;
+
+import java.util.Comparator;
+import java.util.Locale;
+/*auteur BENNABI ghiles Rayane
+ *       BAOUCHE Mohamed Djaouad
+ */
+/*
+Relevé des compteurs d'opérations et de la forme d'un arbre (ABR ou ARN), rendu par
+statistiques() après activerStatistiques(true).
+Les compteurs cumulent depuis l'activation : comparaisons (appels au comparateur, y compris
+ceux de la recherche), rotations, recolorations (changements effectifs de couleur) et
+itérations des boucles de correction après insertion ou suppression. La forme est mesurée
+au moment du relevé, en O(n) : hauteur, hauteur noire et profondeur moyenne des nœuds
+(racine à profondeur 1, comme pour hauteur()).
+Sans activation, les compteurs valent 0 et la forme est quand même mesurée.
+Pour l'ABR, rotations, recolorations et corrections restent à 0 et la hauteur noire vaut -1.
+ */
+public final class Statistiques {
+    private final long comparaisons;
+    private final long rotations;
+    private final long recolorations;
+    private final long iterationsCorrection;
+    private final int hauteur;
+    private final int hauteurNoire;
+    private final double profondeurMoyenne;
+
+    Statistiques(Compteurs c, int hauteur, int hauteurNoire, double profondeurMoyenne) {
+        if (c != null) {
+            comparaisons = c.comparaisons;
+            rotations = c.rotations;
+            recolorations = c.recolorations;
+            iterationsCorrection = c.iterationsCorrection;
+        } else {
+            comparaisons = rotations = recolorations = iterationsCorrection = 0;
+        }
+        this.hauteur = hauteur;
+        this.hauteurNoire = hauteurNoire;
+        this.profondeurMoyenne = profondeurMoyenne;
+    }
+
+    public long comparaisons() {
+        return comparaisons;
+    }
+
+    public long rotations() {
+        return rotations;
+    }
+
+    public long recolorations() {
+        return recolorations;
+    }
+
+    public long iterationsCorrection() {
+        return iterationsCorrection;
+    }
+
+    public int hauteur() {
+        return hauteur;
+    }
+
+    // Nombre de nœuds noirs de la racine à une feuille (-1 pour un arbre sans couleurs)
+    public int hauteurNoire() {
+        return hauteurNoire;
+    }
+
+    // 0 pour un arbre vide
+    public double profondeurMoyenne() {
+        return profondeurMoyenne;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "comparaisons=%d rotations=%d recolorations=%d corrections=%d hauteur=%d hauteurNoire=%d profondeurMoyenne=%.2f",
+                comparaisons, rotations, recolorations, iterationsCorrection, hauteur, hauteurNoire, profondeurMoyenne);
+    }
+
+    // Compteurs tenus par un arbre tant que ses statistiques sont activées (null sinon).
+    // Non synchronisés : les opérations ensemblistes parallèles de l'ARN peuvent en perdre.
+    static final class Compteurs {
+        long comparaisons;
+        long rotations;
+        long recolorations;
+        long iterationsCorrection;
+    }
+
+    /*
+     * Comparateur qui compte ses appels avant de déléguer à base (ordre naturel si base est
+     * null). L'arbre le substitue à son comparateur pendant l'activation : le chemin de
+     * recherche ne teste donc aucun drapeau quand les statistiques sont désactivées.
+     */
+    static final class ComparateurCompte<E> implements Comparator<E> {
+        final Comparator<? super E> base;
+        private final Compteurs compteurs;
+
+        ComparateurCompte(Comparator<? super E> base, Compteurs compteurs) {
+            this.base = base;
+            this.compteurs = compteurs;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(E a, E b) {
+            compteurs.comparaisons++;
+            return base == null ? ((Comparable<? super E>) a).compareTo(b) : base.compare(a, b);
+        }
+    }
+
+    // Comparateur fourni par l'utilisateur, sans l'éventuelle enveloppe de comptage
+    @SuppressWarnings("unchecked")
+    static <E> Comparator<? super E> sansCompte(Comparator<? super E> c) {
+        return c instanceof ComparateurCompte ? ((ComparateurCompte<E>) c).base : c;
+    }
+}
@@ -0,0 +1,166 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class TestABR {
+
+  // ========== TESTS DE SUPPRESSION ==========
+
+  @Test
+  public void testRemove() {
+    ABR<Integer> abr = new ABR<>(Arrays.asList(50, 25, 75, 10, 30, 60, 80));
+    assertTrue(abr.remove(50), "Suppression de la racine (deux fils)");
+    assertTrue(abr.remove(10), "Suppression d'une feuille");
+    assertFalse(abr.remove(10), "Élément déjà supprimé");
+    assertFalse(abr.remove(null), "Suppression de null doit retourner false");
+    assertEquals(Arrays.asList(25, 30, 60, 75, 80), new ArrayList<>(abr));
+  }
+
+  @Test
+  public void testRemoveArbreDegenere() {
+    // Insertion croissante : l'arbre est une liste, dont on retire un élément sur deux
+    ABR<Integer> abr = new ABR<>();
+    for (int i = 0; i < 2000; i++) {
+      abr.add(i);
+    }
+    for (int i = 1999; i >= 0; i -= 2) {
+      assertTrue(abr.remove(i));
+    }
+    assertEquals(1000, abr.size());
+    assertFalse(abr.contains(1999));
+    assertTrue(abr.contains(1998));
+  }
+
+  // ========== TESTS DE RECHERCHE ==========
+
+  @Test
+  public void testRechercheSelonOrdre() {
+    List<ABR<Integer>> arbres = Arrays.asList(new ABR<>(), new ABR<>(Comparator.naturalOrder()),
+        new ABR<>(Collections.reverseOrder()));
+    for (ABR<Integer> abr : arbres) {
+      for (int i = 0; i < 100; i += 2) abr.add(i);
+      for (int i = -1; i < 100; i++) assertEquals(i % 2 == 0, abr.contains(i), "contains(" + i + ")");
+      assertFalse(abr.contains(null), "null n'est jamais contenu");
+      assertFalse(abr.contains("x"), "Un élément d'un autre type n'est pas contenu");
+      assertFalse(abr.contains(new Object()), "Un élément non comparable n'est pas contenu");
+    }
+    // Le chemin de recherche suit l'activation des statistiques
+    ABR<Integer> abr = arbres.get(1);
+    abr.activerStatistiques(true);
+    assertTrue(abr.contains(50));
+    assertTrue(abr.statistiques().comparaisons() > 0, "La recherche doit passer par le comparateur compté");
+    abr.activerStatistiques(false);
+    assertTrue(abr.contains(50));
+    assertFalse(abr.contains(51));
+  }
+
+  // ========== TESTS DE REMOVEALL / RETAINALL ==========
+
+  @Test
+  public void testRemoveAllEtRetainAll() {
+    Random rnd = new Random(3);
+    List<Integer> elements = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      elements.add(rnd.nextInt(4000));
+    }
+    List<Integer> autres = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      autres.add(rnd.nextInt(4000));
+    }
+
+    // Argument trié (TreeSet, ABR, ARN) ou non (liste), avec le même résultat attendu
+    List<Collection<Integer>> arguments = Arrays.asList(
+        autres, new TreeSet<>(autres), new ABR<>(autres), new ARN<>(autres));
+    TreeSet<Integer> attenduRemove = new TreeSet<>(elements);
+    attenduRemove.removeAll(new HashSet<>(autres));
+    TreeSet<Integer> attenduRetain = new TreeSet<>(elements);
+    attenduRetain.retainAll(new HashSet<>(autres));
+
+    for (Collection<Integer> c : arguments) {
+      ABR<Integer> abr = new ABR<>(elements);
+      assertTrue(abr.removeAll(c));
+      assertEquals(new ArrayList<>(attenduRemove), new ArrayList<>(abr), "removeAll avec " + c.getClass());
+      assertFalse(abr.removeAll(c), "Rien de plus à retirer");
+
+      abr = new ABR<>(elements);
+      assertTrue(abr.retainAll(c));
+      assertEquals(new ArrayList<>(attenduRetain), new ArrayList<>(abr), "retainAll avec " + c.getClass());
+      assertEquals(attenduRetain.size(), abr.size());
+    }
+  }
+
+  @Test
+  public void testRemoveAllComparateurDifferent() {
+    // Ordres différents : pas de fusion, le résultat doit rester juste
+    ABR<Integer> abr = new ABR<>(Collections.reverseOrder());
+    abr.addAll(Arrays.asList(1, 2, 3, 4, 5));
+    assertTrue(abr.removeAll(new TreeSet<>(Arrays.asList(2, 4))));
+    assertEquals(Arrays.asList(5, 3, 1), new ArrayList<>(abr));
+  }
+
+  // ========== TESTS DE SPLITERATOR ==========
+
+  @Test
+  public void testSpliterator() {
+    List<Integer> cles = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      cles.add(i);
+    }
+    Collections.shuffle(cles, new Random(7));
+    ABR<Integer> abr = new ABR<>(cles);
+
+    Spliterator<Integer> sp = abr.spliterator();
+    assertTrue(sp.hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT | Spliterator.SORTED));
+    assertEquals(5000, sp.estimateSize());
+    Spliterator<Integer> prefixe = sp.trySplit();
+    assertNotNull(prefixe, "Un arbre aléatoire doit se découper à la racine");
+    List<Integer> vus = new ArrayList<>();
+    prefixe.forEachRemaining(vus::add);
+    sp.forEachRemaining(vus::add);
+    Collections.sort(cles);
+    assertEquals(cles, vus, "Le préfixe puis le reste doivent couvrir l'arbre dans l'ordre");
+
+    assertEquals(cles, abr.parallelStream().collect(Collectors.toList()), "Ordre conservé en parallèle");
+    assertEquals(5000, abr.parallelStream().filter(x -> x >= 0).count());
+  }
+
+  // ========== TESTS DES STATISTIQUES ==========
+
+  @Test
+  public void testStatistiques() {
+    ABR<Integer> abr = new ABR<>();
+    abr.activerStatistiques(true);
+    for (int i = 1; i <= 100; i++) abr.add(i); // chaîne : la i-ème insertion compare i - 1 fois
+    Statistiques s = abr.statistiques();
+    assertEquals(4950, s.comparaisons());
+    assertEquals(0, s.rotations());
+    assertEquals(100, s.hauteur());
+    assertEquals(-1, s.hauteurNoire(), "Pas de couleurs dans un ABR");
+    assertEquals(50.5, s.profondeurMoyenne(), 1e-9);
+
+    assertTrue(abr.contains(100));
+    assertEquals(5050, abr.statistiques().comparaisons());
+    assertFalse(abr.contains("x"), "Un élément d'un autre type n'est pas contenu");
+    @SuppressWarnings("unchecked")
+    ABR<Object> brut = (ABR<Object>) (ABR<?>) abr;
+    assertThrows(IllegalArgumentException.class, () -> brut.add(new Object()),
+        "Même exception qu'hors statistiques pour un élément non comparable");
+
+    abr.activerStatistiques(false);
+    assertEquals(0, abr.statistiques().comparaisons());
+    assertTrue(abr.removeAll(new TreeSet<>(Arrays.asList(1, 2))), "L'ordre naturel doit être reconnu");
+    assertEquals(98, abr.size());
+  }
+}
@@ -0,0 +1,77 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class TestABRSansPere {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testArbreVideEtNull() {
+    ABRSansPere<Integer> arbre = new ABRSansPere<>();
+    assertEquals(0, arbre.size(), "Taille doit être 0");
+    assertFalse(arbre.contains(1));
+    assertFalse(arbre.remove(1));
+    assertFalse(arbre.iterator().hasNext(), "L'itérateur d'un arbre vide ne doit pas avoir de next");
+    assertThrows(IllegalArgumentException.class, () -> arbre.add(null),
+        "L'insertion de null devrait lever une exception");
+    assertFalse(arbre.contains(null));
+    assertFalse(arbre.contains("x"), "Un élément d'un autre type n'est pas contenu");
+  }
+
+  @Test
+  public void testComparateurEtDoublons() {
+    ABRSansPere<Integer> arbre = new ABRSansPere<>(Collections.reverseOrder());
+    assertTrue(arbre.add(2));
+    assertFalse(arbre.add(2), "Pas de doublons, comme dans l'ABR");
+    arbre.addAll(Arrays.asList(9, 4));
+    assertEquals(Arrays.asList(9, 4, 2), new ArrayList<>(arbre), "Ordre inverse attendu");
+  }
+
+  @Test
+  public void testIterateurRemove() {
+    ABRSansPere<Integer> arbre = new ABRSansPere<>(Arrays.asList(5, 3, 8, 1, 4, 7, 9, 2, 6));
+    Iterator<Integer> it = arbre.iterator();
+    assertThrows(IllegalStateException.class, it::remove, "remove() avant next() interdit");
+    List<Integer> vus = new ArrayList<>();
+    while (it.hasNext()) {
+      int x = it.next();
+      vus.add(x);
+      if (x % 2 == 1) {
+        it.remove(); // y compris des nœuds à deux fils (5, 3, 8)
+      }
+    }
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), vus, "Chaque élément doit être vu une fois");
+    assertEquals(Arrays.asList(2, 4, 6, 8), new ArrayList<>(arbre));
+    assertEquals(4, arbre.size());
+  }
+
+  // ========== TESTS ALÉATOIRES ==========
+
+  @Test
+  public void testAleatoireContreTreeSet() {
+    Random rnd = new Random(42);
+    ABRSansPere<Integer> arbre = new ABRSansPere<>();
+    TreeSet<Integer> reference = new TreeSet<>();
+
+    for (int i = 0; i < 20000; i++) {
+      int k = rnd.nextInt(500);
+      if (rnd.nextInt(3) == 0) {
+        assertEquals(reference.remove(k), arbre.remove(k), "remove(" + k + ") incorrect");
+      } else {
+        assertEquals(reference.add(k), arbre.add(k), "add(" + k + ") incorrect");
+      }
+    }
+
+    assertEquals(new ArrayList<>(reference), new ArrayList<>(arbre), "Contenu final incorrect");
+    assertEquals(reference.size(), arbre.size());
+  }
+}
@@ -2,12 +2,25 @@ package ProjetAlgo;
 
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.NavigableSet;
 import java.util.Random;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeSet;
 
 public class TestARN {
 
@@ -536,4 +549,562 @@ public class TestARN {
     arn.remove(30);
     assertEquals(0, arn.size());
   }
-}
\ No newline at end of file
+
+  // ========== TESTS DE CONSTRUCTION EN BLOC ==========
+
+  @Test
+  public void testConstructionEnBlocTriee() {
+    List<Integer> liste = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      liste.add(i);
+    }
+    ARN<Integer> arn = new ARN<>(liste);
+
+    assertEquals(liste, new ArrayList<>(arn), "Parcours incorrect après construction en bloc");
+
+    // L'arbre construit doit rester valide pour les insertions et suppressions suivantes
+    for (int i = 0; i < 1000; i += 2) {
+      assertTrue(arn.remove(i), "Suppression doit réussir");
+    }
+    arn.add(-1);
+    assertEquals(501, arn.size());
+    assertTrue(arn.contains(-1));
+    assertFalse(arn.contains(0));
+  }
+
+  @Test
+  public void testConstructionEnBlocNonTriee() {
+    List<Integer> liste = new ArrayList<>();
+    Random rand = new Random(7);
+    for (int i = 0; i < 500; i++) {
+      liste.add(rand.nextInt(100)); // avec doublons
+    }
+    ARN<Integer> arn = ARN.construire(liste);
+
+    List<Integer> attendu = new ArrayList<>(liste);
+    attendu.sort(null);
+    assertEquals(attendu, new ArrayList<>(arn), "Les éléments doivent être triés, doublons compris");
+  }
+
+  @Test
+  public void testConstructionEnBlocComparateur() {
+    ARN<Integer> arn = ARN.construire(Arrays.asList(1, 5, 3, 4, 2), (a, b) -> b.compareTo(a));
+    assertEquals(Arrays.asList(5, 4, 3, 2, 1), new ArrayList<>(arn), "Ordre décroissant attendu");
+    arn.add(6);
+    assertEquals(6, arn.iterator().next().intValue(), "Le comparateur doit être conservé");
+  }
+
+  @Test
+  public void testConstructionEnBlocNull() {
+    assertThrows(NullPointerException.class, () -> new ARN<>(Arrays.asList(1, null, 3)),
+        "Un élément null doit être refusé comme avec add()");
+  }
+
+  // ========== TESTS NAVIGABLESET ==========
+
+  @Test
+  public void testVoisins() {
+    ARN<Integer> arn = new ARN<>(Arrays.asList(10, 20, 30, 40));
+
+    assertEquals(20, arn.floor(25).intValue());
+    assertEquals(20, arn.floor(20).intValue());
+    assertEquals(10, arn.lower(20).intValue());
+    assertEquals(30, arn.ceiling(25).intValue());
+    assertEquals(30, arn.higher(20).intValue());
+    assertNull(arn.lower(10), "Pas d'élément inférieur au minimum");
+    assertNull(arn.higher(40), "Pas d'élément supérieur au maximum");
+    assertEquals(10, arn.first().intValue());
+    assertEquals(40, arn.last().intValue());
+  }
+
+  @Test
+  public void testPremierDernierVide() {
+    ARN<Integer> arn = new ARN<>();
+    assertThrows(NoSuchElementException.class, arn::first);
+    assertThrows(NoSuchElementException.class, arn::last);
+    assertNull(arn.pollFirst());
+    assertNull(arn.pollLast());
+  }
+
+  @Test
+  public void testPollFirstPollLast() {
+    ARN<Integer> arn = new ARN<>(Arrays.asList(3, 1, 2));
+    assertEquals(1, arn.pollFirst().intValue());
+    assertEquals(3, arn.pollLast().intValue());
+    assertEquals(1, arn.size());
+    assertTrue(arn.contains(2));
+  }
+
+  @Test
+  public void testIterateurDecroissant() {
+    ARN<Integer> arn = new ARN<>(Arrays.asList(50, 25, 75, 10, 30));
+    List<Integer> parcouru = new ArrayList<>();
+    arn.descendingIterator().forEachRemaining(parcouru::add);
+    assertEquals(Arrays.asList(75, 50, 30, 25, 10), parcouru);
+    assertEquals(parcouru, new ArrayList<>(arn.descendingSet()));
+  }
+
+  @Test
+  public void testSousEnsembleVivant() {
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 0; i < 100; i++) {
+      arn.add(i);
+    }
+
+    CollectionNavigable<Integer> vue = arn.subSet(10, true, 20, false);
+    assertEquals(10, vue.size());
+    assertEquals(10, vue.first().intValue());
+    assertEquals(19, vue.last().intValue());
+    assertFalse(vue.contains(20), "La borne haute exclue ne fait pas partie de la vue");
+
+    // Les modifications de l'arbre sont visibles dans la vue, et inversement
+    arn.remove(15);
+    assertEquals(9, vue.size());
+    vue.remove(10);
+    assertFalse(arn.contains(10));
+    assertThrows(IllegalArgumentException.class, () -> vue.add(50), "Ajout hors de la vue interdit");
+
+    assertEquals(Arrays.asList(97, 98, 99), new ArrayList<>(arn.tailSet(97)));
+    assertEquals(Arrays.asList(0, 1), new ArrayList<>(arn.headSet(2)));
+    assertEquals(Arrays.asList(13, 12, 11), new ArrayList<>(vue.descendingSet().subSet(13, true, 10, false)));
+  }
+
+  @Test
+  public void testVueBornesInvalides() {
+    ARN<Integer> arn = new ARN<>(Arrays.asList(1, 2, 3));
+    assertThrows(IllegalArgumentException.class, () -> arn.subSet(5, 1));
+    CollectionNavigable<Integer> vue = arn.headSet(2, true);
+    assertThrows(IllegalArgumentException.class, () -> vue.tailSet(3, true));
+  }
+
+  @Test
+  public void testEnsembleSansDoublons() {
+    ARN<Integer> arn = new ARN<>(Arrays.asList(3, 1, 3, 2, 2, 2, 5));
+    assertFalse(arn instanceof Set, "Un ARN à doublons ne doit pas se présenter comme un Set");
+    NavigableSet<Integer> ensemble = arn.ensemble();
+    TreeSet<Integer> reference = new TreeSet<>(Arrays.asList(1, 2, 3, 5));
+
+    assertEquals(4, ensemble.size(), "Chaque clé compte une fois");
+    assertEquals(new ArrayList<>(reference), new ArrayList<>(ensemble));
+    assertEquals(reference, ensemble);
+    assertEquals(ensemble, reference);
+    assertEquals(reference.hashCode(), ensemble.hashCode());
+    assertEquals(Arrays.asList(5, 3, 2, 1), new ArrayList<>(ensemble.descendingSet()));
+    assertEquals(new TreeSet<>(Arrays.asList(2, 3)), ensemble.subSet(2, true, 3, true));
+
+    // add n'insère que les clés absentes ; remove retire toutes les occurrences
+    assertFalse(ensemble.add(2));
+    assertEquals(7, arn.size());
+    assertTrue(ensemble.add(4));
+    assertTrue(ensemble.remove(2));
+    assertFalse(arn.contains(2), "remove doit retirer toutes les occurrences");
+    assertEquals(5, ensemble.pollLast());
+    assertEquals(4, ensemble.last());
+    assertEquals(Arrays.asList(1, 3, 3, 4), new ArrayList<>(arn), "Vue vivante");
+
+    Iterator<Integer> it = ensemble.iterator();
+    assertEquals(1, it.next());
+    assertEquals(3, it.next());
+    it.remove();
+    assertEquals(4, it.next());
+    assertFalse(it.hasNext());
+    assertEquals(Arrays.asList(1, 4), new ArrayList<>(arn));
+  }
+
+  @Test
+  public void testIterateurRemoveNoeudDeuxEnfants() {
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 0; i < 200; i++) {
+      arn.add(i);
+    }
+
+    // Supprimer pendant le parcours ne doit ni sauter ni répéter d'élément
+    List<Integer> parcouru = new ArrayList<>();
+    Iterator<Integer> it = arn.iterator();
+    while (it.hasNext()) {
+      int val = it.next();
+      parcouru.add(val);
+      if (val % 3 != 0) {
+        it.remove();
+      }
+    }
+
+    assertEquals(200, parcouru.size(), "Chaque élément doit être parcouru une fois");
+    for (int i = 0; i < 200; i++) {
+      assertEquals(i % 3 == 0, arn.contains(i), "contains(" + i + ")");
+    }
+  }
+
+  // ========== TESTS DE STATISTIQUES D'ORDRE ==========
+
+  @Test
+  public void testGetParPosition() {
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 99; i >= 0; i--) {
+      arn.add(i * 2);
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i * 2, arn.get(i).intValue(), "get(" + i + ")");
+    }
+
+    // Les tailles de sous-arbres doivent suivre les suppressions et leurs rotations
+    for (int i = 0; i < 100; i += 3) {
+      arn.remove(i * 2);
+    }
+    List<Integer> attendu = new ArrayList<>(arn);
+    for (int i = 0; i < attendu.size(); i++) {
+      assertEquals(attendu.get(i), arn.get(i), "get(" + i + ") après suppressions");
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> arn.get(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> arn.get(arn.size()));
+  }
+
+  @Test
+  public void testRangEtIndexOf() {
+    ARN<Integer> arn = new ARN<>(Arrays.asList(10, 20, 20, 30));
+    assertEquals(0, arn.rang(5));
+    assertEquals(1, arn.rang(20), "Nombre d'éléments strictement inférieurs");
+    assertEquals(3, arn.rang(25));
+    assertEquals(1, arn.indexOf(20), "Position de la première occurrence");
+    assertEquals(-1, arn.indexOf(25));
+    assertEquals(-1, arn.indexOf(null));
+  }
+
+  @Test
+  public void testCompterEntre() {
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 0; i < 1000; i++) {
+      arn.add(i);
+    }
+    assertEquals(100, arn.compterEntre(100, true, 200, false));
+    assertEquals(101, arn.compterEntre(100, true, 200, true));
+    assertEquals(99, arn.compterEntre(100, false, 200, false));
+    assertEquals(0, arn.compterEntre(200, true, 100, true), "Intervalle vide");
+    assertEquals(100, arn.subSet(100, 200).size(), "La taille d'une vue utilise les rangs");
+  }
+
+  // ========== TESTS D'OPÉRATIONS ENSEMBLISTES ==========
+
+  @Test
+  public void testUnionAvecDoublons() {
+    ARN<Integer> a = new ARN<>(Arrays.asList(1, 3, 5, 5));
+    ARN<Integer> b = new ARN<>(Arrays.asList(2, 3, 5, 9));
+    assertTrue(a.addAll(b), "L'union modifie l'arbre");
+    assertEquals(Arrays.asList(1, 2, 3, 3, 5, 5, 5, 9), new ArrayList<>(a), "Les doublons sont conservés");
+    assertEquals(Arrays.asList(2, 3, 5, 9), new ArrayList<>(b), "L'argument ne doit pas être modifié");
+    assertFalse(a.addAll(new ARN<>()), "Ajouter un arbre vide ne change rien");
+  }
+
+  @Test
+  public void testDifferenceEtIntersection() {
+    ARN<Integer> a = new ARN<>(Arrays.asList(1, 2, 2, 3, 4, 4, 5));
+    ARN<Integer> b = new ARN<>(Arrays.asList(2, 4, 6));
+
+    ARN<Integer> diff = new ARN<>(a);
+    assertTrue(diff.removeAll(b));
+    assertEquals(Arrays.asList(1, 3, 5), new ArrayList<>(diff), "Toutes les occurrences sont retirées");
+    assertFalse(diff.removeAll(b), "removeAll renvoie false si rien n'a été retiré");
+
+    ARN<Integer> inter = new ARN<>(a);
+    assertTrue(inter.retainAll(b));
+    assertEquals(Arrays.asList(2, 2, 4, 4), new ArrayList<>(inter));
+    assertFalse(inter.retainAll(b), "retainAll renvoie false si rien n'a été retiré");
+
+    assertFalse(a.removeAll(Arrays.asList(7, 8)), "Même contrat pour une collection quelconque");
+    assertTrue(a.removeAll(Arrays.asList(2)));
+    assertFalse(a.contains(2), "Toutes les occurrences de 2 doivent être retirées");
+  }
+
+  @Test
+  public void testOperationsEnsemblistesGrandesTailles() {
+    // Assez grand pour passer par le ForkJoinPool (SEUIL_PARALLELE)
+    Random rnd = new Random(7);
+    List<Integer> la = new ArrayList<>();
+    List<Integer> lb = new ArrayList<>();
+    for (int i = 0; i < 50000; i++) {
+      la.add(rnd.nextInt(100000));
+      lb.add(rnd.nextInt(100000));
+    }
+    ARN<Integer> b = new ARN<>(lb);
+    Set<Integer> dansB = new HashSet<>(lb);
+
+    ARN<Integer> union = new ARN<>(la);
+    union.addAll(b);
+    List<Integer> attendu = new ArrayList<>(la);
+    attendu.addAll(lb);
+    Collections.sort(attendu);
+    assertEquals(attendu, new ArrayList<>(union), "Union incorrecte");
+
+    ARN<Integer> diff = new ARN<>(la);
+    diff.removeAll(b);
+    ARN<Integer> inter = new ARN<>(la);
+    inter.retainAll(b);
+    List<Integer> attenduDiff = new ArrayList<>();
+    List<Integer> attenduInter = new ArrayList<>();
+    for (Integer x : la) {
+      (dansB.contains(x) ? attenduInter : attenduDiff).add(x);
+    }
+    Collections.sort(attenduDiff);
+    Collections.sort(attenduInter);
+    assertEquals(attenduDiff, new ArrayList<>(diff), "Différence incorrecte");
+    assertEquals(attenduInter, new ArrayList<>(inter), "Intersection incorrecte");
+
+    // Les tailles de sous-arbres doivent rester justes pour les opérations suivantes
+    for (int i = 0; i < attenduInter.size(); i += 97) {
+      assertEquals(attenduInter.get(i), inter.get(i), "get(" + i + ") après intersection");
+    }
+    inter.add(-1);
+    assertEquals(-1, inter.first().intValue());
+    assertEquals(attenduInter.size() + 1, inter.size());
+  }
+
+  // ========== TESTS DE SPLITERATOR ==========
+
+  @Test
+  public void testSpliteratorDecoupageExact() {
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 0; i < 10000; i++) {
+      arn.add(i % 5000); // doublons : pas de DISTINCT
+    }
+    Spliterator<Integer> droite = arn.spliterator();
+    assertTrue(droite.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED));
+    assertFalse(droite.hasCharacteristics(Spliterator.DISTINCT), "Les doublons sont acceptés");
+    assertNull(droite.getComparator(), "Ordre naturel : comparateur null");
+    Spliterator<Integer> gauche = droite.trySplit();
+    assertEquals(5000, gauche.estimateSize(), "Moitié exacte attendue");
+    assertEquals(5000, droite.estimateSize());
+
+    List<Integer> vus = new ArrayList<>();
+    assertTrue(gauche.tryAdvance(vus::add));
+    Spliterator<Integer> quart = gauche.trySplit(); // découpe après un premier élément consommé
+    quart.forEachRemaining(vus::add);
+    gauche.forEachRemaining(vus::add);
+    droite.forEachRemaining(vus::add);
+    assertEquals(new ArrayList<>(arn), vus, "Les morceaux doivent couvrir l'arbre dans l'ordre");
+
+    long somme = arn.parallelStream().mapToLong(Integer::longValue).sum();
+    assertEquals(2L * (4999L * 5000L / 2), somme, "Somme parallèle incorrecte");
+  }
+
+  // ========== TESTS DE RECYCLAGE DES NŒUDS ==========
+
+  @Test
+  public void testRecyclageFenetreGlissante() {
+    ARN<Integer> arn = new ARN<>();
+    arn.activerRecyclage(16);
+    ArrayDeque<Integer> fenetre = new ArrayDeque<>();
+    Random rnd = new Random(3);
+    for (int i = 0; i < 20000; i++) {
+      int k = rnd.nextInt(1000); // doublons fréquents
+      arn.add(k);
+      fenetre.addLast(k);
+      if (fenetre.size() > 200) {
+        assertTrue(arn.remove(fenetre.pollFirst()), "La clé la plus ancienne doit être présente");
+      }
+      assertTrue(arn.nbNoeudsLibres() <= 16, "Réserve au-delà de sa capacité");
+    }
+    List<Integer> attendu = new ArrayList<>(fenetre);
+    Collections.sort(attendu);
+    assertEquals(attendu, new ArrayList<>(arn), "Contenu incorrect avec recyclage");
+    for (int i = 0; i < attendu.size(); i += 13) {
+      assertEquals(attendu.get(i), arn.get(i), "Tailles de sous-arbres fausses après réutilisation");
+    }
+
+    Iterator<Integer> it = arn.iterator();
+    while (it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+    assertTrue(arn.isEmpty());
+    assertEquals(16, arn.nbNoeudsLibres(), "Les nœuds retirés par l'itérateur doivent remplir la réserve");
+    arn.activerRecyclage(0);
+    assertEquals(0, arn.nbNoeudsLibres(), "Capacité 0 : réserve vidée");
+    assertThrows(IllegalArgumentException.class, () -> arn.activerRecyclage(-1));
+  }
+
+  // ========== TESTS DES STATISTIQUES ==========
+
+  @Test
+  public void testStatistiques() {
+    ARN<Integer> arn = new ARN<>();
+    arn.activerStatistiques(true);
+    arn.add(1); // racine recolorée en noir
+    arn.add(2); // 2 comparaisons, père noir
+    arn.add(3); // 3 comparaisons, cas 3 : deux recolorations et une rotation
+    Statistiques s = arn.statistiques();
+    assertEquals(5, s.comparaisons(), "Comparaisons de l'insertion");
+    assertEquals(1, s.rotations());
+    assertEquals(3, s.recolorations());
+    assertEquals(1, s.iterationsCorrection());
+    assertEquals(2, s.hauteur());
+    assertEquals(1, s.hauteurNoire(), "Racine noire, feuilles rouges");
+    assertEquals(5.0 / 3, s.profondeurMoyenne(), 1e-9);
+    assertNull(arn.comparator(), "L'enveloppe de comptage ne doit pas être visible");
+
+    assertTrue(arn.contains(3));
+    assertEquals(7, arn.statistiques().comparaisons(), "Une recherche à la profondeur 2 coûte 2 comparaisons");
+
+    for (int i = 4; i <= 1000; i++) arn.add(i);
+    for (int i = 1; i <= 1000; i += 2) arn.remove(i);
+    s = arn.statistiques();
+    assertTrue(s.rotations() > 0 && s.iterationsCorrection() > 0);
+    assertTrue(s.profondeurMoyenne() >= 1 && s.profondeurMoyenne() <= s.hauteur());
+
+    arn.activerStatistiques(false);
+    assertEquals(0, arn.statistiques().comparaisons(), "Compteurs nuls une fois désactivés");
+    assertTrue(arn.contains(500));
+    assertEquals(500, arn.size());
+  }
+
+  // ========== TESTS DE SAUVEGARDE BINAIRE ==========
+
+  @Test
+  public void testSauvegardeEntiers(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arn.bin");
+    ARN<Integer> arn = new ARN<>();
+    Random rnd = new Random(4);
+    for (int i = 0; i < 5000; i++) arn.add(rnd.nextInt());
+    arn.add(Integer.MIN_VALUE);
+    arn.add(Integer.MAX_VALUE);
+    arn.add(7);
+    arn.add(7); // doublon conservé
+    arn.sauvegarder(fichier, CodecCle.ENTIER);
+
+    ARN<Integer> relu = ARN.charger(fichier, CodecCle.ENTIER);
+    assertEquals(new ArrayList<>(arn), new ArrayList<>(relu), "Mêmes clés, dans le même ordre");
+    assertEquals(arn.size(), relu.size());
+    assertTrue(relu.hauteur() <= 2 * (32 - Integer.numberOfLeadingZeros(relu.size() + 1)),
+        "Arbre rechargé équilibré");
+    relu.add(8);
+    assertTrue(relu.remove(7) && relu.contains(7) && relu.contains(8), "Arbre rechargé modifiable");
+
+    // Clés denses : un octet par clé, en-tête compris à quelques octets près
+    ARN<Integer> dense = new ARN<>();
+    for (int i = 0; i < 10000; i++) dense.add(i);
+    dense.sauvegarder(fichier, CodecCle.ENTIER);
+    assertTrue(Files.size(fichier) < 10000 + 16, "Écarts de 1 : un octet par clé");
+    assertEquals(new ArrayList<>(dense), new ArrayList<>(ARN.charger(fichier, CodecCle.ENTIER)));
+
+    ARN<Integer> vide = new ARN<>();
+    vide.sauvegarder(fichier, CodecCle.ENTIER);
+    assertTrue(ARN.charger(fichier, CodecCle.ENTIER).isEmpty());
+  }
+
+  @Test
+  public void testSauvegardeLongsEtChaines(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arn.bin");
+    ARN<Long> longs = new ARN<>(Arrays.asList(Long.MIN_VALUE, -1L, 0L, 1L << 40, Long.MAX_VALUE));
+    longs.sauvegarder(fichier, CodecCle.LONG);
+    assertEquals(new ArrayList<>(longs), new ArrayList<>(ARN.charger(fichier, CodecCle.LONG)),
+        "Écarts débordant 64 bits");
+
+    ARN<String> chaines = new ARN<>(Arrays.asList("", "a", "abc", "abd", "abcdef", "été", "étage",
+        "\uD83D\uDE00", "\uD83D\uDE01", "x\uD83D\uDE00y"));
+    chaines.sauvegarder(fichier, CodecCle.CHAINE);
+    assertEquals(new ArrayList<>(chaines), new ArrayList<>(ARN.charger(fichier, CodecCle.CHAINE)),
+        "Préfixes communs, y compris au milieu d'une paire de substitution");
+
+    // Rechargée avec un autre ordre : les clés sont retriées
+    ARN<String> inverse = ARN.charger(fichier, CodecCle.CHAINE, Comparator.reverseOrder());
+    List<String> attendu = new ArrayList<>(chaines);
+    Collections.reverse(attendu);
+    assertEquals(attendu, new ArrayList<>(inverse));
+  }
+
+  @Test
+  public void testSauvegardeClesNonComparables(@TempDir Path dossier) throws IOException {
+    // Paires (int[], non Comparable) ordonnées par un comparateur : rechargeables avec lui
+    CodecCle<int[]> paires = new CodecCle<int[]>() {
+      public String nom() {
+        return "paire";
+      }
+
+      public void ecrire(int[] precedent, int[] cle, CodecCle.Sortie sortie) throws IOException {
+        sortie.varint(cle[0]);
+        sortie.varint(cle[1]);
+      }
+
+      public int[] lire(int[] precedent, CodecCle.Entree entree) throws IOException {
+        return new int[] {entree.longueur(), entree.longueur()};
+      }
+    };
+    Comparator<int[]> ordre = Comparator.<int[]>comparingInt(t -> t[0]).thenComparingInt(t -> t[1]);
+    ARN<int[]> arn = new ARN<>(ordre);
+    Random rnd = new Random(6);
+    for (int i = 0; i < 500; i++) arn.add(new int[] {rnd.nextInt(50), rnd.nextInt(1000)});
+    Path fichier = dossier.resolve("arn.bin");
+    arn.sauvegarder(fichier, paires);
+
+    ARN<int[]> relu = ARN.charger(fichier, paires, ordre);
+    assertEquals(arn.size(), relu.size());
+    Iterator<int[]> attendu = arn.iterator();
+    for (int[] p : relu) assertArrayEquals(attendu.next(), p, "Mêmes paires, dans le même ordre");
+    assertEquals(ordre, relu.comparator());
+  }
+
+  @Test
+  public void testSauvegardeEchoueeSansFichierTemporaire(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arn.bin");
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 0; i < 100; i++) arn.add(i);
+    arn.sauvegarder(fichier, CodecCle.ENTIER);
+    byte[] precedente = Files.readAllBytes(fichier);
+
+    // Codec qui échoue au milieu de l'écriture
+    CodecCle<Integer> defaillant = new CodecCle<Integer>() {
+      public String nom() {
+        return "int";
+      }
+
+      public void ecrire(Integer precedent, Integer cle, CodecCle.Sortie sortie) throws IOException {
+        if (cle == 50) throw new IOException("Disque plein");
+        CodecCle.ENTIER.ecrire(precedent, cle, sortie);
+      }
+
+      public Integer lire(Integer precedent, CodecCle.Entree entree) throws IOException {
+        return CodecCle.ENTIER.lire(precedent, entree);
+      }
+    };
+    arn.add(1000);
+    IOException e = assertThrows(IOException.class, () -> arn.sauvegarder(fichier, defaillant));
+    assertEquals("Disque plein", e.getMessage(), "L'exception du codec doit être propagée");
+    assertFalse(Files.exists(dossier.resolve("arn.bin.tmp")), "Le fichier temporaire doit être effacé");
+    assertArrayEquals(precedente, Files.readAllBytes(fichier), "La sauvegarde précédente doit rester intacte");
+  }
+
+  @Test
+  public void testSauvegardeInvalide(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arn.bin");
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 0; i < 1000; i++) arn.add(i * 1000);
+    arn.sauvegarder(fichier, CodecCle.ENTIER);
+    assertFalse(Files.exists(dossier.resolve("arn.bin.tmp")), "Pas de fichier temporaire restant");
+
+    assertThrows(IOException.class, () -> ARN.charger(fichier, CodecCle.LONG), "Mauvais codec");
+
+    byte[] contenu = Files.readAllBytes(fichier);
+    Files.write(fichier, Arrays.copyOf(contenu, contenu.length - 3));
+    assertThrows(IOException.class, () -> ARN.charger(fichier, CodecCle.ENTIER), "Fichier tronqué");
+
+    Files.write(fichier, Arrays.copyOf(contenu, contenu.length + 1));
+    assertThrows(IOException.class, () -> ARN.charger(fichier, CodecCle.ENTIER), "Données en trop");
+
+    Files.write(fichier, "n,valeur\n1,2\n".getBytes(StandardCharsets.UTF_8));
+    assertThrows(IOException.class, () -> ARN.charger(fichier, CodecCle.ENTIER), "Pas une sauvegarde");
+  }
+
+  @Test
+  public void testSauvegardeLongueurAbimee(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arn.bin");
+    new ARN<>(Arrays.asList("abc")).sauvegarder(fichier, CodecCle.CHAINE);
+    byte[] contenu = Files.readAllBytes(fichier);
+    // Magie (4), nom du codec (1 + 6), nombre de clés (1), préfixe commun (1), puis la
+    // longueur du reste : remplacée par 0x7FFFFFF0 (varint sur 5 octets)
+    byte[] abime = Arrays.copyOf(contenu, 13 + 5);
+    byte[] longueur = {(byte) 0xF0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+    System.arraycopy(longueur, 0, abime, 13, 5);
+    Files.write(fichier, abime);
+    assertThrows(IOException.class, () -> ARN.charger(fichier, CodecCle.CHAINE),
+        "Une longueur au-delà de la fin du fichier doit lever IOException, pas OutOfMemoryError");
+  }
+}
@@ -0,0 +1,257 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestARNConcurrent {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testArbreVide() {
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>();
+    assertEquals(0, arbre.size(), "Taille doit être 0");
+    assertTrue(arbre.isEmpty(), "L'arbre doit être vide");
+    assertFalse(arbre.contains(1), "Un arbre vide ne contient rien");
+    assertFalse(arbre.contains(null), "Recherche de null doit retourner false");
+    assertFalse(arbre.remove(1), "Suppression dans un arbre vide doit retourner false");
+    assertThrows(NoSuchElementException.class, arbre::first);
+    assertThrows(NoSuchElementException.class, arbre::last);
+    assertThrows(NullPointerException.class, () -> arbre.add(null));
+    assertNull(arbre.pollFirst(), "pollFirst d'un arbre vide doit renvoyer null");
+  }
+
+  @Test
+  public void testNavigationCommeARN() {
+    List<Integer> cles = new ArrayList<>();
+    for (int i = 0; i < 200; i++) cles.add(3 * i);
+    Collections.shuffle(cles, new Random(5));
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>(cles);
+    ARN<Integer> reference = new ARN<>(cles);
+
+    assertEquals(reference.size(), arbre.size());
+    assertEquals(reference.first(), arbre.first());
+    assertEquals(reference.last(), arbre.last());
+    for (int k = -2; k < 602; k++) {
+      assertEquals(reference.contains(k), arbre.contains(k), "contains(" + k + ")");
+      assertEquals(reference.floor(k), arbre.floor(k), "floor(" + k + ")");
+      assertEquals(reference.lower(k), arbre.lower(k), "lower(" + k + ")");
+      assertEquals(reference.ceiling(k), arbre.ceiling(k), "ceiling(" + k + ")");
+      assertEquals(reference.higher(k), arbre.higher(k), "higher(" + k + ")");
+    }
+    for (int i = 0; i < 200; i++) assertEquals(3 * i, arbre.get(i), "get(" + i + ")");
+    assertThrows(IndexOutOfBoundsException.class, () -> arbre.get(200));
+  }
+
+  @Test
+  public void testComparateur() {
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>(Collections.reverseOrder());
+    arbre.addAll(Arrays.asList(2, 9, 4));
+    assertEquals(Arrays.asList(9, 4, 2), new ArrayList<>(arbre), "Ordre inverse attendu");
+    assertEquals(9, arbre.first());
+    assertEquals(4, arbre.ceiling(5), "ceiling suit l'ordre du comparateur");
+  }
+
+  // ========== OPÉRATIONS GROUPÉES ==========
+
+  @Test
+  public void testAddAllClearSize() {
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>();
+    assertTrue(arbre.addAll(Arrays.asList(5, 1, 5, 3)), "addAll doit signaler la modification");
+    assertEquals(4, arbre.size(), "Doublons conservés comme dans ARN");
+    assertEquals(Arrays.asList(1, 3, 5, 5), new ArrayList<>(arbre));
+    assertFalse(arbre.addAll(Collections.emptyList()), "addAll vide ne modifie rien");
+    assertThrows(IllegalArgumentException.class, () -> arbre.addAll(arbre));
+
+    assertTrue(arbre.removeAll(Arrays.asList(5, 7)));
+    assertEquals(Arrays.asList(1, 3), new ArrayList<>(arbre), "removeAll retire toutes les occurrences");
+    arbre.addAll(Arrays.asList(8, 9));
+    assertTrue(arbre.retainAll(Arrays.asList(1, 8)));
+    assertEquals(Arrays.asList(1, 8), new ArrayList<>(arbre));
+
+    arbre.clear();
+    assertEquals(0, arbre.size());
+    assertTrue(arbre.isEmpty());
+  }
+
+  @Test
+  public void testPoll() {
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>(Arrays.asList(4, 2, 6));
+    assertEquals(2, arbre.pollFirst());
+    assertEquals(6, arbre.pollLast());
+    assertEquals(Collections.singletonList(4), new ArrayList<>(arbre));
+  }
+
+  // ========== ITÉRATEUR ==========
+
+  @Test
+  public void testIterateurSurCopie() {
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>(Arrays.asList(1, 2, 3, 4));
+    Iterator<Integer> it = arbre.iterator();
+    assertThrows(IllegalStateException.class, it::remove, "remove avant next doit échouer");
+    assertEquals(1, it.next());
+    arbre.add(0);   // invisibles pour l'itérateur, sans ConcurrentModificationException
+    arbre.remove(3);
+    List<Integer> vus = new ArrayList<>();
+    while (it.hasNext()) vus.add(it.next());
+    assertEquals(Arrays.asList(2, 3, 4), vus, "L'itérateur parcourt la copie prise à sa création");
+    assertThrows(NoSuchElementException.class, it::next);
+    assertEquals(Arrays.asList(0, 1, 2, 4), new ArrayList<>(arbre));
+  }
+
+  @Test
+  public void testIterateurRemove() {
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>();
+    for (int i = 0; i < 100; i++) arbre.add(i);
+    Iterator<Integer> it = arbre.iterator();
+    while (it.hasNext()) {
+      if (it.next() % 2 == 0) {
+        it.remove();
+        assertThrows(IllegalStateException.class, it::remove, "Deux remove de suite doivent échouer");
+      }
+    }
+    assertEquals(50, arbre.size(), "remove de l'itérateur doit supprimer dans l'arbre");
+    for (int i = 0; i < 100; i++) assertEquals(i % 2 == 1, arbre.contains(i), "contains(" + i + ")");
+  }
+
+  // ========== CONCURRENCE ==========
+
+  @Test
+  public void testLectureAttendEcritureEnCours() throws InterruptedException {
+    CountDownLatch verrouPris = new CountDownLatch(1);
+    CountDownLatch liberer = new CountDownLatch(1);
+    // Les comparaisons avec 99 ont lieu dans add, sous verrou exclusif : elles bloquent l'écrivain
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>((a, b) -> {
+      if (a == 99 || b == 99) {
+        verrouPris.countDown();
+        try {
+          liberer.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return Integer.compare(a, b);
+    });
+    arbre.addAll(Arrays.asList(1, 2, 3));
+    Thread ecrivain = new Thread(() -> arbre.add(99));
+    ecrivain.start();
+    assertTrue(verrouPris.await(10, TimeUnit.SECONDS));
+
+    // Pas de lecture optimiste possible : le lecteur doit se replier sur le verrou de lecture
+    AtomicReference<Integer> dernier = new AtomicReference<>();
+    Thread lecteur = new Thread(() -> dernier.set(arbre.last()));
+    lecteur.start();
+    lecteur.join(200);
+    assertTrue(lecteur.isAlive(), "La lecture doit attendre la fin de l'écriture");
+    assertNull(dernier.get());
+
+    liberer.countDown();
+    ecrivain.join(10_000);
+    lecteur.join(10_000);
+    assertEquals(99, dernier.get(), "La lecture doit voir l'arbre après l'écriture");
+    assertEquals(Arrays.asList(1, 2, 3, 99), new ArrayList<>(arbre));
+  }
+
+  @Test
+  public void testOperationsGroupeesSurSoiMeme() {
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>(Arrays.asList(1, 2, 3, 4));
+    // Avant correction, ces appels relisaient l'arbre sous son propre verrou exclusif et bloquaient
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+      assertFalse(arbre.retainAll(arbre), "retainAll(this) ne modifie rien");
+      assertFalse(arbre.retainAll(Collections.unmodifiableCollection(arbre)));
+      assertEquals(4, arbre.size());
+      assertTrue(arbre.removeAll(Collections.unmodifiableCollection(arbre)));
+      assertTrue(arbre.isEmpty(), "Une vue qui relit l'arbre doit tout retirer");
+      arbre.addAll(Arrays.asList(3, 4));
+      assertTrue(arbre.removeAll(arbre), "removeAll(this) vide l'arbre");
+      assertTrue(arbre.isEmpty());
+      assertFalse(arbre.removeAll(arbre), "removeAll(this) d'un arbre vide ne modifie rien");
+    });
+  }
+
+  @Test
+  public void testEcrivainsMultiplesEtLecteurs() throws InterruptedException {
+    final int ecrivains = 4, operations = 20_000, n = 1000;
+    // Clés paires toujours présentes ; chaque écrivain ajoute et retire ses propres clés impaires
+    List<Integer> paires = new ArrayList<>();
+    for (int i = 0; i < n; i++) paires.add(2 * i);
+    ARNConcurrent<Integer> arbre = new ARNConcurrent<>(paires);
+    AtomicInteger ajoutsNets = new AtomicInteger();
+    AtomicReference<Throwable> erreur = new AtomicReference<>();
+    CountDownLatch depart = new CountDownLatch(1);
+    List<Thread> fils = new ArrayList<>();
+
+    for (int w = 0; w < ecrivains; w++) {
+      int numero = w;
+      fils.add(new Thread(() -> {
+        Random rnd = new Random(numero);
+        int[] presences = new int[n];
+        try {
+          depart.await();
+          for (int i = 0; i < operations; i++) {
+            int j = rnd.nextInt(n / ecrivains) * ecrivains + numero; // clés de cet écrivain seulement
+            int k = 2 * j + 1;
+            if (rnd.nextBoolean()) {
+              arbre.add(k);
+              presences[j]++;
+              ajoutsNets.incrementAndGet();
+            } else if (arbre.remove(k)) {
+              presences[j]--;
+              ajoutsNets.decrementAndGet();
+            } else {
+              assertEquals(0, presences[j], "Seul cet écrivain touche " + k);
+            }
+          }
+        } catch (Throwable t) {
+          erreur.compareAndSet(null, t);
+        }
+      }));
+    }
+    for (int r = 0; r < 2; r++) {
+      int numero = r;
+      fils.add(new Thread(() -> {
+        Random rnd = new Random(100 + numero);
+        try {
+          depart.await();
+          for (int i = 0; i < operations; i++) {
+            int p = 2 * rnd.nextInt(n);
+            assertTrue(arbre.contains(p), "Clé paire " + p + " toujours présente");
+            assertEquals(p, arbre.floor(p), "floor d'une clé présente");
+            Integer h = arbre.higher(p);
+            assertTrue(h == null || h == p + 1 || h == p + 2, "higher(" + p + ") = " + h);
+            int taille = arbre.size();
+            assertTrue(taille >= n, "Taille " + taille + " inférieure aux clés paires");
+          }
+        } catch (Throwable t) {
+          erreur.compareAndSet(null, t);
+        }
+      }));
+    }
+    for (Thread f : fils) f.start();
+    depart.countDown();
+    for (Thread f : fils) f.join(60_000);
+
+    if (erreur.get() != null) fail(erreur.get());
+    assertEquals(n + ajoutsNets.get(), arbre.size(), "Taille égale au compte de référence");
+    int compte = 0;
+    Integer precedent = null;
+    for (Integer k : arbre) {
+      assertTrue(precedent == null || precedent <= k, "Parcours trié");
+      precedent = k;
+      compte++;
+    }
+    assertEquals(arbre.size(), compte, "Le parcours doit voir tous les éléments");
+  }
+}
@@ -0,0 +1,227 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class TestARNFichier {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testARNFichierVide(@TempDir Path dossier) throws IOException {
+    try (ARNFichier arbre = new ARNFichier(dossier.resolve("arbre.arn"))) {
+      assertEquals(0, arbre.size(), "Taille doit être 0");
+      assertTrue(arbre.isEmpty(), "L'arbre doit être vide");
+      assertFalse(arbre.iterator().hasNext(), "L'itérateur d'un arbre vide ne doit pas avoir de next");
+      assertThrows(NoSuchElementException.class, arbre::premier);
+      assertThrows(NullPointerException.class, () -> arbre.add((Long) null));
+      assertFalse(arbre.contains(3), "Un Integer n'est jamais contenu");
+    }
+  }
+
+  @Test
+  public void testOperationsCommeListeTriee(@TempDir Path dossier) throws IOException {
+    // Segments de 16 slots : l'arbre en ajoute beaucoup
+    try (ARNFichier arbre = new ARNFichier(dossier.resolve("arbre.arn"), 4)) {
+      List<Long> reference = new ArrayList<>();
+      Random rnd = new Random(11);
+      for (int i = 0; i < 20000; i++) {
+        long k = rnd.nextInt(3000) - 1500L;
+        if (rnd.nextInt(3) > 0) {
+          assertTrue(arbre.add(k), "add renvoie toujours true (doublons autorisés)");
+          reference.add(k);
+        } else {
+          assertEquals(reference.remove(Long.valueOf(k)), arbre.remove(k), "Suppression de " + k);
+        }
+      }
+      Collections.sort(reference);
+      assertEquals(reference.size(), arbre.size());
+      assertEquals(reference, new ArrayList<>(arbre), "Parcours dans l'ordre croissant");
+      assertEquals(reference.get(0), arbre.premier());
+      assertEquals(reference.get(reference.size() - 1), arbre.dernier());
+      int n = arbre.size();
+      assertTrue(arbre.hauteur() <= 2 * (32 - Integer.numberOfLeadingZeros(n + 1)),
+          "Hauteur d'un ARN : au plus 2 log2(n + 1)");
+    }
+  }
+
+  @Test
+  public void testClesExtremes(@TempDir Path dossier) throws IOException {
+    try (ARNFichier arbre = new ARNFichier(dossier.resolve("arbre.arn"))) {
+      arbre.add(Long.MAX_VALUE);
+      arbre.add(Long.MIN_VALUE);
+      arbre.add(0L);
+      PrimitiveIterator.OfLong it = arbre.iterator();
+      assertEquals(Long.MIN_VALUE, it.nextLong());
+      assertEquals(0L, it.nextLong());
+      assertEquals(Long.MAX_VALUE, it.nextLong());
+      assertFalse(it.hasNext());
+    }
+  }
+
+  @Test
+  public void testIterateurRemove(@TempDir Path dossier) throws IOException {
+    try (ARNFichier arbre = new ARNFichier(dossier.resolve("arbre.arn"), 3)) {
+      for (long i = 0; i < 500; i++) arbre.add(i);
+      PrimitiveIterator.OfLong it = arbre.iterator();
+      assertThrows(IllegalStateException.class, it::remove);
+      while (it.hasNext()) {
+        if (it.nextLong() % 2 == 0) it.remove();
+      }
+      assertEquals(250, arbre.size());
+      long attendu = 1;
+      for (long k : arbre) {
+        assertEquals(attendu, k, "Seules les clés impaires doivent rester");
+        attendu += 2;
+      }
+    }
+  }
+
+  // ========== TESTS DE PERSISTANCE ==========
+
+  @Test
+  public void testReouverture(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arbre.arn");
+    List<Long> attendu = new ArrayList<>();
+    try (ARNFichier arbre = new ARNFichier(fichier, 5)) {
+      for (long i = 0; i < 3000; i++) arbre.add(i * 7 % 3001);
+      for (long i = 0; i < 3000; i += 3) arbre.remove(i * 7 % 3001);
+      attendu.addAll(arbre);
+    }
+
+    // Le fichier garde sa taille de segment, même ouvert avec la valeur par défaut
+    try (ARNFichier arbre = new ARNFichier(fichier)) {
+      assertEquals(attendu.size(), arbre.size(), "Taille retrouvée après réouverture");
+      assertEquals(attendu, new ArrayList<>(arbre), "Clés retrouvées après réouverture");
+      for (long i = 5000; i < 6000; i++) arbre.add(i); // réutilise les slots libérés puis en ajoute
+    }
+    try (ARNFichier arbre = new ARNFichier(fichier)) {
+      assertEquals(attendu.size() + 1000, arbre.size());
+      assertTrue(arbre.contains(5999L) && arbre.contains(attendu.get(0)));
+      arbre.clear();
+    }
+    try (ARNFichier arbre = new ARNFichier(fichier)) {
+      assertTrue(arbre.isEmpty(), "clear doit être persistant");
+    }
+  }
+
+  @Test
+  public void testModificationInterrompueRefusee(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arbre.arn");
+    try (ARNFichier arbre = new ARNFichier(fichier)) {
+      for (long i = 0; i < 100; i++) arbre.add(i);
+      arbre.debuterModification(); // comme un processus arrêté au milieu d'un add
+    }
+    byte[] avant = Files.readAllBytes(fichier);
+    IOException e = assertThrows(IOException.class, () -> new ARNFichier(fichier),
+        "Un fichier dont une modification a été interrompue doit être refusé");
+    assertTrue(e.getMessage().contains("interrompue"), e.getMessage());
+    assertArrayEquals(avant, Files.readAllBytes(fichier), "Le fichier refusé ne doit pas être modifié");
+  }
+
+  @Test
+  public void testProcessusTuePendantLesModifications(@TempDir Path dossier) throws Exception {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    for (int essai = 0; essai < 3; essai++) {
+      Path fichier = dossier.resolve("arbre" + essai + ".arn");
+      Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+          TestARNFichier.class.getName(), fichier.toString()).redirectErrorStream(true).start();
+      try (BufferedReader sortie = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+        assertEquals("pret", sortie.readLine(), "Le processus fils doit avoir commencé à écrire");
+        Thread.sleep(100L + 150L * essai);
+        p.destroyForcibly();
+        assertTrue(p.waitFor(30, TimeUnit.SECONDS));
+      }
+
+      // Réouverture : soit refusée (modification interrompue), soit un arbre cohérent
+      ARNFichier arbre;
+      try {
+        arbre = new ARNFichier(fichier);
+      } catch (IOException e) {
+        assertTrue(e.getMessage().contains("interrompue"), e.getMessage());
+        continue;
+      }
+      try (ARNFichier a = arbre) {
+        long precedent = Long.MIN_VALUE;
+        int compte = 0;
+        for (PrimitiveIterator.OfLong it = a.iterator(); it.hasNext(); compte++) {
+          long k = it.nextLong();
+          assertTrue(precedent <= k, "Parcours trié");
+          precedent = k;
+        }
+        assertEquals(a.size(), compte, "La taille de l'en-tête doit correspondre aux nœuds");
+        assertTrue(compte >= 1000, "Les clés écrites avant \"pret\" doivent être là");
+        assertTrue(a.hauteur() <= 2 * (32 - Integer.numberOfLeadingZeros(compte + 1)));
+      }
+    }
+  }
+
+  // Processus fils de testProcessusTuePendantLesModifications : écrit jusqu'à être tué
+  public static void main(String[] args) throws IOException {
+    try (ARNFichier arbre = new ARNFichier(Path.of(args[0]), 6)) {
+      Random rnd = new Random(3);
+      for (int i = 0; i < 1000; i++) arbre.add(rnd.nextInt(1 << 20));
+      System.out.println("pret");
+      System.out.flush();
+      while (true) {
+        long k = rnd.nextInt(1 << 20);
+        if (rnd.nextBoolean()) arbre.add(k);
+        else arbre.remove(k);
+      }
+    }
+  }
+
+  @Test
+  public void testEnteteIncoherente(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("arbre.arn");
+    try (ARNFichier arbre = new ARNFichier(fichier, 4)) {
+      for (long i = 0; i < 100; i++) arbre.add(i); // 7 segments de 16 slots
+    }
+    byte[] sain = Files.readAllBytes(fichier);
+
+    // Fichier tronqué : refusé sans être agrandi
+    Files.write(fichier, Arrays.copyOf(sain, 64 + 2 * 16 * ARNFichier.TAILLE_NOEUD));
+    assertThrows(IOException.class, () -> new ARNFichier(fichier), "Fichier tronqué");
+    assertEquals(64 + 2 * 16 * ARNFichier.TAILLE_NOEUD, Files.size(fichier), "Le fichier refusé ne doit pas être agrandi");
+
+    // Champs de l'en-tête hors des slots utilisés (racine en 12, prochain slot en 20)
+    int[][] corruptions = {{12, 1_000_000}, {12, -1}, {20, 0}, {20, 1 << 30}};
+    for (int[] c : corruptions) {
+      byte[] abime = sain.clone();
+      ByteBuffer.wrap(abime).putInt(c[0], c[1]);
+      Files.write(fichier, abime);
+      assertThrows(IOException.class, () -> new ARNFichier(fichier), "Champ " + c[0] + " = " + c[1]);
+      assertEquals(sain.length, Files.size(fichier));
+    }
+
+    Files.write(fichier, sain);
+    try (ARNFichier arbre = new ARNFichier(fichier)) {
+      assertEquals(100, arbre.size(), "Le fichier sain s'ouvre toujours");
+    }
+  }
+
+  @Test
+  public void testFichierEtranger(@TempDir Path dossier) throws IOException {
+    Path fichier = dossier.resolve("autre.csv");
+    Files.write(fichier, "n,valeur\n1,2\n".getBytes(StandardCharsets.UTF_8));
+    assertThrows(IOException.class, () -> new ARNFichier(fichier), "Un fichier quelconque doit être refusé");
+    assertEquals(13, Files.size(fichier), "Le fichier refusé ne doit pas être modifié");
+  }
+}
@@ -0,0 +1,132 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TestARNPersistant {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testArbreVide() {
+    ARNPersistant<Integer> arbre = new ARNPersistant<>();
+    assertEquals(0, arbre.size(), "Taille doit être 0");
+    assertTrue(arbre.isEmpty(), "L'arbre doit être vide");
+    assertFalse(arbre.contains(1), "Un arbre vide ne contient rien");
+    assertFalse(arbre.remove(1), "Suppression dans un arbre vide doit retourner false");
+    assertFalse(arbre.iterator().hasNext(), "L'itérateur d'un arbre vide ne doit pas avoir de next");
+  }
+
+  @Test
+  public void testInsertionNull() {
+    ARNPersistant<Integer> arbre = new ARNPersistant<>();
+    assertThrows(NullPointerException.class, () -> arbre.add(null),
+        "L'insertion de null devrait lever une exception");
+    assertFalse(arbre.contains(null), "Recherche de null doit retourner false");
+  }
+
+  @Test
+  public void testInsertionEtOrdre() {
+    ARNPersistant<Integer> arbre = new ARNPersistant<>(Arrays.asList(5, 3, 8, 1, 4, 7, 9));
+    assertEquals(Arrays.asList(1, 3, 4, 5, 7, 8, 9), new ArrayList<>(arbre), "Parcours trié attendu");
+    assertEquals(1, arbre.first());
+    assertEquals(9, arbre.last());
+    assertEquals(5, arbre.get(3), "get(3) doit renvoyer le 4e élément");
+    assertThrows(IndexOutOfBoundsException.class, () -> arbre.get(7));
+  }
+
+  @Test
+  public void testComparateur() {
+    ARNPersistant<Integer> arbre = new ARNPersistant<>(Collections.reverseOrder());
+    arbre.addAll(Arrays.asList(2, 9, 4));
+    assertEquals(Arrays.asList(9, 4, 2), new ArrayList<>(arbre), "Ordre inverse attendu");
+  }
+
+  @Test
+  public void testDoublons() {
+    ARNPersistant<Integer> arbre = new ARNPersistant<>();
+    assertTrue(arbre.add(5));
+    assertTrue(arbre.add(5), "Deuxième insertion doit aussi réussir (doublons autorisés)");
+    arbre.add(6);
+    assertEquals(3, arbre.size());
+    assertTrue(arbre.remove(5));
+    assertEquals(Arrays.asList(5, 6), new ArrayList<>(arbre), "Une seule occurrence doit être retirée");
+  }
+
+  // ========== VERSIONS FIGÉES ==========
+
+  @Test
+  public void testSnapshotIsole() {
+    ARNPersistant<Integer> arbre = new ARNPersistant<>(Arrays.asList(1, 2, 3));
+    ARNPersistant<Integer> copie = arbre.snapshot();
+    arbre.add(4);
+    arbre.remove(1);
+    assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(copie), "Le snapshot ne doit pas voir les écritures");
+    assertEquals(Arrays.asList(2, 3, 4), new ArrayList<>(arbre));
+    assertTrue(copie.estFigee());
+    assertThrows(UnsupportedOperationException.class, () -> copie.add(5),
+        "Une version figée est en lecture seule");
+  }
+
+  @Test
+  public void testAvecSans() {
+    ARNPersistant<Integer> v1 = new ARNPersistant<>(Arrays.asList(1, 2, 3)).snapshot();
+    ARNPersistant<Integer> v2 = v1.avec(10);
+    ARNPersistant<Integer> v3 = v2.sans(2);
+    assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(v1), "avec ne doit pas modifier la version d'origine");
+    assertEquals(Arrays.asList(1, 2, 3, 10), new ArrayList<>(v2), "sans ne doit pas modifier la version d'origine");
+    assertEquals(Arrays.asList(1, 3, 10), new ArrayList<>(v3));
+    assertSame(v3, v3.sans(42), "Retirer un élément absent d'une version figée la renvoie telle quelle");
+  }
+
+  @Test
+  public void testIterateurPendantEcriture() {
+    ARNPersistant<Integer> arbre = new ARNPersistant<>(Arrays.asList(1, 2, 3));
+    Iterator<Integer> it = arbre.iterator();
+    arbre.add(0);
+    List<Integer> vus = new ArrayList<>();
+    while (it.hasNext()) {
+      vus.add(it.next());
+    }
+    assertEquals(Arrays.asList(1, 2, 3), vus, "L'itérateur parcourt la version de sa création");
+  }
+
+  // ========== TESTS ALÉATOIRES ==========
+
+  @Test
+  public void testAleatoireAvecDoublons() {
+    Random rnd = new Random(42);
+    ARNPersistant<Integer> arbre = new ARNPersistant<>();
+    List<Integer> reference = new ArrayList<>();
+    List<ARNPersistant<Integer>> versions = new ArrayList<>();
+    List<List<Integer>> attendus = new ArrayList<>();
+
+    for (int i = 0; i < 5000; i++) {
+      int k = rnd.nextInt(50);
+      if (rnd.nextInt(3) == 0) {
+        assertEquals(reference.remove((Integer) k), arbre.remove(k), "remove(" + k + ") incorrect");
+      } else {
+        arbre.add(k);
+        reference.add(k);
+      }
+      if (i % 500 == 0) {
+        versions.add(arbre.snapshot());
+        List<Integer> trie = new ArrayList<>(reference);
+        Collections.sort(trie);
+        attendus.add(trie);
+      }
+    }
+
+    Collections.sort(reference);
+    assertEquals(reference, new ArrayList<>(arbre), "Contenu final incorrect");
+    for (int i = 0; i < versions.size(); i++) {
+      assertEquals(attendus.get(i), new ArrayList<>(versions.get(i)), "Version " + i + " modifiée");
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TestAVL {
+
+  // Borne de hauteur d'un AVL de n nœuds : h < 1,4405·log2(n+2)
+  private static int hauteurMax(int n) {
+    return (int) (1.4405 * Math.log(n + 2) / Math.log(2));
+  }
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testArbreVide() {
+    AVL<Integer> arbre = new AVL<>();
+    assertEquals(0, arbre.size(), "Taille doit être 0");
+    assertTrue(arbre.isEmpty(), "L'arbre doit être vide");
+    assertFalse(arbre.contains(1));
+    assertFalse(arbre.remove(1));
+    assertFalse(arbre.iterator().hasNext(), "L'itérateur d'un arbre vide ne doit pas avoir de next");
+    assertEquals(0, arbre.hauteur());
+  }
+
+  @Test
+  public void testInsertionNull() {
+    AVL<Integer> arbre = new AVL<>();
+    assertThrows(NullPointerException.class, () -> arbre.add(null),
+        "L'insertion de null devrait lever une exception");
+    assertFalse(arbre.contains(null));
+    assertFalse(arbre.remove(null));
+  }
+
+  @Test
+  public void testComparateurEtDoublons() {
+    AVL<Integer> arbre = new AVL<>(Collections.reverseOrder());
+    arbre.addAll(Arrays.asList(2, 9, 4, 9));
+    assertEquals(Arrays.asList(9, 9, 4, 2), new ArrayList<>(arbre), "Ordre inverse, doublons conservés");
+    assertTrue(arbre.remove(9));
+    assertEquals(Arrays.asList(9, 4, 2), new ArrayList<>(arbre), "Une seule occurrence doit être retirée");
+  }
+
+  @Test
+  public void testHauteurInsertionCroissante() {
+    AVL<Integer> arbre = new AVL<>();
+    for (int i = 0; i < 100000; i++) {
+      arbre.add(i); // cas défavorable pour l'ABR : chaîne de n nœuds
+    }
+    assertTrue(arbre.hauteur() <= hauteurMax(100000), "Hauteur trop grande : " + arbre.hauteur());
+    ARN<Integer> arn = new ARN<>();
+    for (int i = 0; i < 100000; i++) {
+      arn.add(i);
+    }
+    assertTrue(arbre.hauteur() <= arn.hauteur(), "L'AVL ne doit pas être plus haut que l'ARN");
+  }
+
+  @Test
+  public void testIterateurRemove() {
+    AVL<Integer> arbre = new AVL<>(Arrays.asList(5, 3, 8, 1, 4, 7, 9, 2, 6));
+    Iterator<Integer> it = arbre.iterator();
+    assertThrows(IllegalStateException.class, it::remove, "remove() avant next() interdit");
+    List<Integer> vus = new ArrayList<>();
+    while (it.hasNext()) {
+      int x = it.next();
+      vus.add(x);
+      if (x % 2 == 1) {
+        it.remove(); // y compris des nœuds à deux fils
+      }
+    }
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), vus, "Chaque élément doit être vu une fois");
+    assertEquals(Arrays.asList(2, 4, 6, 8), new ArrayList<>(arbre));
+    assertEquals(4, arbre.size());
+  }
+
+  // ========== TESTS ALÉATOIRES ==========
+
+  @Test
+  public void testAleatoireAvecDoublons() {
+    Random rnd = new Random(42);
+    AVL<Integer> arbre = new AVL<>();
+    List<Integer> reference = new ArrayList<>();
+
+    for (int i = 0; i < 20000; i++) {
+      int k = rnd.nextInt(500);
+      if (rnd.nextInt(3) == 0) {
+        assertEquals(reference.remove((Integer) k), arbre.remove(k), "remove(" + k + ") incorrect");
+      } else {
+        arbre.add(k);
+        reference.add(k);
+      }
+      assertTrue(arbre.hauteur() <= hauteurMax(arbre.size()), "Hauteur hors borne après l'opération " + i);
+    }
+
+    Collections.sort(reference);
+    assertEquals(reference, new ArrayList<>(arbre), "Contenu final incorrect");
+    assertEquals(reference.size(), arbre.size());
+  }
+}
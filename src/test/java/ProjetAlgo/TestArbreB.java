@@ -0,0 +1,109 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TestArbreB {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testArbreVide() {
+    ArbreB<Integer> arbre = new ArbreB<>();
+    assertEquals(0, arbre.size(), "Taille doit être 0");
+    assertTrue(arbre.isEmpty(), "L'arbre doit être vide");
+    assertFalse(arbre.contains(1));
+    assertFalse(arbre.remove(1));
+    assertFalse(arbre.iterator().hasNext(), "L'itérateur d'un arbre vide ne doit pas avoir de next");
+    assertEquals(1, arbre.hauteur());
+  }
+
+  @Test
+  public void testNullEtOrdreInvalide() {
+    ArbreB<Integer> arbre = new ArbreB<>();
+    assertThrows(NullPointerException.class, () -> arbre.add(null),
+        "L'insertion de null devrait lever une exception");
+    assertFalse(arbre.contains(null));
+    assertFalse(arbre.remove(null));
+    assertThrows(IllegalArgumentException.class, () -> new ArbreB<Integer>(3), "Ordre impair refusé");
+    assertThrows(IllegalArgumentException.class, () -> new ArbreB<Integer>(2), "Ordre trop petit refusé");
+  }
+
+  @Test
+  public void testDoublons() {
+    ArbreB<Integer> arbre = new ArbreB<>(4);
+    assertTrue(arbre.add(10));
+    assertTrue(arbre.add(10), "Deuxième insertion doit aussi réussir (doublons autorisés)");
+    assertEquals(2, arbre.size());
+    assertTrue(arbre.remove(10));
+    assertTrue(arbre.contains(10), "Une occurrence doit rester");
+  }
+
+  @Test
+  public void testHauteurLogarithmique() {
+    ArbreB<Integer> arbre = new ArbreB<>(32);
+    for (int i = 0; i < 100000; i++) {
+      arbre.add(i); // insertion croissante : cas défavorable pour l'ABR
+    }
+    assertTrue(arbre.hauteur() <= 4, "Hauteur trop grande : " + arbre.hauteur());
+    assertEquals(32, arbre.ordre());
+  }
+
+  // ========== TESTS ALÉATOIRES ==========
+
+  @Test
+  public void testAleatoireContreReference() {
+    Random rnd = new Random(5);
+    for (int ordre : new int[] {4, 6, 16}) {
+      ArbreB<Integer> arbre = new ArbreB<>(ordre);
+      List<Integer> reference = new ArrayList<>();
+      for (int i = 0; i < 5000; i++) {
+        int k = rnd.nextInt(500);
+        if (rnd.nextInt(3) == 0) {
+          assertEquals(reference.remove((Integer) k), arbre.remove(k), "remove(" + k + "), ordre " + ordre);
+        } else {
+          arbre.add(k);
+          reference.add(k);
+        }
+      }
+      Collections.sort(reference);
+      assertEquals(reference, new ArrayList<>(arbre), "Parcours trié attendu, ordre " + ordre);
+      assertEquals(reference.size(), arbre.size());
+    }
+  }
+
+  @Test
+  public void testIterateurRemove() {
+    ArbreB<Integer> arbre = new ArbreB<>(4);
+    List<Integer> attendu = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      arbre.add(i % 100); // trois occurrences de chaque clé
+    }
+    Iterator<Integer> it = arbre.iterator();
+    assertThrows(IllegalStateException.class, it::remove, "remove avant next");
+    int rang = 0;
+    while (it.hasNext()) {
+      Integer x = it.next();
+      if (rang++ % 2 == 0) {
+        it.remove();
+      } else {
+        attendu.add(x);
+      }
+    }
+    assertEquals(300, rang, "Chaque élément doit être rendu une fois malgré les suppressions");
+    assertEquals(attendu, new ArrayList<>(arbre));
+  }
+
+  @Test
+  public void testComparateur() {
+    ArbreB<Integer> arbre = new ArbreB<>(Collections.reverseOrder());
+    arbre.addAll(Arrays.asList(3, 1, 2));
+    assertEquals(Arrays.asList(3, 2, 1), new ArrayList<>(arbre));
+  }
+}
@@ -0,0 +1,99 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class TestArbreSplay {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testArbreVide() {
+    ArbreSplay<Integer> arbre = new ArbreSplay<>();
+    assertEquals(0, arbre.size(), "Taille doit être 0");
+    assertTrue(arbre.isEmpty(), "L'arbre doit être vide");
+    assertFalse(arbre.contains(1));
+    assertFalse(arbre.remove(1));
+    assertFalse(arbre.iterator().hasNext(), "L'itérateur d'un arbre vide ne doit pas avoir de next");
+    assertEquals(0, arbre.hauteur());
+  }
+
+  @Test
+  public void testNullEtDoublons() {
+    ArbreSplay<Integer> arbre = new ArbreSplay<>(Collections.reverseOrder());
+    assertThrows(IllegalArgumentException.class, () -> arbre.add(null),
+        "L'insertion de null devrait lever une exception");
+    assertFalse(arbre.contains(null));
+    assertFalse(arbre.contains("x"), "Un élément d'un autre type n'est pas contenu");
+    assertTrue(arbre.add(3));
+    assertFalse(arbre.add(3), "Pas de doublons, comme dans l'ABR");
+    arbre.addAll(Arrays.asList(1, 7));
+    assertEquals(Arrays.asList(7, 3, 1), new ArrayList<>(arbre), "Ordre inverse attendu");
+  }
+
+  @Test
+  public void testAccesRemonteALaRacine() {
+    ArbreSplay<Integer> arbre = new ArbreSplay<>();
+    for (int i = 0; i < 1000; i++) {
+      arbre.add(i); // chaque insertion croissante devient la racine : chaîne à gauche
+    }
+    assertEquals(1000, arbre.hauteur(), "L'insertion croissante donne une chaîne");
+    assertTrue(arbre.contains(0));
+    assertTrue(arbre.hauteur() <= 502, "L'évasement doit replier la chaîne : " + arbre.hauteur());
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(arbre.contains(i));
+    }
+    assertEquals(1000, arbre.size());
+  }
+
+  @Test
+  public void testIterateurRemoveEtContainsPendantParcours() {
+    ArbreSplay<Integer> arbre = new ArbreSplay<>(Arrays.asList(5, 3, 8, 1, 4, 7, 9, 2, 6));
+    Iterator<Integer> it = arbre.iterator();
+    List<Integer> vus = new ArrayList<>();
+    while (it.hasNext()) {
+      int x = it.next();
+      vus.add(x);
+      // Chaque recherche réorganise l'arbre sans gêner l'itérateur
+      assertTrue(arbre.contains(x) && arbre.contains(8) && arbre.contains(2));
+      if (x % 2 == 1) {
+        it.remove();
+      }
+    }
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), vus, "Chaque élément doit être vu une fois");
+    assertEquals(Arrays.asList(2, 4, 6, 8), new ArrayList<>(arbre));
+  }
+
+  // ========== TESTS ALÉATOIRES ==========
+
+  @Test
+  public void testAleatoireContreTreeSet() {
+    Random rnd = new Random(42);
+    ArbreSplay<Integer> arbre = new ArbreSplay<>();
+    TreeSet<Integer> reference = new TreeSet<>();
+
+    for (int i = 0; i < 20000; i++) {
+      int k = rnd.nextInt(500);
+      switch (rnd.nextInt(3)) {
+        case 0:
+          assertEquals(reference.remove(k), arbre.remove(k), "remove(" + k + ") incorrect");
+          break;
+        case 1:
+          assertEquals(reference.contains(k), arbre.contains(k), "contains(" + k + ") incorrect");
+          break;
+        default:
+          assertEquals(reference.add(k), arbre.add(k), "add(" + k + ") incorrect");
+      }
+    }
+
+    assertEquals(new ArrayList<>(reference), new ArrayList<>(arbre), "Contenu final incorrect");
+    assertEquals(reference.size(), arbre.size());
+  }
+}
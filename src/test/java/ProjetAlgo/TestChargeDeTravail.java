@@ -0,0 +1,82 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class TestChargeDeTravail {
+
+  // ========== TESTS DES ORDRES D'INSERTION ==========
+
+  @Test
+  public void testOrdresSontDesPermutations() {
+    for (ChargeDeTravail.Ordre o : ChargeDeTravail.Ordre.values()) {
+      for (int n : new int[] {1, 2, 7, 100}) {
+        List<Integer> cles = new ArrayList<>(ChargeDeTravail.cles(n, o, new Random(1)));
+        Collections.sort(cles);
+        for (int i = 0; i < n; i++) {
+          assertEquals(i, cles.get(i), o.nom + " n=" + n + " : doit être une permutation de 0..n-1");
+        }
+      }
+      assertEquals(o, ChargeDeTravail.Ordre.parNom(o.nom));
+    }
+    assertThrows(IllegalArgumentException.class, () -> ChargeDeTravail.Ordre.parNom("inconnu"));
+  }
+
+  @Test
+  public void testFormeDesOrdres() {
+    assertEquals(Arrays.asList(0, 6, 1, 5, 2, 4, 3), ChargeDeTravail.cles(7, ChargeDeTravail.Ordre.ZIGZAG, null));
+    assertEquals(Arrays.asList(0, 2, 4, 6, 5, 3, 1), ChargeDeTravail.cles(7, ChargeDeTravail.Ordre.TUYAUX_ORGUE, null));
+    assertEquals(Arrays.asList(3, 2, 1, 0), ChargeDeTravail.cles(4, ChargeDeTravail.Ordre.DECROISSANT, null));
+    assertEquals(ChargeDeTravail.cles(1000, ChargeDeTravail.Ordre.ALEATOIRE, new Random(5)),
+        ChargeDeTravail.cles(1000, ChargeDeTravail.Ordre.ALEATOIRE, new Random(5)), "Même graine, même ordre");
+    List<Integer> melange = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) melange.add(i);
+    Collections.shuffle(melange, new Random(5));
+    assertEquals(melange, ChargeDeTravail.cles(1000, ChargeDeTravail.Ordre.ALEATOIRE, new Random(5)),
+        "L'ordre aléatoire doit être le mélange de Collections.shuffle");
+    for (ChargeDeTravail.Ordre o : ChargeDeTravail.Ordre.values()) {
+      int[] tableau = ChargeDeTravail.clesTableau(501, o, new Random(3));
+      List<Integer> liste = ChargeDeTravail.cles(501, o, new Random(3));
+      for (int i = 0; i < 501; i++) {
+        assertEquals(liste.get(i), tableau[i], o.nom + " : le tableau doit suivre la liste, même graine");
+      }
+    }
+
+    // Un ABR construit en zigzag est une chaîne, un ARN reste logarithmique
+    ABR<Integer> abr = new ABR<>(ChargeDeTravail.cles(1000, ChargeDeTravail.Ordre.ZIGZAG, null));
+    assertEquals(1000, abr.hauteur());
+  }
+
+  // ========== TESTS DES MÉLANGES D'OPÉRATIONS ==========
+
+  @Test
+  public void testMelangeRejoueCommeTreeSet() {
+    int n = 2000;
+    ChargeDeTravail.Operations ops = ChargeDeTravail.generer(n, ChargeDeTravail.YCSB_A, 20000, new Random(9), 0.99);
+    int[] parType = new int[3];
+    for (byte t : ops.types) parType[t]++;
+    assertEquals(10000, parType[ChargeDeTravail.LECTURE], 400, "Environ 50 % de lectures");
+    assertEquals(5000, parType[ChargeDeTravail.INSERTION], 400, "Environ 25 % d'insertions");
+
+    ARN<Integer> arn = new ARN<>(ChargeDeTravail.cles(n, ChargeDeTravail.Ordre.ALEATOIRE, new Random(9)));
+    TreeSet<Integer> reference = new TreeSet<>(arn);
+    assertEquals(ChargeDeTravail.executer(reference, ops), ChargeDeTravail.executer(arn, ops),
+        "Insertions de clés neuves : l'ARN (doublons acceptés) doit se comporter comme un ensemble");
+    assertEquals(new ArrayList<>(reference), new ArrayList<>(arn));
+
+    ChargeDeTravail.Operations recentes = ChargeDeTravail.generer(n, ChargeDeTravail.YCSB_D, 1000, new Random(9), 0.99);
+    for (int i = 0; i < 1000; i++) {
+      if (recentes.types[i] == ChargeDeTravail.LECTURE) {
+        assertTrue(recentes.cles[i] >= 0 && recentes.cles[i] < n + 1000);
+      }
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> new ChargeDeTravail.Melange("x", 0.5, 0.6, 0, ChargeDeTravail.Loi.UNIFORME));
+  }
+}
@@ -0,0 +1,48 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestHistogrammeLatences {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testValeursExactesEtVide() {
+    HistogrammeLatences h = new HistogrammeLatences();
+    assertEquals(0, h.quantile(0.99), "Histogramme vide");
+    for (int v = 1; v <= 20; v++) h.enregistrer(v); // sous 32 : seaux exacts
+    assertEquals(20, h.nombre());
+    assertEquals(10, h.quantile(0.50));
+    assertEquals(18, h.quantile(0.90));
+    assertEquals(20, h.quantile(1.0));
+    assertEquals(20, h.max());
+    assertThrows(IllegalArgumentException.class, () -> h.quantile(1.5));
+    h.reinitialiser();
+    assertEquals(0, h.nombre());
+    assertEquals(0, h.max());
+  }
+
+  @Test
+  public void testErreurRelativeBornee() {
+    HistogrammeLatences h = new HistogrammeLatences();
+    Random rnd = new Random(4);
+    long[] valeurs = new long[100000];
+    for (int i = 0; i < valeurs.length; i++) {
+      valeurs[i] = (long) Math.exp(rnd.nextDouble() * 30); // de 1 ns à ~10 s
+      h.enregistrer(valeurs[i]);
+    }
+    Arrays.sort(valeurs);
+    for (double q : new double[] {0.5, 0.9, 0.99, 0.999}) {
+      long exact = valeurs[(int) Math.ceil(q * valeurs.length) - 1];
+      long estime = h.quantile(q);
+      assertTrue(estime >= exact && estime <= exact + exact / 32 + 1,
+          "q=" + q + " : " + estime + " au lieu de " + exact);
+    }
+    assertEquals(valeurs[valeurs.length - 1], h.max(), "Maximum exact");
+    h.enregistrer(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, h.quantile(1.0), "Le dernier seau couvre les plus grandes valeurs");
+  }
+}
@@ -0,0 +1,164 @@
+package ProjetAlgo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+public class TestIntARN {
+
+  // ========== TESTS DE BASE ==========
+
+  @Test
+  public void testIntARNVide() {
+    IntARN arbre = new IntARN();
+    assertEquals("", arbre.toString(), "Création d'un IntARN vide");
+    assertEquals(0, arbre.size(), "Taille doit être 0");
+    assertTrue(arbre.isEmpty(), "L'arbre doit être vide");
+    assertFalse(arbre.iterator().hasNext(), "L'itérateur d'un arbre vide ne doit pas avoir de next");
+  }
+
+  @Test
+  public void testInsertionNull() {
+    IntARN arbre = new IntARN();
+    assertThrows(NullPointerException.class, () -> arbre.add((Integer) null),
+        "L'insertion de null devrait lever une exception");
+    assertFalse(arbre.contains(null), "Recherche de null doit retourner false");
+    assertFalse(arbre.remove(null), "Suppression de null doit retourner false");
+  }
+
+  @Test
+  public void testObjetsNonEntiers() {
+    IntARN arbre = new IntARN();
+    arbre.add(3);
+    assertFalse(arbre.contains("3"), "Une chaîne n'est jamais contenue");
+    assertFalse(arbre.remove(3L), "Un Long n'est jamais supprimé");
+    assertEquals(1, arbre.size());
+  }
+
+  @Test
+  public void testInsertionDoublons() {
+    IntARN arbre = new IntARN();
+    assertTrue(arbre.add(10), "Première insertion doit réussir");
+    assertTrue(arbre.add(10), "Deuxième insertion doit aussi réussir (doublons autorisés)");
+    assertEquals(2, arbre.size());
+    assertTrue(arbre.remove(10));
+    assertTrue(arbre.contains(10), "Une occurrence doit rester");
+  }
+
+  @Test
+  public void testCapaciteZero() {
+    IntARN arbre = new IntARN(0);
+    for (int i = 0; i < 100; i++) {
+      arbre.add(i);
+    }
+    assertEquals(100, arbre.size(), "L'arbre doit s'agrandir au besoin");
+    assertEquals(0, arbre.premier());
+    assertEquals(99, arbre.dernier());
+  }
+
+  // ========== TESTS CROISÉS AVEC UNE LISTE TRIÉE ==========
+
+  @Test
+  public void testAleatoireContreReference() {
+    IntARN arbre = new IntARN();
+    List<Integer> reference = new ArrayList<>();
+    Random rand = new Random(42);
+
+    for (int op = 0; op < 20000; op++) {
+      int k = rand.nextInt(500) - 250;
+      if (rand.nextInt(3) == 0) {
+        assertEquals(reference.remove((Integer) k), arbre.remove(k), "remove(" + k + ")");
+      } else {
+        reference.add(k);
+        arbre.add(k);
+      }
+    }
+
+    Collections.sort(reference);
+    assertEquals(reference.size(), arbre.size(), "Taille incorrecte");
+    assertEquals(reference, new ArrayList<>(arbre), "Ordre de parcours incorrect");
+    for (int k = -260; k < 260; k++) {
+      assertEquals(reference.contains(k), arbre.contains(k), "contains(" + k + ")");
+    }
+  }
+
+  @Test
+  public void testSlotsReutilises() {
+    IntARN arbre = new IntARN(64);
+    long empreinte = arbre.empreinteOctets();
+    for (int tour = 0; tour < 10; tour++) {
+      for (int i = 0; i < 64; i++) arbre.add(i);
+      for (int i = 0; i < 64; i++) assertTrue(arbre.remove(i));
+    }
+    assertTrue(arbre.isEmpty());
+    assertEquals(empreinte, arbre.empreinteOctets(), "Les slots libérés doivent être réutilisés");
+  }
+
+  // ========== TESTS D'ITÉRATION ==========
+
+  @Test
+  public void testIterateurOrdre() {
+    IntARN arbre = new IntARN();
+    int[] valeurs = {50, 25, 75, 10, 30, 60, 80};
+    for (int v : valeurs) arbre.add(v);
+
+    PrimitiveIterator.OfInt it = arbre.iterator();
+    int precedent = Integer.MIN_VALUE;
+    int n = 0;
+    while (it.hasNext()) {
+      int v = it.nextInt();
+      assertTrue(v > precedent, "Les éléments doivent être croissants");
+      precedent = v;
+      n++;
+    }
+    assertEquals(valeurs.length, n);
+    assertThrows(NoSuchElementException.class, it::nextInt);
+  }
+
+  @Test
+  public void testIterateurRemove() {
+    IntARN arbre = new IntARN();
+    for (int i = 0; i < 200; i++) arbre.add(i);
+
+    // Supprime un élément sur deux pendant le parcours, y compris des nœuds à deux fils
+    Iterator<Integer> it = arbre.iterator();
+    List<Integer> parcouru = new ArrayList<>();
+    while (it.hasNext()) {
+      int v = it.next();
+      parcouru.add(v);
+      if (v % 2 == 0) it.remove();
+    }
+
+    assertEquals(200, parcouru.size(), "Chaque élément doit être parcouru une fois");
+    assertEquals(100, arbre.size());
+    for (int i = 0; i < 200; i++) {
+      assertEquals(i % 2 != 0, arbre.contains(i), "contains(" + i + ")");
+    }
+  }
+
+  @Test
+  public void testIterateurRemoveSansNext() {
+    IntARN arbre = new IntARN();
+    arbre.add(1);
+    Iterator<Integer> it = arbre.iterator();
+    assertThrows(IllegalStateException.class, it::remove, "remove() sans next() doit lever IllegalStateException");
+  }
+
+  @Test
+  public void testClear() {
+    IntARN arbre = new IntARN();
+    for (int i = 0; i < 50; i++) arbre.add(i);
+    arbre.clear();
+    assertTrue(arbre.isEmpty());
+    assertFalse(arbre.contains(10));
+    arbre.add(7);
+    assertEquals(1, arbre.size());
+    assertTrue(arbre.contains(7));
+  }
+}